@@ -0,0 +1,227 @@
+package com.project.fastestdeliverypath.benchmark;
+
+import com.project.fastestdeliverypath.graph.GraphStorage;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphBuilder;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Synthetic road networks of a given shape and approximate road count.
+ *
+ * <ul>
+ *     <li>grid: a square street grid with two-way roads, long diameter and uniform degree</li>
+ *     <li>geometric: random points joined to the points within a radius, like a regional road map</li>
+ *     <li>scale-free: preferential attachment, a few hubs with very high degree</li>
+ * </ul>
+ */
+public final class BenchmarkGraphs {
+
+    public static final String GRID = "grid";
+    public static final String GEOMETRIC = "geometric";
+    public static final String SCALE_FREE = "scale-free";
+
+    private static final int GEOMETRIC_DEGREE = 6;
+    private static final int SCALE_FREE_LINKS = 3;
+
+    private BenchmarkGraphs() {
+    }
+
+    /**
+     * Cities and roads as the rows the application streams from the database: city ids
+     * {@code 1..cityCount} with their names, and (from id, to id, minutes) per road.
+     */
+    public static final class Network {
+        public final int cityCount;
+        private final Roads roads;
+
+        Network(int cityCount, Roads roads) {
+            this.cityCount = cityCount;
+            this.roads = roads;
+        }
+
+        public int roadCount() {
+            return roads.count;
+        }
+
+        public RoadGraph toGraph() {
+            return toGraph(GraphStorage.HEAP);
+        }
+
+        /**
+         * Builds the graph through {@link RoadGraphBuilder}, as a load from the database does.
+         */
+        public RoadGraph toGraph(GraphStorage storage) {
+            RoadGraphBuilder builder = new RoadGraphBuilder();
+            for (int city = 0; city < cityCount; city++) {
+                builder.addCity(city + 1L, "CITY" + city);
+            }
+            for (int road = 0; road < roads.count; road++) {
+                builder.addRoad(roads.from[road] + 1L, roads.to[road] + 1L, roads.minutes[road]);
+            }
+            return builder.build(1, storage);
+        }
+    }
+
+    /**
+     * Growing road columns, by dense city index.
+     */
+    private static final class Roads {
+        private int[] from;
+        private int[] to;
+        private int[] minutes;
+        private int count;
+
+        Roads(int capacity) {
+            from = new int[Math.max(16, capacity)];
+            to = new int[from.length];
+            minutes = new int[from.length];
+        }
+
+        void add(int fromCity, int toCity, int travelMinutes) {
+            if (count == from.length) {
+                from = Arrays.copyOf(from, count * 2);
+                to = Arrays.copyOf(to, count * 2);
+                minutes = Arrays.copyOf(minutes, count * 2);
+            }
+            from[count] = fromCity;
+            to[count] = toCity;
+            minutes[count] = travelMinutes;
+            count++;
+        }
+    }
+
+    public static Network generate(String shape, int roadCount, long seed) {
+        return switch (shape) {
+            case GRID -> grid(roadCount, new Random(seed));
+            case GEOMETRIC -> geometric(roadCount, new Random(seed));
+            case SCALE_FREE -> scaleFree(roadCount, new Random(seed));
+            default -> throw new IllegalArgumentException("Unknown graph shape: " + shape);
+        };
+    }
+
+    private static Network grid(int roadCount, Random random) {
+        // Each inner city has four outgoing roads
+        int side = Math.max(2, (int) Math.sqrt(roadCount / 4.0));
+        Roads roads = new Roads(roadCount);
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int city = row * side + column;
+                if (column + 1 < side) {
+                    twoWay(roads, city, city + 1, 1 + random.nextInt(30), random);
+                }
+                if (row + 1 < side) {
+                    twoWay(roads, city, city + side, 1 + random.nextInt(30), random);
+                }
+            }
+        }
+        return new Network(side * side, roads);
+    }
+
+    private static Network geometric(int roadCount, Random random) {
+        int cityCount = Math.max(2, roadCount / GEOMETRIC_DEGREE);
+        double radius = Math.sqrt(GEOMETRIC_DEGREE / (Math.PI * cityCount));
+        double[] x = new double[cityCount];
+        double[] y = new double[cityCount];
+        for (int city = 0; city < cityCount; city++) {
+            x[city] = random.nextDouble();
+            y[city] = random.nextDouble();
+        }
+
+        // Bucket cities into cells of one radius, so only neighbouring cells are compared
+        int cells = Math.max(1, (int) (1 / radius));
+        int[] cellStart = new int[cells * cells + 1];
+        int[] cellOf = new int[cityCount];
+        for (int city = 0; city < cityCount; city++) {
+            cellOf[city] = cell(x[city], cells) * cells + cell(y[city], cells);
+            cellStart[cellOf[city] + 1]++;
+        }
+        for (int cell = 0; cell < cells * cells; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        int[] members = new int[cityCount];
+        int[] fill = cellStart.clone();
+        for (int city = 0; city < cityCount; city++) {
+            members[fill[cellOf[city]]++] = city;
+        }
+
+        Roads roads = new Roads(roadCount);
+        for (int city = 0; city < cityCount; city++) {
+            int cellX = cellOf[city] / cells;
+            int cellY = cellOf[city] % cells;
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    int nx = cellX + dx;
+                    int ny = cellY + dy;
+                    if (nx < 0 || ny < 0 || nx >= cells || ny >= cells) {
+                        continue;
+                    }
+                    int cell = nx * cells + ny;
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                        int other = members[i];
+                        double distance = Math.hypot(x[city] - x[other], y[city] - y[other]);
+                        if (other != city && distance <= radius) {
+                            // Minutes proportional to distance, roughly 1 to 60 per road
+                            roads.add(city, other, 1 + (int) (59 * distance / radius));
+                        }
+                    }
+                }
+            }
+        }
+        return new Network(cityCount, roads);
+    }
+
+    private static int cell(double coordinate, int cells) {
+        return Math.min(cells - 1, (int) (coordinate * cells));
+    }
+
+    private static Network scaleFree(int roadCount, Random random) {
+        int cityCount = Math.max(SCALE_FREE_LINKS + 1, roadCount / (2 * SCALE_FREE_LINKS));
+        Roads roads = new Roads(roadCount);
+
+        // Every road endpoint is listed once, so sampling it picks cities by degree
+        int[] endpoints = new int[2 * SCALE_FREE_LINKS * cityCount];
+        int endpointCount = 0;
+        for (int city = 0; city <= SCALE_FREE_LINKS; city++) {
+            for (int other = 0; other < city; other++) {
+                twoWay(roads, city, other, 1 + random.nextInt(60), random);
+                endpoints[endpointCount++] = city;
+                endpoints[endpointCount++] = other;
+            }
+        }
+        for (int city = SCALE_FREE_LINKS + 1; city < cityCount; city++) {
+            int[] linked = new int[SCALE_FREE_LINKS];
+            for (int link = 0; link < SCALE_FREE_LINKS; link++) {
+                int other;
+                do {
+                    other = endpoints[random.nextInt(endpointCount)];
+                } while (contains(linked, link, other));
+                linked[link] = other;
+                twoWay(roads, city, other, 1 + random.nextInt(60), random);
+            }
+            for (int other : linked) {
+                if (endpointCount + 2 <= endpoints.length) {
+                    endpoints[endpointCount++] = city;
+                    endpoints[endpointCount++] = other;
+                }
+            }
+        }
+        return new Network(cityCount, roads);
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void twoWay(Roads roads, int a, int b, int minutes, Random random) {
+        roads.add(a, b, minutes);
+        // Slightly asymmetric return trip, as with one-way streets and congestion
+        roads.add(b, a, minutes + random.nextInt(5));
+    }
+}
@@ -0,0 +1,52 @@
+package com.project.fastestdeliverypath.benchmark;
+
+import com.project.fastestdeliverypath.graph.GraphStorage;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the resident graph from streamed city and road rows through the same builder as
+ * a full reload, without the database round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx12g"})
+public class GraphBuildBenchmark {
+
+    @Param({BenchmarkGraphs.GRID, BenchmarkGraphs.GEOMETRIC, BenchmarkGraphs.SCALE_FREE})
+    public String shape;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int roadCount;
+
+    @Param({"HEAP", "OFF_HEAP"})
+    public GraphStorage storage;
+
+    private BenchmarkGraphs.Network network;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        network = BenchmarkGraphs.generate(shape, roadCount, 42);
+    }
+
+    @Benchmark
+    public RoadGraph buildGraph() {
+        return network.toGraph(storage);
+    }
+}
@@ -0,0 +1,79 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.benchmark.BenchmarkGraphs;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-to-point queries through every route engine over the same random source/destination
+ * pairs. Preprocessing runs in setup and is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx12g"})
+public class RouteEngineBenchmark {
+
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({DijkstraEngine.NAME, BidirectionalDijkstraEngine.NAME, AltEngine.NAME, ContractionHierarchyEngine.NAME})
+    public String engine;
+
+    @Param({BenchmarkGraphs.GRID, BenchmarkGraphs.GEOMETRIC, BenchmarkGraphs.SCALE_FREE})
+    public String shape;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int roadCount;
+
+    private RoadGraph graph;
+    private RouteEngine routeEngine;
+    private int[] sources;
+    private int[] targets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        graph = BenchmarkGraphs.generate(shape, roadCount, 42).toGraph();
+
+        // Indexes build synchronously here, so every measured query uses them
+        BidirectionalDijkstraEngine bidirectional = new BidirectionalDijkstraEngine();
+        routeEngine = switch (engine) {
+            case DijkstraEngine.NAME -> new DijkstraEngine();
+            case BidirectionalDijkstraEngine.NAME -> bidirectional;
+            case AltEngine.NAME -> new AltEngine(8, bidirectional, Runnable::run);
+            case ContractionHierarchyEngine.NAME -> new ContractionHierarchyEngine(bidirectional, Runnable::run);
+            default -> throw new IllegalArgumentException("Unknown route engine: " + engine);
+        };
+        routeEngine.findPath(graph, 0, 0);
+
+        Random random = new Random(7);
+        sources = new int[QUERY_COUNT];
+        targets = new int[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            sources[i] = random.nextInt(graph.cityCount());
+            targets[i] = random.nextInt(graph.cityCount());
+        }
+    }
+
+    @Benchmark
+    public RoutePath findPath() {
+        int query = next++ & (QUERY_COUNT - 1);
+        return routeEngine.findPath(graph, sources[query], targets[query]);
+    }
+}
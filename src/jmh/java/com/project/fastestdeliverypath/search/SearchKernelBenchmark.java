@@ -0,0 +1,112 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.benchmark.BenchmarkGraphs;
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.graph.GraphStorage;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The pieces of a plain Dijkstra query measured apart: the search alone, rebuilding the path
+ * from parent edges, and a hub label lookup for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx12g"})
+public class SearchKernelBenchmark {
+
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({BenchmarkGraphs.GRID, BenchmarkGraphs.GEOMETRIC, BenchmarkGraphs.SCALE_FREE})
+    public String shape;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int roadCount;
+
+    @Param({"HEAP", "OFF_HEAP"})
+    public GraphStorage storage;
+
+    private RoadGraph graph;
+    private SearchPool searchPool;
+    private HubLabelLookup hubLabelLookup;
+    private int[] sources;
+    private int[][] targets;
+    private int next;
+
+    // A finished search kept aside, to time path reconstruction on its own
+    private final SearchWorkspace settled = new SearchWorkspace();
+    private int settledSource;
+    private int settledTarget;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        graph = BenchmarkGraphs.generate(shape, roadCount, 42).toGraph(storage);
+        searchPool = new SearchPool(new RoutingProperties());
+        hubLabelLookup = new HubLabelLookup(new BidirectionalDijkstraEngine(), searchPool, Runnable::run);
+        hubLabelLookup.travelTime(graph, 0, 0);
+
+        Random random = new Random(7);
+        sources = new int[QUERY_COUNT];
+        targets = new int[QUERY_COUNT][];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            sources[i] = random.nextInt(graph.cityCount());
+            targets[i] = new int[]{random.nextInt(graph.cityCount())};
+        }
+
+        // Reconstruct the longest of the sampled paths, the worst case for walking parents
+        int longest = -1;
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            RoutePath path = DijkstraSearch.shortestPath(graph, sources[i], targets[i][0]);
+            if (path != null && (longest < 0 || path.getCities().length > longest)) {
+                longest = path.getCities().length;
+                settledSource = sources[i];
+                settledTarget = targets[i][0];
+            }
+        }
+        settled.reset(graph.cityCount());
+        DijkstraSearch.shortestPath(graph, settled, settledSource, settledTarget);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        searchPool.shutdown();
+    }
+
+    /**
+     * Search to the target without building the path.
+     */
+    @Benchmark
+    public int[] runDijkstra() {
+        int query = next++ & (QUERY_COUNT - 1);
+        return DijkstraSearch.travelTimes(graph, sources[query], targets[query]);
+    }
+
+    @Benchmark
+    public RoutePath reconstructPath() {
+        return DijkstraSearch.buildPath(graph, settled, settledSource, settledTarget);
+    }
+
+    @Benchmark
+    public int hubLabelTravelTime() {
+        int query = next++ & (QUERY_COUNT - 1);
+        return hubLabelLookup.travelTime(graph, sources[query], targets[query][0]);
+    }
+}
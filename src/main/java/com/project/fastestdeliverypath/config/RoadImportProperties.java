@@ -0,0 +1,33 @@
+package com.project.fastestdeliverypath.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Streaming road import settings, bound from {@code roads.import.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "roads.import")
+public class RoadImportProperties {
+
+    /**
+     * Roads written and committed together. Only one chunk is held in memory at a time.
+     */
+    private int chunkSize = 1_000;
+
+    /**
+     * Committed chunks whose roads are announced to the resident graph together, so a large
+     * import publishes one graph version per this many chunks instead of one per chunk.
+     */
+    private int announceEveryChunks = 100;
+
+    /**
+     * Longest accepted line in characters. Longer lines are rejected without being read into memory in full.
+     */
+    private int maxLineLength = 4_096;
+
+    /**
+     * Rejected lines listed in the import result; further rejections are only counted.
+     */
+    private int maxReportedRejections = 100;
+}
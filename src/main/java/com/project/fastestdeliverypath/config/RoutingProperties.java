@@ -0,0 +1,148 @@
+package com.project.fastestdeliverypath.config;
+
+import com.project.fastestdeliverypath.graph.GraphStorage;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Route engine settings, bound from {@code routing.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "routing")
+public class RoutingProperties {
+
+    /**
+     * Engine used for point-to-point route queries: dijkstra, bidirectional, alt or ch.
+     */
+    private String engine = "dijkstra";
+
+    /**
+     * Threads for parallel batch and matrix searches; 0 uses one per available processor.
+     */
+    private int searchThreads = 0;
+
+    /**
+     * Where the adjacency rows of the resident graph are kept: heap or off-heap.
+     */
+    private GraphStorage graphStorage = GraphStorage.OFF_HEAP;
+
+    private Alt alt = new Alt();
+
+    private Cache cache = new Cache();
+
+    private Snapshot snapshot = new Snapshot();
+
+    private Metrics metrics = new Metrics();
+
+    private Execution execution = new Execution();
+
+    private DepotTrees depotTrees = new DepotTrees();
+
+    private Tour tour = new Tour();
+
+    private Limits limits = new Limits();
+
+    @Data
+    public static class Alt {
+
+        /**
+         * Number of landmarks for A* lower bounds. Each costs two int tables over all cities.
+         */
+        private int landmarks = 8;
+    }
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Whether route responses are cached per graph version.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached routes; the least valuable ones are evicted beyond it.
+         */
+        private long maxEntries = 10_000;
+    }
+
+    @Data
+    public static class Snapshot {
+
+        /**
+         * Binary graph snapshot file mapped on startup and rewritten after every full load; empty disables it.
+         */
+        private String path = "";
+    }
+
+    @Data
+    public static class Metrics {
+
+        /**
+         * Whether route queries record phase timers and search counters.
+         */
+        private boolean enabled = true;
+    }
+
+    @Data
+    public static class Execution {
+
+        /**
+         * Whether single route searches run on a bounded pool of search threads instead of the
+         * request thread. Meant for virtual request threads, which should not run long CPU work.
+         */
+        private boolean offloadSearches = false;
+
+        /**
+         * Route searches that may wait for a search thread; further ones are rejected with 503.
+         */
+        private int searchQueueCapacity = 256;
+
+        /**
+         * Search threads given to single route searches when they are offloaded; the rest run
+         * batch, matrix and tour searches. 0 gives route searches half of the search threads.
+         */
+        private int routeThreads = 0;
+
+        /**
+         * Batch, matrix and tour search tasks that may be queued or running at once. Each request
+         * reserves up to twice the fan-out threads; requests that find no slots left are rejected with 503.
+         */
+        private int fanOutQueueCapacity = 1024;
+    }
+
+    @Data
+    public static class DepotTrees {
+
+        /**
+         * Hub depot cities whose shortest path trees are kept for every graph version.
+         * Each tree costs two int arrays over all cities.
+         */
+        private List<String> hubs = new ArrayList<>();
+    }
+
+    @Data
+    public static class Tour {
+
+        /**
+         * Time allowed for improving the nearest neighbour order of a multi-stop tour.
+         */
+        private long timeLimitMillis = 200;
+    }
+
+    @Data
+    public static class Limits {
+
+        /**
+         * Most source/destination pairs accepted in one batch route request; larger batches are rejected with 400.
+         */
+        private int maxBatchPairs = 10_000;
+
+        /**
+         * Most cells, sources times destinations, accepted in one travel time matrix; larger matrices are rejected with 400.
+         */
+        private long maxMatrixCells = 1_000_000;
+    }
+}
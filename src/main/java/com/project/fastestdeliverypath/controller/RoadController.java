@@ -1,16 +1,23 @@
 package com.project.fastestdeliverypath.controller;
 
+import com.project.fastestdeliverypath.dto.BulkRoadResult;
 import com.project.fastestdeliverypath.dto.RoadDTO;
+import com.project.fastestdeliverypath.dto.RoadImportResult;
 import com.project.fastestdeliverypath.dto.RoadRequest;
 import com.project.fastestdeliverypath.entity.Road;
+import com.project.fastestdeliverypath.service.RoadImportService;
 import com.project.fastestdeliverypath.service.RoadService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,6 +31,7 @@ import java.util.stream.Collectors;
 public class RoadController {
 
     private final RoadService roadService;
+    private final RoadImportService roadImportService;
 
     /**
      * Creates or updates roads in the network.
@@ -50,5 +58,45 @@ public class RoadController {
         log.info("Successfully created/updated {} road(s)", roads.size());
         return ResponseEntity.status(HttpStatus.CREATED).body(roadDTOs);
     }
-}
 
+    /**
+     * Creates or updates a large number of roads at once.
+     * Cities and roads are written with batched set-based statements, and only counts are
+     * returned instead of every road, so whole networks can be loaded in one request.
+     *
+     * @param roadRequests list of road requests to create/update
+     * @return ResponseEntity with the counts of roads and cities written and HTTP 201 status
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkRoadResult> bulkUpsertRoads(@Valid @RequestBody List<RoadRequest> roadRequests) {
+        log.info("Received bulk request to create/update {} road(s)", roadRequests.size());
+
+        BulkRoadResult result = roadService.bulkUpsertRoads(roadRequests);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
+    /**
+     * Imports roads from a newline-delimited JSON or CSV upload.
+     * The body is read line by line and written in chunks that are committed one at a time,
+     * so files of any size can be imported. Invalid lines are rejected individually and
+     * reported with their line numbers.
+     *
+     * @param body        the uploaded file
+     * @param contentType application/x-ndjson or text/csv
+     * @return ResponseEntity with the import counts and rejected lines
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<RoadImportResult> importRoads(InputStream body,
+                                                        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType)
+            throws IOException {
+        RoadImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? RoadImportService.Format.NDJSON
+                : RoadImportService.Format.CSV;
+        log.info("Received {} road import", format);
+
+        RoadImportResult result = roadImportService.importRoads(body, format);
+
+        return ResponseEntity.ok(result);
+    }
+}
@@ -1,13 +1,29 @@
 package com.project.fastestdeliverypath.controller;
 
+import com.project.fastestdeliverypath.dto.BatchRouteResult;
+import com.project.fastestdeliverypath.dto.IsochroneRequest;
+import com.project.fastestdeliverypath.dto.IsochroneResponse;
+import com.project.fastestdeliverypath.dto.MatrixRequest;
+import com.project.fastestdeliverypath.dto.NearestDepotRequest;
+import com.project.fastestdeliverypath.dto.NearestDepotResponse;
 import com.project.fastestdeliverypath.dto.RouteRequest;
 import com.project.fastestdeliverypath.dto.RouteResponse;
+import com.project.fastestdeliverypath.dto.TourRequest;
+import com.project.fastestdeliverypath.dto.TourResponse;
+import com.project.fastestdeliverypath.dto.TravelTimeResponse;
+import com.project.fastestdeliverypath.service.IsochroneService;
 import com.project.fastestdeliverypath.service.PathfindingService;
+import com.project.fastestdeliverypath.service.TourService;
+import com.project.fastestdeliverypath.service.TravelTimeMatrixService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 /**
  * REST Controller for finding delivery routes.
@@ -19,6 +35,9 @@ import org.springframework.web.bind.annotation.*;
 public class RouteController {
 
     private final PathfindingService pathfindingService;
+    private final TravelTimeMatrixService travelTimeMatrixService;
+    private final IsochroneService isochroneService;
+    private final TourService tourService;
 
     /**
      * Finds the fastest delivery path between two cities.
@@ -42,5 +61,129 @@ public class RouteController {
         
         return ResponseEntity.ok(response);
     }
-}
 
+    /**
+     * Finds the fastest delivery paths for many source/destination pairs in one call.
+     * Pairs are not validated up front: a pair with a missing or unknown city gets its
+     * error in place, and the rest of the batch is still answered. Batches beyond the
+     * configured maximum size are rejected as a whole.
+     *
+     * @param routeRequests the source and destination cities of each query
+     * @return ResponseEntity with one BatchRouteResult per pair, in request order
+     */
+    @PostMapping("/fastest/batch")
+    public ResponseEntity<List<BatchRouteResult>> findFastestRoutes(@RequestBody List<RouteRequest> routeRequests) {
+        log.info("Received request to find {} fastest route(s)", routeRequests.size());
+
+        List<BatchRouteResult> results = pathfindingService.findFastestPaths(routeRequests);
+
+        log.info("Answered {} route(s), {} with errors", results.size(),
+                results.stream().filter(result -> result.getError() != null).count());
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Finds only the travel time of the fastest path between two cities.
+     * Cheaper than /routes/fastest for callers that need many pairs and no path.
+     *
+     * @param routeRequest the source and destination cities
+     * @return ResponseEntity with TravelTimeResponse containing the total time
+     */
+    @PostMapping("/travel-time")
+    public ResponseEntity<TravelTimeResponse> findTravelTime(@Valid @RequestBody RouteRequest routeRequest) {
+        log.info("Received request for travel time from {} to {}",
+                routeRequest.getSourceCity(), routeRequest.getDestinationCity());
+
+        TravelTimeResponse response = pathfindingService.findTravelTime(
+                routeRequest.getSourceCity(),
+                routeRequest.getDestinationCity()
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Finds the depots that reach a destination fastest, with their routes.
+     * One backward search from the destination replaces a route query per depot.
+     *
+     * @param nearestDepotRequest the destination, the candidate depots and how many to return
+     * @return ResponseEntity with NearestDepotResponse listing the nearest depots first
+     */
+    @PostMapping("/nearest-depot")
+    public ResponseEntity<NearestDepotResponse> findNearestDepots(
+            @Valid @RequestBody NearestDepotRequest nearestDepotRequest) {
+        log.info("Received request for the nearest of {} depot(s) to {}",
+                nearestDepotRequest.getDepotCities().size(), nearestDepotRequest.getDestinationCity());
+
+        NearestDepotResponse response = pathfindingService.findNearestDepots(
+                nearestDepotRequest.getDestinationCity(),
+                nearestDepotRequest.getDepotCities(),
+                nearestDepotRequest.getLimit() == null ? 1 : nearestDepotRequest.getLimit()
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Computes the travel time from every source to every destination.
+     * The matrix is streamed row by row; pairs with no route get -1.
+     *
+     * @param matrixRequest the source and destination cities
+     * @return ResponseEntity streaming the cities and the travel time rows as JSON
+     */
+    @PostMapping("/matrix")
+    public ResponseEntity<StreamingResponseBody> computeMatrix(@Valid @RequestBody MatrixRequest matrixRequest) {
+        log.info("Received request for a {}x{} travel time matrix",
+                matrixRequest.getSources().size(), matrixRequest.getDestinations().size());
+
+        // Resolve cities before streaming starts, so unknown cities still get a proper error status
+        TravelTimeMatrixService.MatrixQuery query = travelTimeMatrixService.prepare(
+                matrixRequest.getSources(), matrixRequest.getDestinations());
+
+        StreamingResponseBody body = out -> travelTimeMatrixService.writeMatrix(query, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Finds every city that can be reached from a depot within the given time budgets.
+     * All budgets are answered by one search bounded by the largest of them.
+     *
+     * @param isochroneRequest the depot city and the time budgets in minutes
+     * @return ResponseEntity with the reachable cities by travel time and the count within each budget
+     */
+    @PostMapping("/isochrone")
+    public ResponseEntity<IsochroneResponse> findReachableCities(@Valid @RequestBody IsochroneRequest isochroneRequest) {
+        log.info("Received request for cities within {} minutes of {}",
+                isochroneRequest.getBudgetsMinutes(), isochroneRequest.getSourceCity());
+
+        IsochroneResponse response = isochroneService.findReachableCities(
+                isochroneRequest.getSourceCity(),
+                isochroneRequest.getBudgetsMinutes()
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Orders the stops of a delivery run and returns the full tour.
+     * Stops are ordered over one travel time matrix with a time-limited heuristic, so the
+     * order is good but not guaranteed optimal.
+     *
+     * @param tourRequest the start city, the stops and whether to return to the start
+     * @return ResponseEntity with TourResponse containing the stop order and the stitched path
+     */
+    @PostMapping("/tour")
+    public ResponseEntity<TourResponse> planTour(@Valid @RequestBody TourRequest tourRequest) {
+        log.info("Received request for a tour from {} over {} stop(s)",
+                tourRequest.getStartCity(), tourRequest.getStops().size());
+
+        TourResponse response = tourService.planTour(
+                tourRequest.getStartCity(),
+                tourRequest.getStops(),
+                tourRequest.isReturnToStart()
+        );
+
+        log.info("Planned tour with total time: {} minutes", response.getTotalTravelTimeMinutes());
+        return ResponseEntity.ok(response);
+    }
+}
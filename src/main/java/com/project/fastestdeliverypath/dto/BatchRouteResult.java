@@ -0,0 +1,18 @@
+package com.project.fastestdeliverypath.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one pair in a batch route request: either the route or the error for that pair.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRouteResult {
+    private String sourceCity;
+    private String destinationCity;
+    private RouteResponse route;
+    private String error;
+}
@@ -0,0 +1,14 @@
+package com.project.fastestdeliverypath.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRoadResult {
+    private Integer roadsReceived;
+    private Integer roadsUpserted;
+    private Integer citiesCreated;
+}
@@ -0,0 +1,24 @@
+package com.project.fastestdeliverypath.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IsochroneRequest {
+
+    @NotBlank(message = "Source city is required")
+    private String sourceCity;
+
+    @NotEmpty(message = "At least one time budget is required")
+    private List<@NotNull(message = "Time budget is required")
+            @PositiveOrZero(message = "Time budget must be non-negative") Integer> budgetsMinutes;
+}
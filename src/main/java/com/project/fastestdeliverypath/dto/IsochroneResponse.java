@@ -0,0 +1,36 @@
+package com.project.fastestdeliverypath.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cities reachable from a source within the largest budget, ordered by travel time.
+ * The cities within a smaller budget are the first {@code cityCount} of its entry in {@code budgets}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IsochroneResponse {
+    private String sourceCity;
+    private List<BudgetReach> budgets;
+    private List<ReachableCity> cities;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BudgetReach {
+        private Integer budgetMinutes;
+        private Integer cityCount;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReachableCity {
+        private String city;
+        private Integer travelTimeMinutes;
+    }
+}
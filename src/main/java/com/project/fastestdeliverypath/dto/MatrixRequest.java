@@ -0,0 +1,21 @@
+package com.project.fastestdeliverypath.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatrixRequest {
+
+    @NotEmpty(message = "At least one source city is required")
+    private List<@NotBlank(message = "Source city is required") String> sources;
+
+    @NotEmpty(message = "At least one destination city is required")
+    private List<@NotBlank(message = "Destination city is required") String> destinations;
+}
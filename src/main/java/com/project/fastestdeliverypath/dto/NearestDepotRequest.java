@@ -0,0 +1,28 @@
+package com.project.fastestdeliverypath.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearestDepotRequest {
+
+    @NotBlank(message = "Destination city is required")
+    private String destinationCity;
+
+    @NotEmpty(message = "At least one depot city is required")
+    private List<@NotBlank(message = "Depot city is required") String> depotCities;
+
+    /**
+     * Number of nearest depots to return; one when not given.
+     */
+    @Positive(message = "Limit must be positive")
+    private Integer limit;
+}
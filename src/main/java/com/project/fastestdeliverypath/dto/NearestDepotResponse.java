@@ -0,0 +1,26 @@
+package com.project.fastestdeliverypath.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The depots that reach a destination fastest, nearest first, each with its route.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearestDepotResponse {
+    private String destinationCity;
+    private List<DepotRoute> depots;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DepotRoute {
+        private String depotCity;
+        private RouteResponse route;
+    }
+}
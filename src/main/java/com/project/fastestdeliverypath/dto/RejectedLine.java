@@ -0,0 +1,13 @@
+package com.project.fastestdeliverypath.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RejectedLine {
+    private Long lineNumber;
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.project.fastestdeliverypath.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoadImportResult {
+    private Long linesRead;
+    private Long roadsImported;
+    private Long rejectedCount;
+    private Integer chunksCommitted;
+    /**
+     * The first rejected lines with their errors, up to the configured limit.
+     */
+    private List<RejectedLine> rejectedLines;
+}
@@ -0,0 +1,28 @@
+package com.project.fastestdeliverypath.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TourRequest {
+
+    @NotBlank(message = "Start city is required")
+    private String startCity;
+
+    @NotEmpty(message = "At least one stop is required")
+    @Size(max = 100, message = "At most 100 stops are allowed")
+    private List<@NotBlank(message = "Stop city is required") String> stops;
+
+    /**
+     * Whether the tour ends back at the start city.
+     */
+    private boolean returnToStart;
+}
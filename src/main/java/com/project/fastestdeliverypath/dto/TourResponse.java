@@ -0,0 +1,17 @@
+package com.project.fastestdeliverypath.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TourResponse {
+    private List<String> stopOrder;
+    private List<String> pathCities;
+    private List<RoadDTO> pathRoads;
+    private Integer totalTravelTimeMinutes;
+}
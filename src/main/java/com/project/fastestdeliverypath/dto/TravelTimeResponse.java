@@ -0,0 +1,14 @@
+package com.project.fastestdeliverypath.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelTimeResponse {
+    private String sourceCity;
+    private String destinationCity;
+    private Integer totalTravelTimeMinutes;
+}
@@ -0,0 +1,7 @@
+package com.project.fastestdeliverypath.exception;
+
+public class RequestTooLargeException extends RuntimeException {
+    public RequestTooLargeException(String message) {
+        super(message);
+    }
+}
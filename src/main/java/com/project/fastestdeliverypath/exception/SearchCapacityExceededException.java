@@ -0,0 +1,7 @@
+package com.project.fastestdeliverypath.exception;
+
+public class SearchCapacityExceededException extends RuntimeException {
+    public SearchCapacityExceededException(String message) {
+        super(message);
+    }
+}
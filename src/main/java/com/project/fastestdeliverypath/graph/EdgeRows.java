@@ -0,0 +1,263 @@
+package com.project.fastestdeliverypath.graph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One direction of the road graph adjacency: for every city, a row of neighbor ids and a
+ * parallel row of travel times.
+ *
+ * Rows live in a compressed sparse row base, where the row of city c is entries
+ * {@code [offsets[c], offsets[c + 1])} of two flat int buffers. The buffers wrap heap arrays,
+ * direct memory outside the Java heap or a memory-mapped snapshot file, so a base holds no
+ * per-city objects and an off-heap base is never scanned or moved by the garbage collector.
+ * Rows changed after the base was built are kept in a sparse overlay keyed by city that takes
+ * precedence over the base. The overlay is a persistent {@link IntTrie}, so deriving a new
+ * version copies the rows it touches and their trie paths only, whatever the number of cities;
+ * the base is rebuilt once changed rows make up a large share of the graph.
+ */
+final class EdgeRows {
+
+    /**
+     * Changed rows beyond this share of the cities are folded back into a fresh base.
+     */
+    private static final int COMPACT_DIVISOR = 4;
+
+    private final IntBuffer offsets;
+    private final IntBuffer others;
+    private final IntBuffer weights;
+    private final int baseCityCount;
+    private final int cityCount;
+    // Changed rows by city; cities without one use their base row, or none beyond the base
+    private final IntTrie<Row> changedRows;
+    private final int edgeCount;
+
+    private EdgeRows(IntBuffer offsets, IntBuffer others, IntBuffer weights,
+                     int cityCount, IntTrie<Row> changedRows, int edgeCount) {
+        this.offsets = offsets;
+        this.others = others;
+        this.weights = weights;
+        this.baseCityCount = offsets.limit() - 1;
+        this.cityCount = cityCount;
+        this.changedRows = changedRows;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Wraps an existing base, e.g. the sections of a mapped snapshot file.
+     *
+     * @param offsets {@code cityCount + 1} row starts
+     */
+    static EdgeRows of(IntBuffer offsets, IntBuffer others, IntBuffer weights) {
+        int cityCount = offsets.limit() - 1;
+        return new EdgeRows(offsets, others, weights, cityCount, IntTrie.empty(), offsets.get(cityCount));
+    }
+
+    /**
+     * Groups edges by their {@code owners} city into a base of rows of {@code others} and weights,
+     * keeping the input order within every row.
+     * Two passes: count the degree of every city, then fill the rows.
+     */
+    static EdgeRows build(int cityCount, int[] owners, int[] others, int[] weights, int edgeCount,
+                          GraphStorage storage) {
+        int[] offsets = new int[cityCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[owners[e] + 1]++;
+        }
+        for (int city = 0; city < cityCount; city++) {
+            offsets[city + 1] += offsets[city];
+        }
+        int[] next = Arrays.copyOf(offsets, cityCount);
+        IntBuffer rowOthers = allocate(edgeCount, storage);
+        IntBuffer rowWeights = allocate(edgeCount, storage);
+        for (int e = 0; e < edgeCount; e++) {
+            int at = next[owners[e]]++;
+            rowOthers.put(at, others[e]);
+            rowWeights.put(at, weights[e]);
+        }
+        IntBuffer rowOffsets = allocate(cityCount + 1, storage);
+        rowOffsets.put(0, offsets);
+        return of(rowOffsets, rowOthers, rowWeights);
+    }
+
+    static EdgeRows empty() {
+        return build(0, new int[0], new int[0], new int[0], 0, GraphStorage.HEAP);
+    }
+
+    private static IntBuffer allocate(int length, GraphStorage storage) {
+        if (storage == GraphStorage.OFF_HEAP) {
+            return ByteBuffer.allocateDirect(4 * length).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+        return IntBuffer.wrap(new int[length]);
+    }
+
+    int degree(int city) {
+        if (!changedRows.isEmpty()) {
+            Row row = changedRows.get(city);
+            if (row != null) {
+                return row.others.length;
+            }
+        }
+        return city < baseCityCount ? offsets.get(city + 1) - offsets.get(city) : 0;
+    }
+
+    int other(int city, int slot) {
+        if (!changedRows.isEmpty()) {
+            Row row = changedRows.get(city);
+            if (row != null) {
+                return row.others[slot];
+            }
+        }
+        return others.get(offsets.get(city) + slot);
+    }
+
+    int weight(int city, int slot) {
+        if (!changedRows.isEmpty()) {
+            Row row = changedRows.get(city);
+            if (row != null) {
+                return row.weights[slot];
+            }
+        }
+        return weights.get(offsets.get(city) + slot);
+    }
+
+    /**
+     * Returns the slot of {@code other} in the row of {@code city}, or -1 if it is not there.
+     */
+    int indexOf(int city, int other) {
+        int degree = degree(city);
+        for (int slot = 0; slot < degree; slot++) {
+            if (other(city, slot) == other) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Total number of edges over all rows.
+     */
+    int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Bytes of the base buffers, outside the heap for direct and mapped buffers.
+     */
+    long baseBytes() {
+        return 4L * (offsets.capacity() + others.capacity() + weights.capacity());
+    }
+
+    /**
+     * Whether the base lives outside the Java heap.
+     */
+    boolean isOffHeap() {
+        return offsets.isDirect();
+    }
+
+    /**
+     * Estimated heap bytes of the changed rows: the trie nodes plus a header and the
+     * entries of every changed row.
+     */
+    long changedBytes() {
+        long[] bytes = {(16 + 4L * 32) * changedRows.nodeCount()};
+        changedRows.forEach(row -> bytes[0] += 16 + 2 * (16 + 4L * row.others.length));
+        return bytes[0];
+    }
+
+    /**
+     * Returns new rows with the given edges created or updated, in order.
+     * Edges missing from their row are appended; rows of untouched cities are shared.
+     *
+     * @param cityCount number of cities of the new version, at least the current number
+     */
+    EdgeRows withUpserts(int cityCount, int[] owners, int[] newOthers, int[] newWeights, int count) {
+        // Rows are copied the first time a change touches them, so shared rows are never written
+        Map<Integer, Row> touched = new HashMap<>();
+        int newEdgeCount = edgeCount;
+
+        for (int e = 0; e < count; e++) {
+            Row row = touched.computeIfAbsent(owners[e], this::copyRow);
+            int slot = indexOf(row.others, newOthers[e]);
+            if (slot < 0) {
+                slot = row.others.length;
+                row.others = Arrays.copyOf(row.others, slot + 1);
+                row.weights = Arrays.copyOf(row.weights, slot + 1);
+                row.others[slot] = newOthers[e];
+                newEdgeCount++;
+            }
+            row.weights[slot] = newWeights[e];
+        }
+
+        IntTrie<Row> rows = changedRows;
+        for (Map.Entry<Integer, Row> entry : touched.entrySet()) {
+            rows = rows.with(entry.getKey(), entry.getValue());
+        }
+        EdgeRows upserted = new EdgeRows(offsets, others, weights, cityCount, rows, newEdgeCount);
+        return rows.size() > cityCount / COMPACT_DIVISOR ? upserted.compacted() : upserted;
+    }
+
+    private Row copyRow(int city) {
+        Row changed = changedRows.get(city);
+        if (changed != null) {
+            return new Row(changed.others.clone(), changed.weights.clone());
+        }
+        if (city >= baseCityCount) {
+            return new Row(new int[0], new int[0]);
+        }
+        int from = offsets.get(city);
+        int degree = offsets.get(city + 1) - from;
+        int[] rowOthers = new int[degree];
+        int[] rowWeights = new int[degree];
+        others.get(from, rowOthers);
+        weights.get(from, rowWeights);
+        return new Row(rowOthers, rowWeights);
+    }
+
+    private static int indexOf(int[] row, int value) {
+        for (int i = 0; i < row.length; i++) {
+            if (row[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Folds all rows, changed or not, into a fresh base kept where the current one is.
+     */
+    private EdgeRows compacted() {
+        int[] owners = new int[edgeCount];
+        int[] rowOthers = new int[edgeCount];
+        int[] rowWeights = new int[edgeCount];
+        int at = 0;
+        for (int city = 0; city < cityCount; city++) {
+            int degree = degree(city);
+            for (int slot = 0; slot < degree; slot++) {
+                owners[at] = city;
+                rowOthers[at] = other(city, slot);
+                rowWeights[at] = weight(city, slot);
+                at++;
+            }
+        }
+        return build(cityCount, owners, rowOthers, rowWeights, at,
+                isOffHeap() ? GraphStorage.OFF_HEAP : GraphStorage.HEAP);
+    }
+
+    /**
+     * A changed row, written only while the version that first holds it is being derived.
+     */
+    private static final class Row {
+        private int[] others;
+        private int[] weights;
+
+        private Row(int[] others, int[] weights) {
+            this.others = others;
+            this.weights = weights;
+        }
+    }
+}
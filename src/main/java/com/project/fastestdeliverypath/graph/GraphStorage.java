@@ -0,0 +1,17 @@
+package com.project.fastestdeliverypath.graph;
+
+/**
+ * Where the adjacency rows of a road graph built from the database are kept.
+ */
+public enum GraphStorage {
+    /**
+     * Int arrays on the Java heap.
+     */
+    HEAP,
+    /**
+     * Direct buffers outside the Java heap, limited by {@code -XX:MaxDirectMemorySize}.
+     * Only a small header per buffer stays on the heap, so large graphs add nothing for the
+     * garbage collector to trace or copy.
+     */
+    OFF_HEAP
+}
@@ -0,0 +1,134 @@
+package com.project.fastestdeliverypath.graph;
+
+import java.util.function.Consumer;
+
+/**
+ * Immutable map from non-negative int keys to values, kept as a 32-way radix trie.
+ *
+ * Deriving a map with one more entry copies only the path from the root to that entry,
+ * at most seven nodes of 32 slots, and shares every other node with the map it came from.
+ * The trie is only as deep as its largest key needs, so lookups of dense city ids
+ * take a few array loads.
+ */
+final class IntTrie<T> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final IntTrie<?> EMPTY = new IntTrie<>(null, 0, 0, 0);
+
+    private final Object[] root;
+    // Bits consumed above the leaf level: 0 for a single leaf node
+    private final int shift;
+    private final int size;
+    private final int nodeCount;
+
+    private IntTrie(Object[] root, int shift, int size, int nodeCount) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+        this.nodeCount = nodeCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> IntTrie<T> empty() {
+        return (IntTrie<T>) EMPTY;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Number of trie nodes, each an array of 32 references.
+     */
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int key) {
+        if (root == null || !fits(key, shift)) {
+            return null;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(key >>> level) & MASK];
+            if (node == null) {
+                return null;
+            }
+        }
+        return (T) node[key & MASK];
+    }
+
+    /**
+     * Returns a map with {@code key} bound to {@code value}, leaving this one untouched.
+     */
+    IntTrie<T> with(int key, T value) {
+        if (key < 0 || value == null) {
+            throw new IllegalArgumentException("Key must not be negative and value must not be null");
+        }
+        Object[] newRoot = root;
+        int newShift = shift;
+        int newNodeCount = nodeCount;
+        if (newRoot == null) {
+            newRoot = new Object[WIDTH];
+            newNodeCount++;
+        }
+        while (!fits(key, newShift)) {
+            Object[] grown = new Object[WIDTH];
+            grown[0] = newRoot;
+            newRoot = grown;
+            newShift += BITS;
+            newNodeCount++;
+        }
+
+        newRoot = newRoot.clone();
+        Object[] node = newRoot;
+        for (int level = newShift; level > 0; level -= BITS) {
+            int index = (key >>> level) & MASK;
+            Object[] child = (Object[]) node[index];
+            if (child == null) {
+                child = new Object[WIDTH];
+                newNodeCount++;
+            } else {
+                child = child.clone();
+            }
+            node[index] = child;
+            node = child;
+        }
+        boolean added = node[key & MASK] == null;
+        node[key & MASK] = value;
+        return new IntTrie<>(newRoot, newShift, added ? size + 1 : size, newNodeCount);
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<T> action) {
+        if (root != null) {
+            forEach(root, shift, (Consumer<Object>) action);
+        }
+    }
+
+    private static void forEach(Object[] node, int level, Consumer<Object> action) {
+        for (Object child : node) {
+            if (child == null) {
+                continue;
+            }
+            if (level == 0) {
+                action.accept(child);
+            } else {
+                forEach((Object[]) child, level - BITS, action);
+            }
+        }
+    }
+
+    private static boolean fits(int key, int shift) {
+        int bits = shift + BITS;
+        return bits >= Integer.SIZE - 1 || key >>> bits == 0;
+    }
+}
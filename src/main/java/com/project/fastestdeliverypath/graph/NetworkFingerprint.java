@@ -0,0 +1,23 @@
+package com.project.fastestdeliverypath.graph;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Cheap summary of the cities and roads tables, used to tell whether a graph snapshot file
+ * still matches the database. Any insert, any city rename and almost any road update changes
+ * one of the counts or checksums; computing it reads the city names and one aggregate over
+ * the roads, far cheaper than loading the road rows.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class NetworkFingerprint {
+    private final long cityCount;
+    private final long cityChecksum;
+    private final long roadCount;
+    private final long roadChecksum;
+}
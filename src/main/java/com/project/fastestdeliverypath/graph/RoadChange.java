@@ -0,0 +1,16 @@
+package com.project.fastestdeliverypath.graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A created or updated road, with normalized city names.
+ * Applied to the resident graph as an upsert.
+ */
+@Data
+@AllArgsConstructor
+public class RoadChange {
+    private String fromCity;
+    private String toCity;
+    private int travelTimeMinutes;
+}
@@ -0,0 +1,279 @@
+package com.project.fastestdeliverypath.graph;
+
+import com.project.fastestdeliverypath.entity.City;
+import com.project.fastestdeliverypath.entity.Road;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory snapshot of the road network.
+ * Built once from the database and shared by all route queries,
+ * so a query never has to load or rebuild the graph itself.
+ *
+ * Cities are addressed by dense int ids in {@code [0, cityCount())}. The outgoing roads of
+ * a city are stored as two parallel primitive rows (target ids and travel times), so the
+ * search kernels can scan them without boxing. Roads are directed, so the incoming roads
+ * of every city are kept in a second set of rows for backward searches. An edge is
+ * identified by its city and its slot in that city's row. Rows are kept in compressed sparse
+ * row form ({@link EdgeRows}), which a fresh node can also map straight from a snapshot file
+ * written by {@link RoadGraphSnapshotStore}.
+ *
+ * Each snapshot carries a version number. Newer versions are derived from older ones
+ * with {@link #withChanges(Collection, long)}, which copies only the rows of the cities
+ * that changed and shares everything else. Cities added since the names were last folded
+ * are kept in {@link IntTrie}s next to the shared name table, so a new version costs the
+ * changed rows and cities, not a copy of every city.
+ */
+public final class RoadGraph {
+
+    /**
+     * Added cities beyond this share of the name table are folded into a fresh one.
+     */
+    private static final int COMPACT_DIVISOR = 4;
+
+    private final long version;
+    private final String[] cityNames;
+    private final Map<String, Integer> cityIds;
+    // Cities added after the name table was built, by id, and their ids by name hash
+    private final IntTrie<String> addedNames;
+    private final IntTrie<int[]> addedIds;
+    private final EdgeRows out;
+    private final EdgeRows in;
+
+    private RoadGraph(long version, String[] cityNames, Map<String, Integer> cityIds,
+                      IntTrie<String> addedNames, IntTrie<int[]> addedIds, EdgeRows out, EdgeRows in) {
+        this.version = version;
+        this.cityNames = cityNames;
+        this.cityIds = cityIds;
+        this.addedNames = addedNames;
+        this.addedIds = addedIds;
+        this.out = out;
+        this.in = in;
+    }
+
+    /**
+     * Builds a snapshot from the given cities and roads.
+     * Road endpoints are resolved by city id, so lazy city associations are never initialized.
+     */
+    public static RoadGraph of(Collection<City> cities, Collection<Road> roads, long version, GraphStorage storage) {
+        int cityCount = cities.size();
+        String[] cityNames = new String[cityCount];
+        Map<Long, Integer> idsByDatabaseId = new HashMap<>(cityCount * 2);
+
+        int next = 0;
+        for (City city : cities) {
+            cityNames[next] = city.getName();
+            idsByDatabaseId.put(city.getId(), next);
+            next++;
+        }
+
+        int[] from = new int[roads.size()];
+        int[] to = new int[roads.size()];
+        int[] weight = new int[roads.size()];
+        int edge = 0;
+        for (Road road : roads) {
+            from[edge] = idsByDatabaseId.get(road.getFromCity().getId());
+            to[edge] = idsByDatabaseId.get(road.getToCity().getId());
+            weight[edge] = road.getTravelTimeMinutes();
+            edge++;
+        }
+
+        return of(version, cityNames,
+                EdgeRows.build(cityCount, from, to, weight, edge, storage),
+                EdgeRows.build(cityCount, to, from, weight, edge, storage));
+    }
+
+    public static RoadGraph of(Collection<City> cities, Collection<Road> roads, long version) {
+        return of(cities, roads, version, GraphStorage.HEAP);
+    }
+
+    public static RoadGraph of(Collection<City> cities, Collection<Road> roads) {
+        return of(cities, roads, 1);
+    }
+
+    /**
+     * Assembles a snapshot from prebuilt rows, e.g. the sections of a mapped snapshot file.
+     */
+    static RoadGraph of(long version, String[] cityNames, EdgeRows out, EdgeRows in) {
+        Map<String, Integer> cityIds = new HashMap<>(cityNames.length * 2);
+        for (int city = 0; city < cityNames.length; city++) {
+            cityIds.put(cityNames[city], city);
+        }
+        return new RoadGraph(version, cityNames, cityIds, IntTrie.empty(), IntTrie.empty(), out, in);
+    }
+
+    public static RoadGraph empty() {
+        return new RoadGraph(0, new String[0], Map.of(), IntTrie.empty(), IntTrie.empty(),
+                EdgeRows.empty(), EdgeRows.empty());
+    }
+
+    /**
+     * Returns a new snapshot with the given roads created or updated.
+     * Unknown cities are appended with new ids, existing ids never change.
+     * Rows of untouched cities are shared with this snapshot.
+     *
+     * @param changes road upserts, applied in order
+     * @param version version number of the new snapshot
+     */
+    public RoadGraph withChanges(Collection<RoadChange> changes, long version) {
+        int cityCount = cityCount();
+        IntTrie<String> newNames = addedNames;
+        IntTrie<int[]> newIds = addedIds;
+        int[] from = new int[changes.size()];
+        int[] to = new int[changes.size()];
+        int[] weight = new int[changes.size()];
+        int edge = 0;
+        for (RoadChange change : changes) {
+            int[] ends = new int[2];
+            String[] names = {change.getFromCity(), change.getToCity()};
+            for (int end = 0; end < 2; end++) {
+                ends[end] = cityId(names[end], cityIds, newNames, newIds);
+                if (ends[end] < 0) {
+                    ends[end] = cityCount++;
+                    newNames = newNames.with(ends[end], names[end]);
+                    newIds = newIds.with(hashKey(names[end]), append(newIds.get(hashKey(names[end])), ends[end]));
+                }
+            }
+            from[edge] = ends[0];
+            to[edge] = ends[1];
+            weight[edge] = change.getTravelTimeMinutes();
+            edge++;
+        }
+
+        EdgeRows newOut = out.withUpserts(cityCount, from, to, weight, edge);
+        EdgeRows newIn = in.withUpserts(cityCount, to, from, weight, edge);
+        if (newNames.size() > cityNames.length / COMPACT_DIVISOR) {
+            String[] folded = Arrays.copyOf(cityNames, cityCount);
+            for (int city = cityNames.length; city < cityCount; city++) {
+                folded[city] = newNames.get(city);
+            }
+            return of(version, folded, newOut, newIn);
+        }
+        return new RoadGraph(version, cityNames, cityIds, newNames, newIds, newOut, newIn);
+    }
+
+    private static int cityId(String cityName, Map<String, Integer> cityIds,
+                              IntTrie<String> addedNames, IntTrie<int[]> addedIds) {
+        Integer id = cityIds.get(cityName);
+        if (id != null) {
+            return id;
+        }
+        int[] candidates = addedIds.get(hashKey(cityName));
+        if (candidates != null) {
+            for (int candidate : candidates) {
+                if (addedNames.get(candidate).equals(cityName)) {
+                    return candidate;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int hashKey(String cityName) {
+        return cityName.hashCode() & Integer.MAX_VALUE;
+    }
+
+    private static int[] append(int[] ids, int id) {
+        if (ids == null) {
+            return new int[]{id};
+        }
+        int[] appended = Arrays.copyOf(ids, ids.length + 1);
+        appended[ids.length] = id;
+        return appended;
+    }
+
+    /**
+     * Estimates where the snapshot keeps its bytes. Rows shared with older versions are
+     * counted in full, so the figures describe one snapshot, not the sum over versions.
+     */
+    public Footprint footprint() {
+        long rowBase = out.baseBytes() + in.baseBytes();
+        long offHeapBytes = out.isOffHeap() ? rowBase : 0;
+        // Per city: the name string and its entry in the id map or the added city tries
+        long cityBytes = 0;
+        for (int city = 0; city < cityCount(); city++) {
+            cityBytes += 56 + cityName(city).length() + 48;
+        }
+        cityBytes += (16 + 4L * 32) * (addedNames.nodeCount() + addedIds.nodeCount());
+        long heapBytes = rowBase - offHeapBytes + out.changedBytes() + in.changedBytes() + cityBytes;
+        return new Footprint(offHeapBytes, heapBytes, roadCount());
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int cityCount() {
+        return cityNames.length + addedNames.size();
+    }
+
+    public int roadCount() {
+        return out.edgeCount();
+    }
+
+    public boolean containsCity(String cityName) {
+        return cityId(cityName) >= 0;
+    }
+
+    /**
+     * Returns the dense id of a city, or -1 if the city is unknown.
+     */
+    public int cityId(String cityName) {
+        return cityId(cityName, cityIds, addedNames, addedIds);
+    }
+
+    public String cityName(int city) {
+        return city < cityNames.length ? cityNames[city] : addedNames.get(city);
+    }
+
+    public int outDegree(int city) {
+        return out.degree(city);
+    }
+
+    public int outTarget(int city, int slot) {
+        return out.other(city, slot);
+    }
+
+    public int outWeight(int city, int slot) {
+        return out.weight(city, slot);
+    }
+
+    /**
+     * Returns the slot of the road from one city to another in the outgoing row, or -1 if there is none.
+     */
+    public int findOutEdge(int from, int to) {
+        return out.indexOf(from, to);
+    }
+
+    public int inDegree(int city) {
+        return in.degree(city);
+    }
+
+    public int inSource(int city, int slot) {
+        return in.other(city, slot);
+    }
+
+    public int inWeight(int city, int slot) {
+        return in.weight(city, slot);
+    }
+
+    /**
+     * Memory taken by a snapshot, split into heap and off-heap bytes.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Footprint {
+        private final long offHeapBytes;
+        private final long heapBytes;
+        private final int roadCount;
+
+        /**
+         * Bytes per road over heap and off-heap memory, city names and both directions included.
+         */
+        public double getBytesPerRoad() {
+            return roadCount == 0 ? 0 : (double) (offHeapBytes + heapBytes) / roadCount;
+        }
+    }
+}
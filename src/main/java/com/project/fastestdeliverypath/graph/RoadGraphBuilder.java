@@ -0,0 +1,72 @@
+package com.project.fastestdeliverypath.graph;
+
+import java.util.Arrays;
+
+/**
+ * Builds a road graph from streamed database rows without entity objects.
+ *
+ * Cities are added first, in ascending database id order, and get dense ids in that order;
+ * road endpoints are then resolved by binary search over the database ids. Everything is
+ * buffered in growing primitive arrays, so memory is proportional to the rows read and
+ * nothing is allocated per road.
+ */
+public final class RoadGraphBuilder {
+
+    private long[] cityDatabaseIds = new long[256];
+    private String[] cityNames = new String[256];
+    private int cityCount;
+
+    private int[] from = new int[1024];
+    private int[] to = new int[1024];
+    private int[] weight = new int[1024];
+    private int roadCount;
+
+    /**
+     * Adds a city. Ids must be strictly ascending, as returned by {@code ORDER BY id}.
+     */
+    public void addCity(long databaseId, String name) {
+        if (roadCount > 0) {
+            throw new IllegalStateException("Cities must be added before roads");
+        }
+        if (cityCount > 0 && databaseId <= cityDatabaseIds[cityCount - 1]) {
+            throw new IllegalArgumentException("Cities must be added in ascending id order, got " + databaseId
+                    + " after " + cityDatabaseIds[cityCount - 1]);
+        }
+        if (cityCount == cityDatabaseIds.length) {
+            cityDatabaseIds = Arrays.copyOf(cityDatabaseIds, cityCount * 2);
+            cityNames = Arrays.copyOf(cityNames, cityCount * 2);
+        }
+        cityDatabaseIds[cityCount] = databaseId;
+        cityNames[cityCount] = name;
+        cityCount++;
+    }
+
+    /**
+     * Adds a road between two cities added before, by their database ids.
+     */
+    public void addRoad(long fromCityId, long toCityId, int travelTimeMinutes) {
+        if (roadCount == from.length) {
+            from = Arrays.copyOf(from, roadCount * 2);
+            to = Arrays.copyOf(to, roadCount * 2);
+            weight = Arrays.copyOf(weight, roadCount * 2);
+        }
+        from[roadCount] = denseId(fromCityId);
+        to[roadCount] = denseId(toCityId);
+        weight[roadCount] = travelTimeMinutes;
+        roadCount++;
+    }
+
+    private int denseId(long databaseId) {
+        int id = Arrays.binarySearch(cityDatabaseIds, 0, cityCount, databaseId);
+        if (id < 0) {
+            throw new IllegalStateException("Road refers to unknown city id " + databaseId);
+        }
+        return id;
+    }
+
+    public RoadGraph build(long version, GraphStorage storage) {
+        return RoadGraph.of(version, Arrays.copyOf(cityNames, cityCount),
+                EdgeRows.build(cityCount, from, to, weight, roadCount, storage),
+                EdgeRows.build(cityCount, to, from, weight, roadCount, storage));
+    }
+}
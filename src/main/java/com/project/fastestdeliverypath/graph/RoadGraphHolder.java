@@ -0,0 +1,209 @@
+package com.project.fastestdeliverypath.graph;
+
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.jfr.GraphBuildEvent;
+import com.project.fastestdeliverypath.repository.RoadNetworkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the current road graph snapshot resident in memory.
+ * Route queries read the snapshot through {@link #current()} and never touch the database.
+ *
+ * Committed road writes are queued and applied as copy-on-write deltas. Readers keep using
+ * whatever snapshot they already hold while a new version is published with a single
+ * volatile write. Writes that arrive while a version is being built are coalesced into the next one.
+ * Every published version is announced with a {@link RoadGraphUpdatedEvent}.
+ *
+ * After-commit listeners of two transactions writing the same road can run in the opposite
+ * order of their commits, so the travel times in a change are not trusted: the changed roads
+ * are read back from their committed rows when they are applied. Whatever order the changes
+ * arrive in, the last version published for a road carries its latest committed travel time.
+ *
+ * When a snapshot file is configured, the first load maps it instead of reading the roads,
+ * as long as it matches the database; every full load from the database rewrites it.
+ *
+ * Loads and publications are serialized by a lock rather than {@code synchronized}, so a
+ * virtual request thread waiting on the database during a load does not pin its carrier.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoadGraphHolder {
+
+    private final RoadNetworkRepository roadNetworkRepository;
+    private final RoadGraphSnapshotStore snapshotStore;
+    private final RoutingProperties routingProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Queue<RoadChange> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile RoadGraph graph;
+
+    /**
+     * Returns the current snapshot, loading it on first use.
+     */
+    public RoadGraph current() {
+        RoadGraph snapshot = graph;
+        if (snapshot == null) {
+            lock.lock();
+            try {
+                snapshot = graph;
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * First load: maps the snapshot file if it is current, otherwise reads the database.
+     */
+    private RoadGraph load() {
+        if (snapshotStore.isEnabled()) {
+            long start = System.nanoTime();
+            GraphBuildEvent event = new GraphBuildEvent();
+            event.begin();
+            RoadGraph snapshot = snapshotStore.load(roadNetworkRepository.fingerprint(), nextVersion());
+            if (snapshot != null) {
+                commit(event, snapshot, GraphBuildEvent.SNAPSHOT_FILE, 0);
+                publish(snapshot, null);
+                log.info("Mapped road graph version {} with {} cities and {} roads from the snapshot file in {} ms",
+                        snapshot.version(), snapshot.cityCount(), snapshot.roadCount(),
+                        (System.nanoTime() - start) / 1_000_000);
+                logFootprint(snapshot);
+                return snapshot;
+            }
+        }
+        return reload();
+    }
+
+    /**
+     * Rebuilds the snapshot from the database and publishes it to all readers.
+     * Needed only when the roads table was changed outside of the application.
+     */
+    public RoadGraph reload() {
+        lock.lock();
+        try {
+            long start = System.nanoTime();
+            GraphBuildEvent event = new GraphBuildEvent();
+            event.begin();
+
+            // Taken before the rows are read: a write in between makes the file look stale, never current
+            NetworkFingerprint fingerprint = snapshotStore.isEnabled() ? roadNetworkRepository.fingerprint() : null;
+            RoadGraph snapshot = roadNetworkRepository.loadGraph(nextVersion(), routingProperties.getGraphStorage());
+            commit(event, snapshot, GraphBuildEvent.DATABASE, 0);
+            publish(snapshot, null);
+
+            log.info("Loaded road graph version {} with {} cities and {} roads in {} ms",
+                    snapshot.version(), snapshot.cityCount(), snapshot.roadCount(),
+                    (System.nanoTime() - start) / 1_000_000);
+            logFootprint(snapshot);
+            if (fingerprint != null) {
+                snapshotStore.save(snapshot, fingerprint);
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies committed road writes to the resident graph.
+     * Runs after the writing transaction commits, so rolled back writes are never visible.
+     * Changes announced outside a transaction were committed earlier and are applied right away.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoadsChanged(RoadsChangedEvent event) {
+        pendingChanges.addAll(event.getChanges());
+        publishPendingChanges();
+    }
+
+    /**
+     * Drains all queued changes into one new snapshot version.
+     * A writer that finds the queue already drained by another thread has nothing left to do.
+     */
+    private void publishPendingChanges() {
+        lock.lock();
+        try {
+            Map<String, RoadChange> changedRoads = new LinkedHashMap<>();
+            RoadChange change;
+            while ((change = pendingChanges.poll()) != null) {
+                changedRoads.put(change.getFromCity() + "->" + change.getToCity(), change);
+            }
+            if (changedRoads.isEmpty() || graph == null) {
+                // Not loaded yet: the first load reads the committed rows from the database
+                return;
+            }
+            // Read after every commit that queued them, so no change can carry an older travel time
+            List<RoadChange> changes = roadNetworkRepository.currentRoads(changedRoads.values());
+            if (changes.isEmpty()) {
+                return;
+            }
+
+            GraphBuildEvent event = new GraphBuildEvent();
+            event.begin();
+            RoadGraph snapshot = graph.withChanges(changes, nextVersion());
+            commit(event, snapshot, GraphBuildEvent.CHANGES, changes.size());
+            publish(snapshot, changes);
+
+            log.info("Published road graph version {} with {} road change(s)", snapshot.version(), changes.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits the build event if a flight recording wants it; otherwise this costs nothing.
+     */
+    private static void commit(GraphBuildEvent event, RoadGraph snapshot, String source, int changeCount) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.version = snapshot.version();
+            event.source = source;
+            event.cityCount = snapshot.cityCount();
+            event.edgeCount = snapshot.roadCount();
+            event.changeCount = changeCount;
+            event.commit();
+        }
+    }
+
+    private static void logFootprint(RoadGraph snapshot) {
+        RoadGraph.Footprint footprint = snapshot.footprint();
+        log.info("Road graph version {} takes {} KB off-heap and {} KB heap, {} bytes per road",
+                snapshot.version(), footprint.getOffHeapBytes() / 1024, footprint.getHeapBytes() / 1024,
+                String.format("%.1f", footprint.getBytesPerRoad()));
+    }
+
+    private void publish(RoadGraph snapshot, List<RoadChange> changes) {
+        RoadGraph previous = graph;
+        graph = snapshot;
+        eventPublisher.publishEvent(new RoadGraphUpdatedEvent(previous, snapshot, changes));
+    }
+
+    private long nextVersion() {
+        return graph == null ? 1 : graph.version() + 1;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        current();
+    }
+}
@@ -0,0 +1,320 @@
+package com.project.fastestdeliverypath.graph;
+
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary snapshot file of the road graph, so a fresh node can start answering route queries
+ * without loading every road from the database.
+ *
+ * The file holds the city names in id order followed by the compressed sparse rows of both
+ * directions. Loading maps the row sections read-only and uses them in place: the only
+ * objects created are the city names and their id map, none per road. Every file records
+ * the {@link NetworkFingerprint} of the database it was written from and is ignored when the
+ * database has changed since, or when it was written by another format version.
+ *
+ * Everything after the first eight bytes is written in the native byte order of the writer,
+ * the order the mapped rows are read in without swapping bytes. A file written on a machine
+ * with the other order is treated as stale and rewritten.
+ *
+ * Layout:
+ * <pre>
+ * int magic, int format version (both big-endian),
+ * byte order (0 big-endian, 1 little-endian), 7 bytes zero padding, long graph version,
+ * long city count, long city checksum, long road count, long road checksum (the fingerprint),
+ * int cities, int edges, long name bytes,
+ * per city: int length, UTF-8 name; zero padding to a multiple of 4,
+ * out offsets (cities + 1), out targets (edges), out weights (edges),
+ * in offsets (cities + 1), in sources (edges), in weights (edges)
+ * </pre>
+ */
+@Component
+@Slf4j
+public class RoadGraphSnapshotStore {
+
+    static final int MAGIC = 0x52475346;
+    static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 72;
+    // Offset of the byte order marker, right after the magic and format version
+    static final int BYTE_ORDER_OFFSET = 8;
+
+    private final Path path;
+
+    public RoadGraphSnapshotStore(RoutingProperties routingProperties) {
+        String configured = routingProperties.getSnapshot().getPath();
+        this.path = configured == null || configured.isBlank() ? null : Path.of(configured);
+    }
+
+    /**
+     * Whether a snapshot file is configured.
+     */
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Maps the snapshot file if it matches the database.
+     *
+     * @return the mapped graph, or null if the file is missing, stale or unreadable
+     */
+    public RoadGraph load(NetworkFingerprint fingerprint, long version) {
+        if (!Files.isRegularFile(path)) {
+            log.info("No road graph snapshot file at {}", path);
+            return null;
+        }
+        try {
+            RoadGraph snapshot = read(path, fingerprint, version);
+            if (snapshot == null) {
+                log.info("Road graph snapshot file {} is stale, the database has changed since it was written "
+                        + "or it was written in another byte order", path);
+            }
+            return snapshot;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not read road graph snapshot file {}: {}", path, ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the snapshot file for a graph loaded from a database with the given fingerprint.
+     * Failures are logged and otherwise ignored: the file only speeds up the next start.
+     */
+    public void save(RoadGraph graph, NetworkFingerprint fingerprint) {
+        long start = System.nanoTime();
+        try {
+            write(graph, fingerprint, path);
+            log.info("Wrote road graph snapshot file {} for version {} in {} ms",
+                    path, graph.version(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not write road graph snapshot file {}: {}", path, ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes the file next to its target and moves it into place, so readers never see a partial file.
+     */
+    static void write(RoadGraph graph, NetworkFingerprint fingerprint, Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+
+        int cityCount = graph.cityCount();
+        byte[][] names = new byte[cityCount][];
+        long nameBytes = 0;
+        for (int city = 0; city < cityCount; city++) {
+            names[city] = graph.cityName(city).getBytes(StandardCharsets.UTF_8);
+            nameBytes += 4 + names[city].length;
+        }
+
+        ByteOrder order = ByteOrder.nativeOrder();
+        try (OrderedOutput output = new OrderedOutput(FileChannel.open(temp, StandardOpenOption.WRITE))) {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeByte(order == ByteOrder.BIG_ENDIAN ? 0 : 1);
+            output.write(new byte[7]);
+            output.order(order);
+            output.writeLong(graph.version());
+            output.writeLong(fingerprint.getCityCount());
+            output.writeLong(fingerprint.getCityChecksum());
+            output.writeLong(fingerprint.getRoadCount());
+            output.writeLong(fingerprint.getRoadChecksum());
+            output.writeInt(cityCount);
+            output.writeInt(graph.roadCount());
+            output.writeLong(nameBytes);
+
+            for (byte[] name : names) {
+                output.writeInt(name.length);
+                output.write(name);
+            }
+            for (long at = HEADER_BYTES + nameBytes; at < sectionsStart(nameBytes); at++) {
+                output.writeByte(0);
+            }
+
+            writeRows(output, graph, false);
+            writeRows(output, graph, true);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeRows(OrderedOutput output, RoadGraph graph, boolean incoming) throws IOException {
+        int cityCount = graph.cityCount();
+        int offset = 0;
+        output.writeInt(0);
+        for (int city = 0; city < cityCount; city++) {
+            offset += incoming ? graph.inDegree(city) : graph.outDegree(city);
+            output.writeInt(offset);
+        }
+        for (int city = 0; city < cityCount; city++) {
+            int degree = incoming ? graph.inDegree(city) : graph.outDegree(city);
+            for (int slot = 0; slot < degree; slot++) {
+                output.writeInt(incoming ? graph.inSource(city, slot) : graph.outTarget(city, slot));
+            }
+        }
+        for (int city = 0; city < cityCount; city++) {
+            int degree = incoming ? graph.inDegree(city) : graph.outDegree(city);
+            for (int slot = 0; slot < degree; slot++) {
+                output.writeInt(incoming ? graph.inWeight(city, slot) : graph.outWeight(city, slot));
+            }
+        }
+    }
+
+    /**
+     * Maps a snapshot file as a graph with the given version number.
+     *
+     * @return the graph, or null if the file was written from a database with another fingerprint
+     *         or in another byte order than the native one
+     * @throws IOException if the file is not a complete snapshot of this format version
+     */
+    static RoadGraph read(Path file, NetworkFingerprint expected, long version) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete or the file ends
+            }
+            if (header.hasRemaining()) {
+                throw new IOException("file is shorter than the header");
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("not a road graph snapshot file");
+            }
+            int formatVersion = header.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("unsupported format version " + formatVersion);
+            }
+            ByteOrder order = switch (header.get()) {
+                case 0 -> ByteOrder.BIG_ENDIAN;
+                case 1 -> ByteOrder.LITTLE_ENDIAN;
+                default -> throw new IOException("unknown byte order");
+            };
+            if (order != ByteOrder.nativeOrder()) {
+                return null;
+            }
+            header.position(BYTE_ORDER_OFFSET + 8).order(order);
+            header.getLong();
+            NetworkFingerprint fingerprint = new NetworkFingerprint(
+                    header.getLong(), header.getLong(), header.getLong(), header.getLong());
+            if (!fingerprint.equals(expected)) {
+                return null;
+            }
+
+            int cityCount = header.getInt();
+            int edgeCount = header.getInt();
+            long nameBytes = header.getLong();
+            long position = sectionsStart(nameBytes);
+            long expectedSize = position + 4L * (2L * (cityCount + 1) + 4L * edgeCount);
+            if (channel.size() != expectedSize) {
+                throw new IOException("expected " + expectedSize + " bytes but found " + channel.size());
+            }
+
+            String[] cityNames = readNames(
+                    channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, nameBytes).order(order), cityCount);
+
+            IntBuffer[] sections = new IntBuffer[6];
+            for (int i = 0; i < sections.length; i++) {
+                int length = i % 3 == 0 ? cityCount + 1 : edgeCount;
+                sections[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * length)
+                        .order(order)
+                        .asIntBuffer();
+                position += 4L * length;
+            }
+            // Mappings stay valid after the channel is closed
+            return RoadGraph.of(version, cityNames,
+                    EdgeRows.of(sections[0], sections[1], sections[2]),
+                    EdgeRows.of(sections[3], sections[4], sections[5]));
+        }
+    }
+
+    private static String[] readNames(ByteBuffer buffer, int cityCount) {
+        String[] names = new String[cityCount];
+        for (int city = 0; city < cityCount; city++) {
+            byte[] name = new byte[buffer.getInt()];
+            buffer.get(name);
+            names[city] = new String(name, StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+
+    private static long sectionsStart(long nameBytes) {
+        return (HEADER_BYTES + nameBytes + 3) & ~3L;
+    }
+
+    /**
+     * Buffered channel output with a settable byte order, which {@link java.io.DataOutputStream} lacks.
+     */
+    private static final class OrderedOutput implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+        OrderedOutput(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void order(ByteOrder order) {
+            buffer.order(order);
+        }
+
+        void writeByte(int value) throws IOException {
+            reserve(1);
+            buffer.put((byte) value);
+        }
+
+        void writeInt(int value) throws IOException {
+            reserve(4);
+            buffer.putInt(value);
+        }
+
+        void writeLong(long value) throws IOException {
+            reserve(8);
+            buffer.putLong(value);
+        }
+
+        void write(byte[] bytes) throws IOException {
+            int at = 0;
+            while (at < bytes.length) {
+                reserve(1);
+                int length = Math.min(buffer.remaining(), bytes.length - at);
+                buffer.put(bytes, at, length);
+                at += length;
+            }
+        }
+
+        private void reserve(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (channel) {
+                flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.fastestdeliverypath.graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published by {@link RoadGraphHolder} every time a new snapshot version becomes current.
+ * Listeners use it to refresh indexes that were built for an older version.
+ */
+@Getter
+@AllArgsConstructor
+public class RoadGraphUpdatedEvent {
+
+    /**
+     * The snapshot that was current before, or null for the first load.
+     */
+    private final RoadGraph previous;
+
+    private final RoadGraph current;
+
+    /**
+     * The road changes applied to the previous snapshot, or null if the graph was reloaded from the database.
+     */
+    private final List<RoadChange> changes;
+
+    /**
+     * Returns true if the update only raised the travel times of roads that already existed.
+     * Shortest path distances can then only grow, so lower bounds computed on the previous
+     * version remain valid.
+     */
+    public boolean isTravelTimeIncreaseOnly() {
+        if (previous == null || changes == null) {
+            return false;
+        }
+        for (RoadChange change : changes) {
+            int from = previous.cityId(change.getFromCity());
+            int to = previous.cityId(change.getToCity());
+            if (from < 0 || to < 0) {
+                return false;
+            }
+            int slot = previous.findOutEdge(from, to);
+            if (slot < 0 || change.getTravelTimeMinutes() < previous.outWeight(from, slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
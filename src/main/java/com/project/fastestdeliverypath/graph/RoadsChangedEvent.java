@@ -0,0 +1,16 @@
+package com.project.fastestdeliverypath.graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published by writers when roads are created or updated.
+ * The resident graph applies the changes once the writing transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class RoadsChangedEvent {
+    private final List<RoadChange> changes;
+}
@@ -0,0 +1,41 @@
+package com.project.fastestdeliverypath.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for every road graph snapshot that is built and published,
+ * whether loaded from the database, mapped from the snapshot file or derived from changes.
+ */
+@Name("com.project.fastestdeliverypath.GraphBuild")
+@Label("Road Graph Build")
+@Category({"Fastest Delivery Path", "Graph"})
+@Description("A road graph snapshot was built and published")
+@StackTrace(false)
+public class GraphBuildEvent extends Event {
+
+    public static final String DATABASE = "database";
+    public static final String SNAPSHOT_FILE = "snapshot file";
+    public static final String CHANGES = "changes";
+
+    @Label("Version")
+    public long version;
+
+    @Label("Source")
+    @Description("database, snapshot file or changes")
+    public String source;
+
+    @Label("Cities")
+    public int cityCount;
+
+    @Label("Edges")
+    public int edgeCount;
+
+    @Label("Changes")
+    @Description("Road changes applied to the previous version, 0 for a full load")
+    public int changeCount;
+}
@@ -0,0 +1,34 @@
+package com.project.fastestdeliverypath.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for every batch of road writes, from {@code POST /roads}, the bulk
+ * endpoint or one chunk of an import. The duration covers the statements, not the commit.
+ */
+@Name("com.project.fastestdeliverypath.RoadWrite")
+@Label("Road Write Batch")
+@Category({"Fastest Delivery Path", "Roads"})
+@Description("A batch of road creates and updates")
+@StackTrace(false)
+public class RoadWriteEvent extends Event {
+
+    @Label("Bulk")
+    @Description("Written with batched upserts rather than one save per road")
+    public boolean bulk;
+
+    @Label("Roads Received")
+    public int roadsReceived;
+
+    @Label("Roads Written")
+    public int roadsWritten;
+
+    @Label("Cities Created")
+    @Description("Counted by bulk writes only, -1 otherwise")
+    public int citiesCreated;
+}
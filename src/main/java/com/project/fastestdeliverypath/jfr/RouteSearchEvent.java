@@ -0,0 +1,41 @@
+package com.project.fastestdeliverypath.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for every point-to-point route search.
+ */
+@Name("com.project.fastestdeliverypath.RouteSearch")
+@Label("Route Search")
+@Category({"Fastest Delivery Path", "Search"})
+@Description("A route search between two cities, with the work it did")
+@StackTrace(false)
+public class RouteSearchEvent extends Event {
+
+    @Label("Source City")
+    public String source;
+
+    @Label("Destination City")
+    public String destination;
+
+    @Label("Engine")
+    public String engine;
+
+    @Label("Graph Version")
+    public long graphVersion;
+
+    @Label("Settled Cities")
+    public long settledCities;
+
+    @Label("Relaxed Edges")
+    @Description("Edge relaxations that improved a tentative distance")
+    public long relaxedEdges;
+
+    @Label("Found")
+    public boolean found;
+}
@@ -0,0 +1,96 @@
+package com.project.fastestdeliverypath.repository;
+
+import com.project.fastestdeliverypath.graph.RoadChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based writes for bulk road ingestion, bypassing the persistence context.
+ *
+ * Cities are resolved with IN queries over many names at once and roads are upserted with
+ * batched statements: {@code INSERT ... ON CONFLICT DO UPDATE} on PostgreSQL and the
+ * equivalent {@code MERGE ... KEY} on H2, which the tests run on.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RoadBulkRepository {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final String POSTGRES_INSERT_CITY =
+            "INSERT INTO cities (name) VALUES (?) ON CONFLICT (name) DO NOTHING";
+    private static final String POSTGRES_UPSERT_ROAD =
+            "INSERT INTO roads (from_city_id, to_city_id, travel_time_minutes) VALUES (?, ?, ?) "
+                    + "ON CONFLICT (from_city_id, to_city_id) DO UPDATE SET travel_time_minutes = EXCLUDED.travel_time_minutes";
+    private static final String H2_INSERT_CITY =
+            "MERGE INTO cities (name) KEY (name) VALUES (?)";
+    private static final String H2_UPSERT_ROAD =
+            "MERGE INTO roads (from_city_id, to_city_id, travel_time_minutes) KEY (from_city_id, to_city_id) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    /**
+     * Looks up the ids of the cities that exist, a chunk of names per query.
+     *
+     * @return ids by city name; names without a city are absent
+     */
+    public Map<String, Long> findCityIds(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        List<String> all = new ArrayList<>(names);
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            List<String> chunk = all.subList(from, Math.min(from + BATCH_SIZE, all.size()));
+            namedParameterJdbcTemplate.query("SELECT id, name FROM cities WHERE name IN (:names)",
+                    new MapSqlParameterSource("names", chunk),
+                    row -> {
+                        ids.put(row.getString("name"), row.getLong("id"));
+                    });
+        }
+        return ids;
+    }
+
+    /**
+     * Inserts the cities in batches. Cities created concurrently in the meantime are skipped.
+     */
+    public void insertCities(Collection<String> names) {
+        jdbcTemplate.batchUpdate(isPostgres() ? POSTGRES_INSERT_CITY : H2_INSERT_CITY,
+                new ArrayList<>(names), BATCH_SIZE,
+                (statement, name) -> statement.setString(1, name));
+    }
+
+    /**
+     * Inserts or updates the roads in batches, keyed by their from/to city pair.
+     *
+     * @param cityIds ids of every city the roads refer to
+     */
+    public void upsertRoads(Collection<RoadChange> roads, Map<String, Long> cityIds) {
+        jdbcTemplate.batchUpdate(isPostgres() ? POSTGRES_UPSERT_ROAD : H2_UPSERT_ROAD,
+                new ArrayList<>(roads), BATCH_SIZE,
+                (statement, road) -> {
+                    statement.setLong(1, cityIds.get(road.getFromCity()));
+                    statement.setLong(2, cityIds.get(road.getToCity()));
+                    statement.setInt(3, road.getTravelTimeMinutes());
+                });
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return postgres;
+    }
+}
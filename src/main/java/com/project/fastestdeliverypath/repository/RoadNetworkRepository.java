@@ -0,0 +1,127 @@
+package com.project.fastestdeliverypath.repository;
+
+import com.project.fastestdeliverypath.graph.GraphStorage;
+import com.project.fastestdeliverypath.graph.NetworkFingerprint;
+import com.project.fastestdeliverypath.graph.RoadChange;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphBuilder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only queries over the whole road network for building the resident graph.
+ *
+ * The graph is loaded from plain column projections rather than entities: an id to name
+ * table of the cities and (from, to, travel time) tuples of the roads. Rows bypass the
+ * persistence context and are streamed from a forward-only cursor with a fixed fetch size;
+ * PostgreSQL only keeps such a cursor on the server inside a transaction, hence the
+ * read-only transaction around the load.
+ *
+ * Cities and roads are read by separate statements. Under the default READ COMMITTED level a
+ * road write committed between them could return roads to cities the load never saw, so
+ * queries that pair the two tables run at REPEATABLE READ and see a single snapshot.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RoadNetworkRepository {
+
+    // Weights every travel time by its endpoints so that moving a time to another road is noticed too
+    private static final String ROAD_FINGERPRINT =
+            "SELECT COUNT(*), COALESCE(SUM(CAST(travel_time_minutes AS BIGINT)"
+                    + " * MOD(from_city_id * 31 + to_city_id, 1000003)), 0) FROM roads";
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String CITY_ROWS = "SELECT id, name FROM cities ORDER BY id";
+    private static final String ROAD_ROWS = "SELECT from_city_id, to_city_id, travel_time_minutes FROM roads";
+    private static final String ROADS_BY_CITY_NAMES =
+            "SELECT f.name, t.name, r.travel_time_minutes FROM roads r"
+                    + " JOIN cities f ON f.id = r.from_city_id JOIN cities t ON t.id = r.to_city_id"
+                    + " WHERE (f.name, t.name) IN (:roads)";
+    private static final int LOOKUP_BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Streams all cities and roads into a new graph snapshot.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public RoadGraph loadGraph(long version, GraphStorage storage) {
+        RoadGraphBuilder builder = new RoadGraphBuilder();
+        jdbcTemplate.query(streaming(CITY_ROWS),
+                (ResultSet row) -> builder.addCity(row.getLong(1), row.getString(2)));
+        jdbcTemplate.query(streaming(ROAD_ROWS),
+                (ResultSet row) -> builder.addRoad(row.getLong(1), row.getLong(2), row.getInt(3)));
+        return builder.build(version, storage);
+    }
+
+    private static PreparedStatementCreator streaming(String sql) {
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        };
+    }
+
+    /**
+     * Reads the committed travel times of the given roads, a chunk of city pairs per query.
+     *
+     * @return the roads that exist, with their current travel time
+     */
+    public List<RoadChange> currentRoads(Collection<RoadChange> roads) {
+        List<Object[]> pairs = new ArrayList<>(roads.size());
+        for (RoadChange road : roads) {
+            pairs.add(new Object[]{road.getFromCity(), road.getToCity()});
+        }
+
+        List<RoadChange> current = new ArrayList<>(pairs.size());
+        for (int from = 0; from < pairs.size(); from += LOOKUP_BATCH_SIZE) {
+            List<Object[]> chunk = pairs.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, pairs.size()));
+            namedParameterJdbcTemplate.query(ROADS_BY_CITY_NAMES, new MapSqlParameterSource("roads", chunk),
+                    (ResultSet row) -> {
+                        current.add(new RoadChange(row.getString(1), row.getString(2), row.getInt(3)));
+                    });
+        }
+        return current;
+    }
+
+    /**
+     * Summarizes both tables. Roads are summed by an aggregate query; city names have no hash
+     * shared by PostgreSQL and H2, so the city rows are streamed and their names hashed here,
+     * which stays cheap because there are far fewer cities than roads.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public NetworkFingerprint fingerprint() {
+        long[] cities = new long[2];
+        jdbcTemplate.query(streaming(CITY_ROWS), (ResultSet row) -> {
+            cities[0]++;
+            cities[1] += cityHash(row.getLong(1), row.getString(2));
+        });
+        long[] roads = jdbcTemplate.queryForObject(ROAD_FINGERPRINT,
+                (row, rowNum) -> new long[]{row.getLong(1), row.getLong(2)});
+        return new NetworkFingerprint(cities[0], cities[1], roads[0], roads[1]);
+    }
+
+    // Hashes every character of the name, so any rename changes the checksum
+    private static long cityHash(long id, String name) {
+        long hash = id * 1_000_003L;
+        for (int i = 0; i < name.length(); i++) {
+            hash = hash * 31 + name.charAt(i);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,127 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphUpdatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+
+import static com.project.fastestdeliverypath.search.SearchWorkspace.UNREACHED;
+
+/**
+ * A* search guided by landmark lower bounds (ALT).
+ *
+ * Landmark tables are built in the background for each graph version. When roads only got
+ * slower, the previous tables still give valid lower bounds and keep being used until the
+ * rebuild finishes; after any other change, queries fall back to bidirectional Dijkstra
+ * until the new tables are ready.
+ */
+@Component
+@Slf4j
+public class AltEngine implements RouteEngine {
+
+    public static final String NAME = "alt";
+
+    private final VersionedIndex<LandmarkIndex> landmarkIndex;
+    private final RouteEngine fallback;
+
+    @Autowired
+    public AltEngine(RoutingProperties routingProperties, BidirectionalDijkstraEngine fallback) {
+        this(routingProperties.getAlt().getLandmarks(), fallback, VersionedIndex.backgroundExecutor("alt-index"));
+    }
+
+    AltEngine(int landmarks, RouteEngine fallback, Executor executor) {
+        this.fallback = fallback;
+        this.landmarkIndex = new VersionedIndex<>("landmark tables",
+                graph -> {
+                    LandmarkIndex index = LandmarkIndex.build(graph, landmarks);
+                    log.info("Landmark tables: {} landmarks over {} cities, {} KB",
+                            index.landmarks().length, index.cityCount(), index.memoryBytes() / 1024);
+                    return index;
+                },
+                executor);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public RoutePath findPath(RoadGraph graph, int source, int target) {
+        return resolve(graph).findPath(graph, source, target);
+    }
+
+    @Override
+    public RouteEngine resolve(RoadGraph graph) {
+        LandmarkIndex index = landmarkIndex.get(graph);
+        if (index == null || index.cityCount() != graph.cityCount()) {
+            return fallback.resolve(graph);
+        }
+        return new LandmarkSearch(index);
+    }
+
+    private static RoutePath search(LandmarkIndex index, RoadGraph graph, int source, int target) {
+        try (SearchWorkspaces.Lease lease = SearchWorkspaces.acquire()) {
+            return search(index, graph, lease.forward(graph), source, target);
+        }
+    }
+
+    private static RoutePath search(LandmarkIndex index, RoadGraph graph, SearchWorkspace workspace,
+                                    int source, int target) {
+        IndexedMinHeap heap = workspace.heap();
+        if (index.lowerBound(source, target) == UNREACHED) {
+            return null;
+        }
+        workspace.start(source);
+
+        // Heap keys are travel time so far plus the lower bound to the target
+        while (!heap.isEmpty()) {
+            int city = heap.poll();
+            if (city == target) {
+                return DijkstraSearch.buildPath(graph, workspace, source, target);
+            }
+
+            int distance = workspace.distance(city);
+            int degree = graph.outDegree(city);
+            for (int slot = 0; slot < degree; slot++) {
+                int neighbor = graph.outTarget(city, slot);
+                int newDistance = distance + graph.outWeight(city, slot);
+                if (newDistance < workspace.distance(neighbor)) {
+                    int bound = index.lowerBound(neighbor, target);
+                    if (bound == UNREACHED) {
+                        continue;
+                    }
+                    workspace.update(neighbor, newDistance, city, slot);
+                    heap.insertOrDecrease(neighbor, newDistance + bound);
+                }
+            }
+        }
+        return null;
+    }
+
+    @EventListener
+    public void onRoadGraphUpdated(RoadGraphUpdatedEvent event) {
+        landmarkIndex.onGraphUpdated(event, event.isTravelTimeIncreaseOnly());
+    }
+
+    /**
+     * A* bound to the landmark tables that were valid when the engine was resolved.
+     */
+    private record LandmarkSearch(LandmarkIndex index) implements RouteEngine {
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public RoutePath findPath(RoadGraph graph, int source, int target) {
+            return search(index, graph, source, target);
+        }
+    }
+}
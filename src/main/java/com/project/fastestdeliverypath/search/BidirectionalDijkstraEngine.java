@@ -0,0 +1,133 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import org.springframework.stereotype.Component;
+
+import static com.project.fastestdeliverypath.search.SearchWorkspace.UNREACHED;
+
+/**
+ * Bidirectional Dijkstra: a forward search from the source over outgoing roads and a backward
+ * search from the target over incoming roads, advancing whichever frontier is closer.
+ *
+ * Every relaxed edge that reaches a city already seen by the other search is a candidate
+ * path, and the best one is kept. The search stops as soon as the two smallest frontier keys
+ * add up to at least the best candidate, since no unsettled city can lie on a shorter path.
+ */
+@Component
+public class BidirectionalDijkstraEngine implements RouteEngine {
+
+    public static final String NAME = "bidirectional";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public RoutePath findPath(RoadGraph graph, int source, int target) {
+        try (SearchWorkspaces.Lease lease = SearchWorkspaces.acquire()) {
+            return search(graph, lease.forward(graph), lease.backward(graph), source, target);
+        }
+    }
+
+    private RoutePath search(RoadGraph graph, SearchWorkspace forward, SearchWorkspace backward,
+                             int source, int target) {
+        IndexedMinHeap forwardHeap = forward.heap();
+        IndexedMinHeap backwardHeap = backward.heap();
+
+        forward.start(source);
+        backward.start(target);
+        int best = source == target ? 0 : UNREACHED;
+        int meeting = source == target ? source : -1;
+
+        while (!forwardHeap.isEmpty() && !backwardHeap.isEmpty()) {
+            int forwardKey = forwardHeap.peekKey();
+            int backwardKey = backwardHeap.peekKey();
+            if (best != UNREACHED && (long) forwardKey + backwardKey >= best) {
+                break;
+            }
+
+            if (forwardKey <= backwardKey) {
+                int city = forwardHeap.poll();
+                int distance = forward.distance(city);
+                int degree = graph.outDegree(city);
+                for (int slot = 0; slot < degree; slot++) {
+                    int neighbor = graph.outTarget(city, slot);
+                    int newDistance = distance + graph.outWeight(city, slot);
+                    if (newDistance < forward.distance(neighbor)) {
+                        forward.update(neighbor, newDistance, city, slot);
+                        forwardHeap.insertOrDecrease(neighbor, newDistance);
+                    }
+                    int otherDistance = backward.distance(neighbor);
+                    if (otherDistance != UNREACHED && newDistance + otherDistance < best) {
+                        best = newDistance + otherDistance;
+                        meeting = neighbor;
+                    }
+                }
+            } else {
+                int city = backwardHeap.poll();
+                int distance = backward.distance(city);
+                int degree = graph.inDegree(city);
+                for (int slot = 0; slot < degree; slot++) {
+                    int neighbor = graph.inSource(city, slot);
+                    int newDistance = distance + graph.inWeight(city, slot);
+                    if (newDistance < backward.distance(neighbor)) {
+                        backward.update(neighbor, newDistance, city, slot);
+                        backwardHeap.insertOrDecrease(neighbor, newDistance);
+                    }
+                    int otherDistance = forward.distance(neighbor);
+                    if (otherDistance != UNREACHED && newDistance + otherDistance < best) {
+                        best = newDistance + otherDistance;
+                        meeting = neighbor;
+                    }
+                }
+            }
+        }
+
+        if (best == UNREACHED) {
+            return null;
+        }
+        return joinPaths(graph, forward, backward, source, meeting, target, best);
+    }
+
+    /**
+     * Joins the forward parent chain from the source to the meeting city with the backward
+     * chain from the meeting city to the target.
+     */
+    private RoutePath joinPaths(RoadGraph graph, SearchWorkspace forward, SearchWorkspace backward,
+                                int source, int meeting, int target, int totalTravelTime) {
+        long start = System.nanoTime();
+        int forwardHops = 0;
+        for (int city = meeting; city != source; city = forward.parent(city)) {
+            forwardHops++;
+        }
+        int backwardHops = 0;
+        for (int city = meeting; city != target; city = backward.parent(city)) {
+            backwardHops++;
+        }
+
+        int[] cities = new int[forwardHops + backwardHops + 1];
+        int[] travelTimes = new int[forwardHops + backwardHops];
+
+        int city = meeting;
+        for (int i = forwardHops; i > 0; i--) {
+            int parent = forward.parent(city);
+            cities[i] = city;
+            travelTimes[i - 1] = graph.outWeight(parent, forward.parentEdge(city));
+            city = parent;
+        }
+        cities[0] = source;
+
+        // Backward parents point towards the target, through the parent's incoming row
+        city = meeting;
+        for (int i = forwardHops; i < forwardHops + backwardHops; i++) {
+            int next = backward.parent(city);
+            travelTimes[i] = graph.inWeight(next, backward.parentEdge(city));
+            cities[i + 1] = next;
+            city = next;
+        }
+
+        forward.recordReconstruction(System.nanoTime() - start);
+        return new RoutePath(cities, travelTimes, totalTravelTime);
+    }
+}
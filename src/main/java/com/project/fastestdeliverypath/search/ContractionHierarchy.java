@@ -0,0 +1,505 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Contraction hierarchy over one road graph version.
+ *
+ * Cities are contracted one by one in order of importance. Contracting a city removes it and
+ * adds a shortcut between two of its neighbours whenever the path through it is the only
+ * shortest one (checked with a bounded witness search). Every city then keeps only edges to
+ * more important cities: an upward list for forward searches and a downward list, stored at
+ * the lower endpoint, for backward searches. A shortest path always climbs and then descends
+ * the hierarchy, so both searches only ever look upwards and settle very few cities.
+ *
+ * Each shortcut records the city it bypasses, so a path can be unpacked into real roads.
+ */
+public final class ContractionHierarchy {
+
+    private static final int NO_MIDDLE = -1;
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final int[] ranks;
+    // Upward edges from each city to more important cities
+    private final int[] upFirst;
+    private final int[] upTargets;
+    private final int[] upWeights;
+    private final int[] upMiddles;
+    // Edges into each city from more important cities, for the backward search
+    private final int[] downFirst;
+    private final int[] downSources;
+    private final int[] downWeights;
+    private final int[] downMiddles;
+    private final Stats stats;
+
+    private ContractionHierarchy(int[] ranks, EdgeLists up, EdgeLists down, Stats stats) {
+        this.ranks = ranks;
+        this.upFirst = up.first;
+        this.upTargets = up.others;
+        this.upWeights = up.weights;
+        this.upMiddles = up.middles;
+        this.downFirst = down.first;
+        this.downSources = down.others;
+        this.downWeights = down.weights;
+        this.downMiddles = down.middles;
+        this.stats = stats;
+    }
+
+    /**
+     * Preprocessing figures, reported after every build.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final long buildMillis;
+        private final int shortcutCount;
+        private final int edgeCount;
+        private final long memoryBytes;
+    }
+
+    public static ContractionHierarchy build(RoadGraph graph) {
+        long start = System.nanoTime();
+        int cityCount = graph.cityCount();
+        DynamicGraph dynamic = DynamicGraph.of(graph);
+        WitnessSearch witness = new WitnessSearch(dynamic, cityCount);
+
+        int[] ranks = new int[cityCount];
+        int[] contractedNeighbors = new int[cityCount];
+        EdgeLists.Builder up = new EdgeLists.Builder(cityCount);
+        EdgeLists.Builder down = new EdgeLists.Builder(cityCount);
+
+        IndexedMinHeap queue = new IndexedMinHeap(cityCount);
+        for (int city = 0; city < cityCount; city++) {
+            queue.insertOrDecrease(city, priority(dynamic, witness, city, 0));
+        }
+
+        int shortcuts = 0;
+        int rank = 0;
+        while (!queue.isEmpty()) {
+            int city = queue.poll();
+
+            // Lazy update: priorities go stale as neighbours are contracted, recheck before committing
+            int current = priority(dynamic, witness, city, contractedNeighbors[city]);
+            if (!queue.isEmpty() && current > queue.peekKey()) {
+                queue.insertOrDecrease(city, current);
+                continue;
+            }
+
+            shortcuts += contract(dynamic, witness, city, false);
+            ranks[city] = rank++;
+
+            // Every remaining edge of the city leads to a more important city
+            for (int i = 0; i < dynamic.out[city].size; i++) {
+                up.add(city, dynamic.out[city].others[i], dynamic.out[city].weights[i], dynamic.out[city].middles[i]);
+            }
+            for (int i = 0; i < dynamic.in[city].size; i++) {
+                down.add(city, dynamic.in[city].others[i], dynamic.in[city].weights[i], dynamic.in[city].middles[i]);
+            }
+            for (int i = 0; i < dynamic.out[city].size; i++) {
+                contractedNeighbors[dynamic.out[city].others[i]]++;
+            }
+            for (int i = 0; i < dynamic.in[city].size; i++) {
+                contractedNeighbors[dynamic.in[city].others[i]]++;
+            }
+            dynamic.remove(city);
+        }
+
+        EdgeLists upLists = up.build();
+        EdgeLists downLists = down.build();
+        long memory = 4L * (ranks.length + upLists.size() + downLists.size());
+        Stats stats = new Stats((System.nanoTime() - start) / 1_000_000, shortcuts,
+                upLists.others.length + downLists.others.length, memory);
+        return new ContractionHierarchy(ranks, upLists, downLists, stats);
+    }
+
+    /**
+     * Edge difference plus the number of contracted neighbours, which spreads contraction evenly.
+     */
+    private static int priority(DynamicGraph dynamic, WitnessSearch witness, int city, int contractedNeighbors) {
+        int shortcuts = contract(dynamic, witness, city, true);
+        return shortcuts - dynamic.in[city].size - dynamic.out[city].size + contractedNeighbors;
+    }
+
+    /**
+     * Adds the shortcuts needed to remove a city, or only counts them when simulating.
+     */
+    private static int contract(DynamicGraph dynamic, WitnessSearch witness, int city, boolean simulate) {
+        EdgeList in = dynamic.in[city];
+        EdgeList out = dynamic.out[city];
+        int shortcuts = 0;
+
+        int maxOut = 0;
+        for (int j = 0; j < out.size; j++) {
+            maxOut = Math.max(maxOut, out.weights[j]);
+        }
+
+        for (int i = 0; i < in.size; i++) {
+            int from = in.others[i];
+            int inWeight = in.weights[i];
+            witness.run(from, city, inWeight + maxOut);
+
+            for (int j = 0; j < out.size; j++) {
+                int to = out.others[j];
+                if (to == from) {
+                    continue;
+                }
+                int viaCity = inWeight + out.weights[j];
+                if (witness.distance(to) > viaCity) {
+                    shortcuts++;
+                    if (!simulate) {
+                        dynamic.addOrImprove(from, to, viaCity, city);
+                    }
+                }
+            }
+        }
+        return shortcuts;
+    }
+
+    public Stats stats() {
+        return stats;
+    }
+
+    public int rank(int city) {
+        return ranks[city];
+    }
+
+    /**
+     * Finds the fastest path with an upward search from the source and an upward search over
+     * reversed edges from the target, then unpacks the shortcuts on it into real roads.
+     *
+     * @return the path, or null if the target cannot be reached
+     */
+    public RoutePath findPath(RoadGraph graph, int source, int target) {
+        try (SearchWorkspaces.Lease lease = SearchWorkspaces.acquire()) {
+            return search(lease.forward(graph), lease.backward(graph), source, target);
+        }
+    }
+
+    private RoutePath search(SearchWorkspace forward, SearchWorkspace backward, int source, int target) {
+        IndexedMinHeap forwardHeap = forward.heap();
+        IndexedMinHeap backwardHeap = backward.heap();
+
+        forward.start(source);
+        backward.start(target);
+        int best = source == target ? 0 : SearchWorkspace.UNREACHED;
+        int meeting = source == target ? source : -1;
+
+        while (!forwardHeap.isEmpty() || !backwardHeap.isEmpty()) {
+            // A side is done once its closest city is already as far as the best path
+            if (!forwardHeap.isEmpty() && forwardHeap.peekKey() >= best) {
+                forwardHeap.clear();
+            }
+            if (!backwardHeap.isEmpty() && backwardHeap.peekKey() >= best) {
+                backwardHeap.clear();
+            }
+
+            boolean forwardTurn;
+            if (forwardHeap.isEmpty()) {
+                if (backwardHeap.isEmpty()) {
+                    break;
+                }
+                forwardTurn = false;
+            } else {
+                forwardTurn = backwardHeap.isEmpty() || forwardHeap.peekKey() <= backwardHeap.peekKey();
+            }
+
+            SearchWorkspace self = forwardTurn ? forward : backward;
+            SearchWorkspace other = forwardTurn ? backward : forward;
+            int[] first = forwardTurn ? upFirst : downFirst;
+            int[] neighbors = forwardTurn ? upTargets : downSources;
+            int[] weights = forwardTurn ? upWeights : downWeights;
+
+            int city = self.heap().poll();
+            int distance = self.distance(city);
+            for (int edge = first[city]; edge < first[city + 1]; edge++) {
+                int neighbor = neighbors[edge];
+                int newDistance = distance + weights[edge];
+                if (newDistance < self.distance(neighbor)) {
+                    self.update(neighbor, newDistance, city, edge);
+                    self.heap().insertOrDecrease(neighbor, newDistance);
+                }
+                int otherDistance = other.distance(neighbor);
+                if (otherDistance != SearchWorkspace.UNREACHED && self.distance(neighbor) + otherDistance < best) {
+                    best = self.distance(neighbor) + otherDistance;
+                    meeting = neighbor;
+                }
+            }
+        }
+
+        if (best == SearchWorkspace.UNREACHED) {
+            return null;
+        }
+        return unpackPath(forward, backward, source, meeting, target, best);
+    }
+
+    private RoutePath unpackPath(SearchWorkspace forward, SearchWorkspace backward,
+                                 int source, int meeting, int target, int totalTravelTime) {
+        long start = System.nanoTime();
+        PathBuilder path = new PathBuilder(source);
+
+        // Forward hierarchy edges, collected from the meeting city back to the source
+        int forwardHops = 0;
+        for (int city = meeting; city != source; city = forward.parent(city)) {
+            forwardHops++;
+        }
+        int[] forwardEdges = new int[forwardHops];
+        int city = meeting;
+        for (int i = forwardHops - 1; i >= 0; i--) {
+            forwardEdges[i] = forward.parentEdge(city);
+            city = forward.parent(city);
+        }
+        int from = source;
+        for (int edge : forwardEdges) {
+            unpack(from, upTargets[edge], upWeights[edge], upMiddles[edge], path);
+            from = upTargets[edge];
+        }
+
+        // Backward parents already point from the meeting city towards the target
+        for (city = meeting; city != target; city = backward.parent(city)) {
+            int edge = backward.parentEdge(city);
+            unpack(city, backward.parent(city), downWeights[edge], downMiddles[edge], path);
+        }
+
+        RoutePath result = path.build(totalTravelTime);
+        forward.recordReconstruction(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Appends the real roads of a hierarchy edge. A shortcut around city m is the edge into m
+     * from its more important tail, found in m's downward list, followed by the edge out of m,
+     * found in m's upward list.
+     */
+    private void unpack(int from, int to, int weight, int middle, PathBuilder path) {
+        if (middle == NO_MIDDLE) {
+            path.add(to, weight);
+            return;
+        }
+        int in = findEdge(downFirst, downSources, middle, from);
+        unpack(from, middle, downWeights[in], downMiddles[in], path);
+        int out = findEdge(upFirst, upTargets, middle, to);
+        unpack(middle, to, upWeights[out], upMiddles[out], path);
+    }
+
+    private static int findEdge(int[] first, int[] others, int city, int other) {
+        for (int edge = first[city]; edge < first[city + 1]; edge++) {
+            if (others[edge] == other) {
+                return edge;
+            }
+        }
+        throw new IllegalStateException("Missing hierarchy edge between " + city + " and " + other);
+    }
+
+    /**
+     * Growing list of cities and road travel times along an unpacked path.
+     */
+    private static final class PathBuilder {
+        private int[] cities = new int[16];
+        private int[] travelTimes = new int[16];
+        private int hops;
+
+        PathBuilder(int source) {
+            cities[0] = source;
+        }
+
+        void add(int city, int travelTime) {
+            if (hops + 1 == cities.length) {
+                cities = Arrays.copyOf(cities, cities.length * 2);
+                travelTimes = Arrays.copyOf(travelTimes, travelTimes.length * 2);
+            }
+            travelTimes[hops] = travelTime;
+            cities[++hops] = city;
+        }
+
+        RoutePath build(int totalTravelTime) {
+            return new RoutePath(Arrays.copyOf(cities, hops + 1), Arrays.copyOf(travelTimes, hops), totalTravelTime);
+        }
+    }
+
+    /**
+     * Mutable adjacency used while contracting. Removed cities disappear from their neighbours' lists.
+     */
+    private static final class DynamicGraph {
+        final EdgeList[] out;
+        final EdgeList[] in;
+
+        private DynamicGraph(int cityCount) {
+            out = new EdgeList[cityCount];
+            in = new EdgeList[cityCount];
+            for (int city = 0; city < cityCount; city++) {
+                out[city] = new EdgeList();
+                in[city] = new EdgeList();
+            }
+        }
+
+        static DynamicGraph of(RoadGraph graph) {
+            DynamicGraph dynamic = new DynamicGraph(graph.cityCount());
+            for (int city = 0; city < graph.cityCount(); city++) {
+                for (int slot = 0; slot < graph.outDegree(city); slot++) {
+                    dynamic.addOrImprove(city, graph.outTarget(city, slot), graph.outWeight(city, slot), NO_MIDDLE);
+                }
+            }
+            return dynamic;
+        }
+
+        void addOrImprove(int from, int to, int weight, int middle) {
+            out[from].addOrImprove(to, weight, middle);
+            in[to].addOrImprove(from, weight, middle);
+        }
+
+        void remove(int city) {
+            for (int i = 0; i < out[city].size; i++) {
+                in[out[city].others[i]].remove(city);
+            }
+            for (int i = 0; i < in[city].size; i++) {
+                out[in[city].others[i]].remove(city);
+            }
+        }
+    }
+
+    private static final class EdgeList {
+        int[] others = new int[4];
+        int[] weights = new int[4];
+        int[] middles = new int[4];
+        int size;
+
+        void addOrImprove(int other, int weight, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (others[i] == other) {
+                    if (weight < weights[i]) {
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (size == others.length) {
+                others = Arrays.copyOf(others, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                middles = Arrays.copyOf(middles, size * 2);
+            }
+            others[size] = other;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+        }
+
+        void remove(int other) {
+            for (int i = 0; i < size; i++) {
+                if (others[i] == other) {
+                    size--;
+                    others[i] = others[size];
+                    weights[i] = weights[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Dijkstra from one neighbour of the city being contracted, avoiding that city and bounded
+     * by distance and settled count. A missed witness only costs an unnecessary shortcut.
+     */
+    private static final class WitnessSearch {
+        private final DynamicGraph dynamic;
+        private final SearchWorkspace workspace = new SearchWorkspace();
+        private final int cityCount;
+
+        WitnessSearch(DynamicGraph dynamic, int cityCount) {
+            this.dynamic = dynamic;
+            this.cityCount = cityCount;
+        }
+
+        void run(int source, int avoid, int maxDistance) {
+            workspace.reset(cityCount);
+            IndexedMinHeap heap = workspace.heap();
+            workspace.start(source);
+
+            int settled = 0;
+            while (!heap.isEmpty() && settled++ < WITNESS_SETTLE_LIMIT) {
+                int city = heap.poll();
+                int distance = workspace.distance(city);
+                if (distance > maxDistance) {
+                    break;
+                }
+                EdgeList edges = dynamic.out[city];
+                for (int i = 0; i < edges.size; i++) {
+                    int neighbor = edges.others[i];
+                    if (neighbor == avoid) {
+                        continue;
+                    }
+                    int newDistance = distance + edges.weights[i];
+                    if (newDistance < workspace.distance(neighbor)) {
+                        workspace.update(neighbor, newDistance, city, i);
+                        heap.insertOrDecrease(neighbor, newDistance);
+                    }
+                }
+            }
+        }
+
+        int distance(int city) {
+            return workspace.distance(city);
+        }
+    }
+
+    /**
+     * Hierarchy edges grouped by city in compressed sparse row form.
+     */
+    private static final class EdgeLists {
+        final int[] first;
+        final int[] others;
+        final int[] weights;
+        final int[] middles;
+
+        EdgeLists(int[] first, int[] others, int[] weights, int[] middles) {
+            this.first = first;
+            this.others = others;
+            this.weights = weights;
+            this.middles = middles;
+        }
+
+        long size() {
+            return (long) first.length + others.length + weights.length + middles.length;
+        }
+
+        static final class Builder {
+            private final EdgeList[] lists;
+
+            Builder(int cityCount) {
+                lists = new EdgeList[cityCount];
+            }
+
+            void add(int city, int other, int weight, int middle) {
+                if (lists[city] == null) {
+                    lists[city] = new EdgeList();
+                }
+                lists[city].addOrImprove(other, weight, middle);
+            }
+
+            EdgeLists build() {
+                int[] first = new int[lists.length + 1];
+                for (int city = 0; city < lists.length; city++) {
+                    first[city + 1] = first[city] + (lists[city] == null ? 0 : lists[city].size);
+                }
+                int total = first[lists.length];
+                int[] others = new int[total];
+                int[] weights = new int[total];
+                int[] middles = new int[total];
+                for (int city = 0; city < lists.length; city++) {
+                    EdgeList list = lists[city];
+                    if (list != null) {
+                        System.arraycopy(list.others, 0, others, first[city], list.size);
+                        System.arraycopy(list.weights, 0, weights, first[city], list.size);
+                        System.arraycopy(list.middles, 0, middles, first[city], list.size);
+                    }
+                }
+                return new EdgeLists(first, others, weights, middles);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphUpdatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Bidirectional upward search over a contraction hierarchy.
+ *
+ * The hierarchy is rebuilt in the background for each graph version. Shortcut weights are
+ * only correct for the version they were built from, so after any change queries fall back
+ * to bidirectional Dijkstra until the new hierarchy is ready.
+ */
+@Component
+@Slf4j
+public class ContractionHierarchyEngine implements RouteEngine {
+
+    public static final String NAME = "ch";
+
+    private final VersionedIndex<ContractionHierarchy> hierarchy;
+    private final RouteEngine fallback;
+
+    @Autowired
+    public ContractionHierarchyEngine(BidirectionalDijkstraEngine fallback) {
+        this(fallback, VersionedIndex.backgroundExecutor("ch-index"));
+    }
+
+    ContractionHierarchyEngine(RouteEngine fallback, Executor executor) {
+        this.fallback = fallback;
+        this.hierarchy = new VersionedIndex<>("contraction hierarchy",
+                graph -> {
+                    ContractionHierarchy index = ContractionHierarchy.build(graph);
+                    ContractionHierarchy.Stats stats = index.stats();
+                    log.info("Contraction hierarchy: {} cities, {} roads, {} shortcuts, {} hierarchy edges, "
+                                    + "preprocessed in {} ms, {} KB",
+                            graph.cityCount(), graph.roadCount(), stats.getShortcutCount(), stats.getEdgeCount(),
+                            stats.getBuildMillis(), stats.getMemoryBytes() / 1024);
+                    return index;
+                },
+                executor);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public RoutePath findPath(RoadGraph graph, int source, int target) {
+        return resolve(graph).findPath(graph, source, target);
+    }
+
+    @Override
+    public RouteEngine resolve(RoadGraph graph) {
+        ContractionHierarchy index = hierarchy.get(graph);
+        if (index == null) {
+            return fallback.resolve(graph);
+        }
+        return new HierarchySearch(index);
+    }
+
+    /**
+     * Returns the preprocessing figures of the hierarchy for this snapshot, or null if it is not built yet.
+     */
+    public ContractionHierarchy.Stats stats(RoadGraph graph) {
+        ContractionHierarchy index = hierarchy.get(graph);
+        return index == null ? null : index.stats();
+    }
+
+    @EventListener
+    public void onRoadGraphUpdated(RoadGraphUpdatedEvent event) {
+        hierarchy.onGraphUpdated(event, false);
+    }
+
+    /**
+     * Upward search over the hierarchy that was valid when the engine was resolved.
+     */
+    private record HierarchySearch(ContractionHierarchy index) implements RouteEngine {
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public RoutePath findPath(RoadGraph graph, int source, int target) {
+            return index.findPath(graph, source, target);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphUpdatedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shortest path trees of the hub depots named in {@code routing.depot-trees.hubs}, so routes
+ * and travel times from a hub are read from its tree instead of searched.
+ *
+ * Unlike the other indexes the trees are built eagerly: every new graph version starts a
+ * background rebuild of all trees in parallel. Trees are only correct for the version they
+ * were built from, so until the rebuild finishes queries from hubs search as usual.
+ * The memory of the newest trees is published as the {@code route.depot.trees.memory} gauge.
+ */
+@Component
+@Slf4j
+public class DepotTreeLookup {
+
+    private final List<String> hubNames;
+    private final VersionedIndex<DepotTrees> trees;
+    private final AtomicLong memoryBytes = new AtomicLong();
+
+    @Autowired
+    public DepotTreeLookup(RoutingProperties routingProperties, SearchPool searchPool, MeterRegistry registry) {
+        this(routingProperties, searchPool, registry, VersionedIndex.backgroundExecutor("depot-tree-index"));
+    }
+
+    DepotTreeLookup(RoutingProperties routingProperties, SearchPool searchPool, MeterRegistry registry,
+                    Executor executor) {
+        this.hubNames = routingProperties.getDepotTrees().getHubs().stream()
+                .map(name -> name.trim().toUpperCase())
+                .toList();
+        this.trees = new VersionedIndex<>("depot shortest path trees",
+                graph -> {
+                    DepotTrees index = DepotTrees.build(graph, resolveHubs(graph), searchPool);
+                    memoryBytes.set(index.memoryBytes());
+                    log.info("Depot trees: {} hubs over {} cities, {} KB",
+                            index.hubCount(), graph.cityCount(), index.memoryBytes() / 1024);
+                    return index;
+                },
+                executor);
+        Gauge.builder("route.depot.trees.memory", memoryBytes, AtomicLong::get)
+                .description("Heap bytes of the newest hub depot shortest path trees")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private int[] resolveHubs(RoadGraph graph) {
+        return hubNames.stream()
+                .mapToInt(name -> {
+                    int city = graph.cityId(name);
+                    if (city < 0) {
+                        log.warn("Hub depot {} is not a city of road graph version {}", name, graph.version());
+                    }
+                    return city;
+                })
+                .filter(city -> city >= 0)
+                .toArray();
+    }
+
+    /**
+     * Returns the tree of the given origin for this snapshot, or null if the origin is not a
+     * hub or the trees of this snapshot are not built yet.
+     */
+    public ShortestPathTree tree(RoadGraph graph, int origin) {
+        if (hubNames.isEmpty()) {
+            return null;
+        }
+        DepotTrees index = trees.get(graph);
+        return index == null ? null : index.tree(origin);
+    }
+
+    /**
+     * Returns all trees of this snapshot, for memory reporting, or null if they are not built yet.
+     */
+    public DepotTrees trees(RoadGraph graph) {
+        return hubNames.isEmpty() ? null : trees.get(graph);
+    }
+
+    @EventListener
+    public void onRoadGraphUpdated(RoadGraphUpdatedEvent event) {
+        // Asking for the new version starts its build right away
+        trees(event.getCurrent());
+    }
+}
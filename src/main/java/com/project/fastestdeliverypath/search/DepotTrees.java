@@ -0,0 +1,52 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shortest path trees of the hub depots for one graph version.
+ * Trees are built in parallel, one search per hub, and looked up by origin city.
+ */
+public final class DepotTrees {
+
+    // Sorted hub city ids and their trees in the same order
+    private final int[] hubs;
+    private final ShortestPathTree[] trees;
+
+    private DepotTrees(int[] hubs, ShortestPathTree[] trees) {
+        this.hubs = hubs;
+        this.trees = trees;
+    }
+
+    /**
+     * Builds a tree for every given hub on the search pool, waiting for capacity if requests keep it busy.
+     */
+    public static DepotTrees build(RoadGraph graph, int[] hubCities, SearchPool searchPool) {
+        int[] hubs = Arrays.stream(hubCities).sorted().distinct().toArray();
+        List<ShortestPathTree> trees = searchPool.mapInBackground(Arrays.stream(hubs).boxed().toList(),
+                hub -> ShortestPathTree.build(graph, hub));
+        return new DepotTrees(hubs, trees.toArray(new ShortestPathTree[0]));
+    }
+
+    /**
+     * Returns the tree of the given origin, or null if it is not a hub.
+     */
+    public ShortestPathTree tree(int origin) {
+        int index = Arrays.binarySearch(hubs, origin);
+        return index < 0 ? null : trees[index];
+    }
+
+    public int hubCount() {
+        return hubs.length;
+    }
+
+    public long memoryBytes() {
+        long bytes = 16 + 4L * hubs.length + 16 + 8L * trees.length;
+        for (ShortestPathTree tree : trees) {
+            bytes += tree.memoryBytes();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import org.springframework.stereotype.Component;
+
+/**
+ * Unidirectional Dijkstra from the source, stopping once the target is settled.
+ */
+@Component
+public class DijkstraEngine implements RouteEngine {
+
+    public static final String NAME = "dijkstra";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public RoutePath findPath(RoadGraph graph, int source, int target) {
+        return DijkstraSearch.shortestPath(graph, source, target);
+    }
+}
@@ -0,0 +1,318 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static com.project.fastestdeliverypath.search.SearchWorkspace.UNREACHED;
+
+/**
+ * Point-to-point Dijkstra over the int-indexed road graph.
+ * Distances and parents live in primitive arrays and the frontier is an indexed heap
+ * with decrease-key, so relaxing an edge neither boxes nor allocates.
+ */
+public final class DijkstraSearch {
+
+    private DijkstraSearch() {
+    }
+
+    /**
+     * Finds the fastest path from source to target, using a pooled workspace.
+     *
+     * @return the path, or null if the target cannot be reached
+     */
+    public static RoutePath shortestPath(RoadGraph graph, int source, int target) {
+        try (SearchWorkspaces.Lease lease = SearchWorkspaces.acquire()) {
+            return shortestPath(graph, lease.forward(graph), source, target);
+        }
+    }
+
+    /**
+     * Finds the fastest path from source to target.
+     *
+     * @param workspace a workspace freshly reset for this graph
+     * @return the path, or null if the target cannot be reached
+     */
+    public static RoutePath shortestPath(RoadGraph graph, SearchWorkspace workspace, int source, int target) {
+        IndexedMinHeap heap = workspace.heap();
+        workspace.start(source);
+
+        while (!heap.isEmpty()) {
+            int city = heap.poll();
+            if (city == target) {
+                break;
+            }
+
+            int distance = workspace.distance(city);
+            int degree = graph.outDegree(city);
+            for (int slot = 0; slot < degree; slot++) {
+                int neighbor = graph.outTarget(city, slot);
+                int newDistance = distance + graph.outWeight(city, slot);
+                if (newDistance < workspace.distance(neighbor)) {
+                    workspace.update(neighbor, newDistance, city, slot);
+                    heap.insertOrDecrease(neighbor, newDistance);
+                }
+            }
+        }
+
+        if (workspace.distance(target) == UNREACHED) {
+            return null;
+        }
+        return buildPath(graph, workspace, source, target);
+    }
+
+    /**
+     * Finds the fastest paths from one source to several targets with a single search,
+     * which stops as soon as every target is settled.
+     *
+     * @return paths aligned with the targets, null where a target cannot be reached
+     */
+    public static RoutePath[] shortestPaths(RoadGraph graph, int source, int[] targets) {
+        try (SearchWorkspaces.Lease lease = SearchWorkspaces.acquire()) {
+            SearchWorkspace workspace = settleTargets(graph, lease.forward(graph), source, targets);
+            RoutePath[] paths = new RoutePath[targets.length];
+            for (int i = 0; i < targets.length; i++) {
+                if (workspace.distance(targets[i]) != UNREACHED) {
+                    paths[i] = buildPath(graph, workspace, source, targets[i]);
+                }
+            }
+            return paths;
+        }
+    }
+
+    /**
+     * Finds the travel times from one source to several targets with a single search.
+     *
+     * @return travel times aligned with the targets, {@link SearchWorkspace#UNREACHED} where a
+     * target cannot be reached
+     */
+    public static int[] travelTimes(RoadGraph graph, int source, int[] targets) {
+        try (SearchWorkspaces.Lease lease = SearchWorkspaces.acquire()) {
+            SearchWorkspace workspace = settleTargets(graph, lease.forward(graph), source, targets);
+            int[] travelTimes = new int[targets.length];
+            for (int i = 0; i < targets.length; i++) {
+                travelTimes[i] = workspace.distance(targets[i]);
+            }
+            return travelTimes;
+        }
+    }
+
+    private static SearchWorkspace settleTargets(RoadGraph graph, SearchWorkspace workspace, int source, int[] targets) {
+        IndexedMinHeap heap = workspace.heap();
+        BitSet pending = new BitSet(graph.cityCount());
+        for (int target : targets) {
+            pending.set(target);
+        }
+        int remaining = pending.cardinality();
+        workspace.start(source);
+
+        while (!heap.isEmpty() && remaining > 0) {
+            int city = heap.poll();
+            if (pending.get(city)) {
+                pending.clear(city);
+                remaining--;
+            }
+
+            int distance = workspace.distance(city);
+            int degree = graph.outDegree(city);
+            for (int slot = 0; slot < degree; slot++) {
+                int neighbor = graph.outTarget(city, slot);
+                int newDistance = distance + graph.outWeight(city, slot);
+                if (newDistance < workspace.distance(neighbor)) {
+                    workspace.update(neighbor, newDistance, city, slot);
+                    heap.insertOrDecrease(neighbor, newDistance);
+                }
+            }
+        }
+        return workspace;
+    }
+
+    /**
+     * Finds the sources closest to one target with a single search backward from the target,
+     * which stops as soon as {@code limit} sources are settled. This replaces one forward search
+     * per source.
+     *
+     * @return paths from the nearest sources to the target, by ascending travel time; sources
+     * that cannot reach the target are left out
+     */
+    public static RoutePath[] nearestSources(RoadGraph graph, int target, int[] sources, int limit) {
+        try (SearchWorkspaces.Lease lease = SearchWorkspaces.acquire()) {
+            return nearestSources(graph, lease.forward(graph), target, sources, limit);
+        }
+    }
+
+    private static RoutePath[] nearestSources(RoadGraph graph, SearchWorkspace workspace,
+                                              int target, int[] sources, int limit) {
+        IndexedMinHeap heap = workspace.heap();
+        BitSet pending = new BitSet(graph.cityCount());
+        for (int source : sources) {
+            pending.set(source);
+        }
+        int[] nearest = new int[Math.min(limit, pending.cardinality())];
+        int found = 0;
+        workspace.start(target);
+
+        while (!heap.isEmpty() && found < nearest.length) {
+            int city = heap.poll();
+            if (pending.get(city)) {
+                nearest[found++] = city;
+            }
+
+            int distance = workspace.distance(city);
+            int degree = graph.inDegree(city);
+            for (int slot = 0; slot < degree; slot++) {
+                int neighbor = graph.inSource(city, slot);
+                int newDistance = distance + graph.inWeight(city, slot);
+                if (newDistance < workspace.distance(neighbor)) {
+                    workspace.update(neighbor, newDistance, city, slot);
+                    heap.insertOrDecrease(neighbor, newDistance);
+                }
+            }
+        }
+
+        RoutePath[] paths = new RoutePath[found];
+        for (int i = 0; i < found; i++) {
+            paths[i] = buildBackwardPath(graph, workspace, nearest[i], target);
+        }
+        return paths;
+    }
+
+    /**
+     * Finds every city within a travel time budget of the origin. Roads that would exceed the
+     * budget are never queued, so the search only touches the reachable region and its border
+     * roads, however large the graph is. Cities come out in settle order, which is ascending
+     * travel time, so any smaller budget is a prefix of the result.
+     */
+    public static ReachableCities reachableWithin(RoadGraph graph, int origin, int maxTravelTime) {
+        try (SearchWorkspaces.Lease lease = SearchWorkspaces.acquire()) {
+            return reachableWithin(graph, lease.forward(graph), origin, maxTravelTime);
+        }
+    }
+
+    private static ReachableCities reachableWithin(RoadGraph graph, SearchWorkspace workspace,
+                                                   int origin, int maxTravelTime) {
+        IndexedMinHeap heap = workspace.heap();
+        workspace.start(origin);
+        int[] cities = new int[16];
+        int[] travelTimes = new int[16];
+        int count = 0;
+
+        while (!heap.isEmpty()) {
+            int city = heap.poll();
+            int distance = workspace.distance(city);
+            if (city != origin) {
+                if (count == cities.length) {
+                    cities = Arrays.copyOf(cities, count * 2);
+                    travelTimes = Arrays.copyOf(travelTimes, count * 2);
+                }
+                cities[count] = city;
+                travelTimes[count] = distance;
+                count++;
+            }
+
+            int degree = graph.outDegree(city);
+            for (int slot = 0; slot < degree; slot++) {
+                int neighbor = graph.outTarget(city, slot);
+                int newDistance = distance + graph.outWeight(city, slot);
+                if (newDistance <= maxTravelTime && newDistance < workspace.distance(neighbor)) {
+                    workspace.update(neighbor, newDistance, city, slot);
+                    heap.insertOrDecrease(neighbor, newDistance);
+                }
+            }
+        }
+        return new ReachableCities(Arrays.copyOf(cities, count), Arrays.copyOf(travelTimes, count));
+    }
+
+    /**
+     * Runs a full search from one city and returns the travel time to every city,
+     * or {@link SearchWorkspace#UNREACHED} for cities that cannot be reached.
+     *
+     * @param backward search over incoming roads, giving travel times from every city to the origin
+     */
+    public static int[] allDistances(RoadGraph graph, int origin, boolean backward) {
+        try (SearchWorkspaces.Lease lease = SearchWorkspaces.acquire()) {
+            SearchWorkspace workspace = settleAll(graph, lease.forward(graph), origin, backward);
+            int[] distances = new int[graph.cityCount()];
+            for (int city = 0; city < distances.length; city++) {
+                distances[city] = workspace.distance(city);
+            }
+            return distances;
+        }
+    }
+
+    /**
+     * Settles every city reachable from the origin in the given workspace.
+     */
+    static SearchWorkspace settleAll(RoadGraph graph, SearchWorkspace workspace, int origin, boolean backward) {
+        IndexedMinHeap heap = workspace.heap();
+        workspace.start(origin);
+
+        while (!heap.isEmpty()) {
+            int city = heap.poll();
+            int distance = workspace.distance(city);
+            int degree = backward ? graph.inDegree(city) : graph.outDegree(city);
+            for (int slot = 0; slot < degree; slot++) {
+                int neighbor = backward ? graph.inSource(city, slot) : graph.outTarget(city, slot);
+                int newDistance = distance + (backward ? graph.inWeight(city, slot) : graph.outWeight(city, slot));
+                if (newDistance < workspace.distance(neighbor)) {
+                    workspace.update(neighbor, newDistance, city, slot);
+                    heap.insertOrDecrease(neighbor, newDistance);
+                }
+            }
+        }
+        return workspace;
+    }
+
+    /**
+     * Walks the parent edges of a backward search from the source forward to the target.
+     * Each parent edge is a slot in the incoming row of the parent, which is the next city.
+     */
+    private static RoutePath buildBackwardPath(RoadGraph graph, SearchWorkspace workspace, int source, int target) {
+        long start = System.nanoTime();
+        int hops = 0;
+        for (int city = source; city != target; city = workspace.parent(city)) {
+            hops++;
+        }
+
+        int[] cities = new int[hops + 1];
+        int[] travelTimes = new int[hops];
+        int city = source;
+        for (int i = 0; i < hops; i++) {
+            int next = workspace.parent(city);
+            cities[i] = city;
+            travelTimes[i] = graph.inWeight(next, workspace.parentEdge(city));
+            city = next;
+        }
+        cities[hops] = target;
+
+        workspace.recordReconstruction(System.nanoTime() - start);
+        return new RoutePath(cities, travelTimes, workspace.distance(source));
+    }
+
+    /**
+     * Walks the parent edges back from the target. Each step reads the recorded road directly,
+     * so no outgoing rows have to be scanned.
+     */
+    static RoutePath buildPath(RoadGraph graph, SearchWorkspace workspace, int source, int target) {
+        long start = System.nanoTime();
+        int hops = 0;
+        for (int city = target; city != source; city = workspace.parent(city)) {
+            hops++;
+        }
+
+        int[] cities = new int[hops + 1];
+        int[] travelTimes = new int[hops];
+        int city = target;
+        for (int i = hops; i > 0; i--) {
+            int parent = workspace.parent(city);
+            cities[i] = city;
+            travelTimes[i - 1] = graph.outWeight(parent, workspace.parentEdge(city));
+            city = parent;
+        }
+        cities[0] = source;
+
+        workspace.recordReconstruction(System.nanoTime() - start);
+        return new RoutePath(cities, travelTimes, workspace.distance(target));
+    }
+}
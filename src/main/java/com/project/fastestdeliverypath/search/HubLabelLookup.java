@@ -0,0 +1,70 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphUpdatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Travel time lookups for callers that do not need the path itself.
+ *
+ * Hub labels are built in the background for each graph version once the first lookup
+ * asks for them. Label travel times are only correct for the version they were built from,
+ * so until they are ready lookups run a bidirectional Dijkstra search instead, on the route
+ * search lane like any other point-to-point search.
+ */
+@Component
+@Slf4j
+public class HubLabelLookup {
+
+    private final VersionedIndex<HubLabels> labels;
+    private final RouteEngine fallback;
+    private final SearchPool searchPool;
+
+    @Autowired
+    public HubLabelLookup(BidirectionalDijkstraEngine fallback, SearchPool searchPool) {
+        this(fallback, searchPool, VersionedIndex.backgroundExecutor("hub-label-index"));
+    }
+
+    HubLabelLookup(RouteEngine fallback, SearchPool searchPool, Executor executor) {
+        this.fallback = fallback;
+        this.searchPool = searchPool;
+        this.labels = new VersionedIndex<>("hub labels",
+                graph -> {
+                    HubLabels index = HubLabels.build(graph);
+                    log.info("Hub labels: {} cities, {} hubs per label on average, {} KB",
+                            index.cityCount(), String.format("%.1f", index.averageLabelSize()),
+                            index.memoryBytes() / 1024);
+                    return index;
+                },
+                executor);
+    }
+
+    /**
+     * Returns the travel time of the fastest path, or {@link SearchWorkspace#UNREACHED} if there is none.
+     */
+    public int travelTime(RoadGraph graph, int source, int target) {
+        HubLabels index = labels.get(graph);
+        if (index == null) {
+            RoutePath path = searchPool.route(() -> fallback.findPath(graph, source, target));
+            return path == null ? SearchWorkspace.UNREACHED : path.getTotalTravelTime();
+        }
+        return index.travelTime(source, target);
+    }
+
+    /**
+     * Returns the labels for this snapshot, for memory reporting, or null if they are not built yet.
+     */
+    public HubLabels labels(RoadGraph graph) {
+        return labels.get(graph);
+    }
+
+    @EventListener
+    public void onRoadGraphUpdated(RoadGraphUpdatedEvent event) {
+        labels.onGraphUpdated(event, false);
+    }
+}
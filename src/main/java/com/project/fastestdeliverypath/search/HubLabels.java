@@ -0,0 +1,192 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+
+import java.util.Arrays;
+
+import static com.project.fastestdeliverypath.search.SearchWorkspace.UNREACHED;
+
+/**
+ * Hub labels for travel time lookups without a graph search.
+ *
+ * Every city gets an outgoing label, the hubs it can reach with their travel times, and an
+ * incoming label, the hubs that reach it. Any two cities share a hub on a fastest path
+ * between them, so the travel time is the smallest sum over the hubs both labels contain.
+ *
+ * Labels are computed with pruned Dijkstra searches from the cities in contraction hierarchy
+ * order, most important first: a search stops at any city the labels built so far already
+ * cover, which keeps labels short. Hubs are numbered by that order, so every label is sorted
+ * and a lookup is a single merge of two short arrays.
+ */
+public final class HubLabels {
+
+    // Labels of city c are entries [first[c], first[c + 1]) of the flat arrays,
+    // stored as (hub, travel time) int pairs
+    private final int[] outFirst;
+    private final int[] outEntries;
+    private final int[] inFirst;
+    private final int[] inEntries;
+
+    private HubLabels(int[] outFirst, int[] outEntries, int[] inFirst, int[] inEntries) {
+        this.outFirst = outFirst;
+        this.outEntries = outEntries;
+        this.inFirst = inFirst;
+        this.inEntries = inEntries;
+    }
+
+    public static HubLabels build(RoadGraph graph) {
+        int cityCount = graph.cityCount();
+        int[] order = importanceOrder(graph);
+
+        // Labels under construction, as (hub, travel time) pairs in hub order
+        int[][] outLabels = new int[cityCount][];
+        int[][] inLabels = new int[cityCount][];
+        int[] outSizes = new int[cityCount];
+        int[] inSizes = new int[cityCount];
+        for (int city = 0; city < cityCount; city++) {
+            outLabels[city] = new int[4];
+            inLabels[city] = new int[4];
+        }
+
+        SearchWorkspace workspace = new SearchWorkspace();
+        for (int hub = 0; hub < cityCount; hub++) {
+            int city = order[hub];
+            // Forward search: the hub reaches these cities, so it joins their incoming labels
+            prunedSearch(graph, workspace, city, hub, false, outLabels, outSizes, inLabels, inSizes);
+            // Backward search: these cities reach the hub, so it joins their outgoing labels
+            prunedSearch(graph, workspace, city, hub, true, inLabels, inSizes, outLabels, outSizes);
+        }
+
+        int[] outFirst = new int[cityCount + 1];
+        int[] inFirst = new int[cityCount + 1];
+        return new HubLabels(outFirst, flatten(outLabels, outSizes, outFirst),
+                inFirst, flatten(inLabels, inSizes, inFirst));
+    }
+
+    /**
+     * Cities from most to least important, by contraction hierarchy rank.
+     */
+    private static int[] importanceOrder(RoadGraph graph) {
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+        int[] order = new int[graph.cityCount()];
+        for (int city = 0; city < order.length; city++) {
+            order[order.length - 1 - hierarchy.rank(city)] = city;
+        }
+        return order;
+    }
+
+    /**
+     * Runs a Dijkstra search from the hub city and adds the hub to the labels of every city
+     * it settles, skipping (and not expanding) cities whose travel time the existing labels
+     * already give.
+     *
+     * @param ownLabels   labels on the hub's side of the search
+     * @param reachedLabels labels the hub is added to
+     */
+    private static void prunedSearch(RoadGraph graph, SearchWorkspace workspace, int hubCity, int hub,
+                                     boolean backward, int[][] ownLabels, int[] ownSizes,
+                                     int[][] reachedLabels, int[] reachedSizes) {
+        workspace.reset(graph.cityCount());
+        IndexedMinHeap heap = workspace.heap();
+        workspace.start(hubCity);
+
+        while (!heap.isEmpty()) {
+            int city = heap.poll();
+            int distance = workspace.distance(city);
+            int known = merge(ownLabels[hubCity], 0, ownSizes[hubCity] * 2,
+                    reachedLabels[city], 0, reachedSizes[city] * 2);
+            if (known <= distance) {
+                continue;
+            }
+            append(reachedLabels, reachedSizes, city, hub, distance);
+
+            int degree = backward ? graph.inDegree(city) : graph.outDegree(city);
+            for (int slot = 0; slot < degree; slot++) {
+                int neighbor = backward ? graph.inSource(city, slot) : graph.outTarget(city, slot);
+                int newDistance = distance + (backward ? graph.inWeight(city, slot) : graph.outWeight(city, slot));
+                if (newDistance < workspace.distance(neighbor)) {
+                    workspace.update(neighbor, newDistance, city, slot);
+                    heap.insertOrDecrease(neighbor, newDistance);
+                }
+            }
+        }
+    }
+
+    private static void append(int[][] labels, int[] sizes, int city, int hub, int distance) {
+        int[] label = labels[city];
+        int at = sizes[city] * 2;
+        if (at == label.length) {
+            label = Arrays.copyOf(label, label.length * 2);
+            labels[city] = label;
+        }
+        label[at] = hub;
+        label[at + 1] = distance;
+        sizes[city]++;
+    }
+
+    private static int[] flatten(int[][] labels, int[] sizes, int[] first) {
+        for (int city = 0; city < labels.length; city++) {
+            first[city + 1] = first[city] + sizes[city] * 2;
+        }
+        int[] entries = new int[first[labels.length]];
+        for (int city = 0; city < labels.length; city++) {
+            System.arraycopy(labels[city], 0, entries, first[city], sizes[city] * 2);
+            // Drop the working copy as soon as it is flattened to keep peak memory down
+            labels[city] = null;
+        }
+        return entries;
+    }
+
+    /**
+     * Smallest travel time through a hub present in both labels, or UNREACHED if they share none.
+     */
+    private static int merge(int[] out, int outFrom, int outTo, int[] in, int inFrom, int inTo) {
+        int best = UNREACHED;
+        int i = outFrom;
+        int j = inFrom;
+        while (i < outTo && j < inTo) {
+            int outHub = out[i];
+            int inHub = in[j];
+            if (outHub == inHub) {
+                best = Math.min(best, out[i + 1] + in[j + 1]);
+                i += 2;
+                j += 2;
+            } else if (outHub < inHub) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the travel time of the fastest path, or {@link SearchWorkspace#UNREACHED} if there is none.
+     */
+    public int travelTime(int source, int target) {
+        return merge(outEntries, outFirst[source], outFirst[source + 1],
+                inEntries, inFirst[target], inFirst[target + 1]);
+    }
+
+    /**
+     * Number of cities the labels cover. Cities added to the graph later have no labels.
+     */
+    public int cityCount() {
+        return outFirst.length - 1;
+    }
+
+    /**
+     * Average number of hubs per label, over outgoing and incoming labels.
+     */
+    public double averageLabelSize() {
+        int cityCount = cityCount();
+        return cityCount == 0 ? 0 : (outEntries.length + inEntries.length) / 4.0 / cityCount;
+    }
+
+    /**
+     * Heap footprint of the label arrays.
+     */
+    public long memoryBytes() {
+        return 4L * (outFirst.length + outEntries.length + inFirst.length + inEntries.length);
+    }
+}
@@ -0,0 +1,150 @@
+package com.project.fastestdeliverypath.search;
+
+/**
+ * Binary min-heap over int ids in {@code [0, capacity)} with int keys.
+ * Tracks the heap position of every id, so a queued id can have its key decreased in place
+ * instead of being queued a second time.
+ */
+public final class IndexedMinHeap {
+
+    private final int[] heap;
+    // Position of each id in the heap plus one, 0 when the id is not queued
+    private final int[] positions;
+    private final int[] keys;
+    private int size;
+    // Lifetime counters, for search instrumentation
+    private long operationCount;
+    private long pollCount;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new int[capacity];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return positions.length;
+    }
+
+    public boolean contains(int id) {
+        return positions[id] != 0;
+    }
+
+    /**
+     * Queues the id with the given key, or lowers its key if it is already queued with a larger one.
+     *
+     * @return true if the heap changed
+     */
+    public boolean insertOrDecrease(int id, int key) {
+        int position = positions[id];
+        if (position == 0) {
+            heap[size] = id;
+            positions[id] = ++size;
+            keys[id] = key;
+            siftUp(size - 1);
+            operationCount++;
+            return true;
+        }
+        if (key < keys[id]) {
+            keys[id] = key;
+            siftUp(position - 1);
+            operationCount++;
+            return true;
+        }
+        return false;
+    }
+
+    public int peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Removes and returns the id with the smallest key.
+     */
+    public int poll() {
+        operationCount++;
+        pollCount++;
+        int min = heap[0];
+        positions[min] = 0;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 1;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Inserts, decreases and polls since the heap was created.
+     */
+    public long operationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Polls since the heap was created, i.e. cities settled by the searches that used it.
+     */
+    public long pollCount() {
+        return pollCount;
+    }
+
+    /**
+     * Empties the heap. Costs O(size), not O(capacity).
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = 0;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int index) {
+        int id = heap[index];
+        int key = keys[id];
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            int parent = heap[parentIndex];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[index] = parent;
+            positions[parent] = index + 1;
+            index = parentIndex;
+        }
+        heap[index] = id;
+        positions[id] = index + 1;
+    }
+
+    private void siftDown(int index) {
+        int id = heap[index];
+        int key = keys[id];
+        int half = size >>> 1;
+        while (index < half) {
+            int childIndex = 2 * index + 1;
+            int child = heap[childIndex];
+            int rightIndex = childIndex + 1;
+            if (rightIndex < size && keys[heap[rightIndex]] < keys[child]) {
+                childIndex = rightIndex;
+                child = heap[childIndex];
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            heap[index] = child;
+            positions[child] = index + 1;
+            index = childIndex;
+        }
+        heap[index] = id;
+        positions[id] = index + 1;
+    }
+}
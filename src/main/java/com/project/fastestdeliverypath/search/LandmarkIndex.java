@@ -0,0 +1,139 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+
+import java.util.Arrays;
+
+import static com.project.fastestdeliverypath.search.SearchWorkspace.UNREACHED;
+
+/**
+ * Landmark distance tables for A* with triangle-inequality lower bounds (ALT).
+ *
+ * For each landmark L the index stores the travel time from L to every city and from every
+ * city to L. For any cities v and t, {@code d(L,t) - d(L,v)} and {@code d(v,L) - d(t,L)} are
+ * lower bounds on {@code d(v,t)}, so the largest of them is an admissible and consistent
+ * A* potential that needs no coordinates.
+ */
+public final class LandmarkIndex {
+
+    private final int landmarkCount;
+    private final int[] landmarks;
+    // Interleaved per city, [city * landmarkCount + i], so one bound reads one contiguous block
+    private final int[] fromLandmark;
+    private final int[] toLandmark;
+
+    private LandmarkIndex(int[] landmarks, int[] fromLandmark, int[] toLandmark) {
+        this.landmarkCount = landmarks.length;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * Picks landmarks with the farthest-first heuristic and computes their distance tables.
+     * Each new landmark is the city farthest from all landmarks picked so far, preferring
+     * cities no landmark reaches yet, which spreads landmarks to the edges of the network.
+     */
+    public static LandmarkIndex build(RoadGraph graph, int requestedLandmarks) {
+        int cityCount = graph.cityCount();
+        int count = Math.min(requestedLandmarks, cityCount);
+        int[] landmarks = new int[count];
+        int[] fromLandmark = new int[cityCount * count];
+        int[] toLandmark = new int[cityCount * count];
+
+        // Closest distance from any chosen landmark, UNREACHED while no landmark reaches the city
+        int[] closest = new int[cityCount];
+        Arrays.fill(closest, UNREACHED);
+
+        int next = highestDegreeCity(graph);
+        for (int i = 0; i < count; i++) {
+            landmarks[i] = next;
+            int[] from = DijkstraSearch.allDistances(graph, next, false);
+            int[] to = DijkstraSearch.allDistances(graph, next, true);
+            for (int city = 0; city < cityCount; city++) {
+                fromLandmark[city * count + i] = from[city];
+                toLandmark[city * count + i] = to[city];
+                closest[city] = Math.min(closest[city], from[city]);
+            }
+
+            int farthest = -1;
+            for (int city = 0; city < cityCount; city++) {
+                if (!isLandmark(landmarks, i + 1, city) && (farthest < 0 || closest[city] > closest[farthest])) {
+                    farthest = city;
+                }
+            }
+            next = farthest;
+        }
+
+        return new LandmarkIndex(landmarks, fromLandmark, toLandmark);
+    }
+
+    private static int highestDegreeCity(RoadGraph graph) {
+        int best = 0;
+        for (int city = 1; city < graph.cityCount(); city++) {
+            if (graph.outDegree(city) + graph.inDegree(city) > graph.outDegree(best) + graph.inDegree(best)) {
+                best = city;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isLandmark(int[] landmarks, int picked, int city) {
+        for (int i = 0; i < picked; i++) {
+            if (landmarks[i] == city) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a lower bound on the travel time from a city to the target, or
+     * {@link SearchWorkspace#UNREACHED} if the tables prove the target cannot be reached from it.
+     */
+    public int lowerBound(int city, int target) {
+        int bound = 0;
+        int cityBase = city * landmarkCount;
+        int targetBase = target * landmarkCount;
+        for (int i = 0; i < landmarkCount; i++) {
+            int landmarkToCity = fromLandmark[cityBase + i];
+            int landmarkToTarget = fromLandmark[targetBase + i];
+            if (landmarkToCity != UNREACHED) {
+                if (landmarkToTarget == UNREACHED) {
+                    // L reaches the city but not the target, so the city cannot reach the target either
+                    return UNREACHED;
+                }
+                bound = Math.max(bound, landmarkToTarget - landmarkToCity);
+            }
+
+            int cityToLandmark = toLandmark[cityBase + i];
+            int targetToLandmark = toLandmark[targetBase + i];
+            if (targetToLandmark != UNREACHED) {
+                if (cityToLandmark == UNREACHED) {
+                    // The target reaches L but the city does not, so the city cannot reach the target
+                    return UNREACHED;
+                }
+                bound = Math.max(bound, cityToLandmark - targetToLandmark);
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Number of cities the tables cover. Cities added to the graph later have no bounds.
+     */
+    public int cityCount() {
+        return landmarkCount == 0 ? 0 : fromLandmark.length / landmarkCount;
+    }
+
+    public int[] landmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * Approximate heap footprint of the distance tables.
+     */
+    public long memoryBytes() {
+        return 4L * (fromLandmark.length + toLandmark.length + landmarks.length);
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.fastestdeliverypath.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Cities reached by a bounded search, in graph city ids, ordered by ascending travel time.
+ * The origin itself is not included.
+ */
+@Getter
+@AllArgsConstructor
+public class ReachableCities {
+    private final int[] cities;
+    private final int[] travelTimes;
+
+    /**
+     * Number of leading cities within the given travel time, found by binary search.
+     */
+    public int countWithin(int maxTravelTime) {
+        int low = 0;
+        int high = travelTimes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (travelTimes[middle] <= maxTravelTime) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
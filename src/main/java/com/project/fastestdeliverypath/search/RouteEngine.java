@@ -0,0 +1,31 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+
+/**
+ * A point-to-point shortest path algorithm over a road graph snapshot.
+ * Implementations are Spring beans; the one used for route queries is chosen with {@code routing.engine}.
+ */
+public interface RouteEngine {
+
+    /**
+     * Name used to select this engine in configuration.
+     */
+    String name();
+
+    /**
+     * Finds the fastest path from source to target.
+     *
+     * @return the path, or null if the target cannot be reached
+     */
+    RoutePath findPath(RoadGraph graph, int source, int target);
+
+    /**
+     * Returns the engine that searches this snapshot: this one, or the fallback an engine
+     * uses while its preprocessing for the snapshot is not ready. Searching with the returned
+     * engine gives the same path as {@link #findPath}, and its name tells which algorithm ran.
+     */
+    default RouteEngine resolve(RoadGraph graph) {
+        return this;
+    }
+}
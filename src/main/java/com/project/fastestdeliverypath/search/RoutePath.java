@@ -0,0 +1,16 @@
+package com.project.fastestdeliverypath.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A path found by a search engine, in graph city ids.
+ * {@code travelTimes[i]} is the travel time of the road from {@code cities[i]} to {@code cities[i + 1]}.
+ */
+@Getter
+@AllArgsConstructor
+public class RoutePath {
+    private final int[] cities;
+    private final int[] travelTimes;
+    private final int totalTravelTime;
+}
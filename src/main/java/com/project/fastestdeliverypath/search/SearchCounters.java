@@ -0,0 +1,34 @@
+package com.project.fastestdeliverypath.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Work done by route searches: cities settled (polled from the heap), edge relaxations that
+ * improved a tentative distance, heap inserts, decreases and polls, and time spent
+ * reconstructing paths from finished searches.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchCounters {
+
+    public static final SearchCounters NONE = new SearchCounters(0, 0, 0, 0);
+
+    private final long settledCities;
+    private final long relaxedEdges;
+    private final long heapOperations;
+    private final long reconstructionNanos;
+
+    public SearchCounters plus(SearchCounters other) {
+        return new SearchCounters(settledCities + other.settledCities, relaxedEdges + other.relaxedEdges,
+                heapOperations + other.heapOperations, reconstructionNanos + other.reconstructionNanos);
+    }
+
+    /**
+     * Work done since the earlier counters of the same thread or workspace were taken.
+     */
+    public SearchCounters since(SearchCounters earlier) {
+        return new SearchCounters(settledCities - earlier.settledCities, relaxedEdges - earlier.relaxedEdges,
+                heapOperations - earlier.heapOperations, reconstructionNanos - earlier.reconstructionNanos);
+    }
+}
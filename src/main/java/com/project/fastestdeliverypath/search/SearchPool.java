@@ -0,0 +1,327 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.exception.SearchCapacityExceededException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Fork-join pool for CPU-bound searches that fan out over many sources, such as batch
+ * routes and travel time matrices. Searches only read the shared graph snapshot and check
+ * out pooled workspaces, so tasks need no coordination.
+ *
+ * Single route searches have a lane of their own, used when request threads are virtual:
+ * a fixed set of platform threads with a bounded queue, so any number of requests can wait
+ * on I/O while at most one search per thread burns CPU, and excess load is rejected instead
+ * of queued without limit. Without offloading, route searches run on the request thread.
+ * When both lanes exist they split the search threads between them, so together they never
+ * run more searches than there are threads.
+ *
+ * Fan-out work is admitted the same way: every request reserves a window of slots out of a
+ * fixed number before its first task is queued, and is rejected when none are left, so a
+ * burst of batch or matrix requests cannot queue unbounded work ahead of cheap searches.
+ * Background index builds wait for slots instead.
+ */
+@Component
+@Slf4j
+public class SearchPool {
+
+    private final int threads;
+    private final ForkJoinPool pool;
+    // Tasks of the fork-join pool that may be queued or running at once
+    private final Semaphore fanOutSlots;
+    private final int fanOutCapacity;
+    // Null when route searches run on the request thread
+    private final ThreadPoolExecutor routeLane;
+
+    public SearchPool(RoutingProperties routingProperties) {
+        this.threads = routingProperties.getSearchThreads() > 0
+                ? routingProperties.getSearchThreads()
+                : Runtime.getRuntime().availableProcessors();
+        RoutingProperties.Execution execution = routingProperties.getExecution();
+        int routeThreads = 0;
+        if (execution.isOffloadSearches()) {
+            routeThreads = execution.getRouteThreads() > 0
+                    ? Math.min(execution.getRouteThreads(), threads)
+                    : Math.max(1, threads / 2);
+        }
+        int fanOutThreads = Math.max(1, threads - routeThreads);
+
+        this.pool = new ForkJoinPool(fanOutThreads);
+        this.fanOutCapacity = Math.max(1, execution.getFanOutQueueCapacity());
+        this.fanOutSlots = new Semaphore(fanOutCapacity);
+        log.info("Search pool started with {} threads and {} fan-out slots", fanOutThreads, fanOutCapacity);
+
+        if (routeThreads > 0) {
+            this.routeLane = new ThreadPoolExecutor(routeThreads, routeThreads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(execution.getSearchQueueCapacity()),
+                    Thread.ofPlatform().name("route-search-", 0).daemon().factory(),
+                    new ThreadPoolExecutor.AbortPolicy());
+            this.routeLane.prestartAllCoreThreads();
+            log.info("Route searches offloaded to {} threads with a queue of {}",
+                    routeThreads, execution.getSearchQueueCapacity());
+        } else {
+            this.routeLane = null;
+        }
+    }
+
+    /**
+     * Sizes the process-wide workspace pool for the searches of this pool. Left to the
+     * container, so pools created by hand in tests and benchmarks do not resize it.
+     */
+    @PostConstruct
+    public void retainWorkspaces() {
+        // Enough idle workspaces for this pool plus as many route searches running at once
+        SearchWorkspaces.retain(2 * threads);
+    }
+
+    /**
+     * Runs one route search on the route lane and waits for it, or runs it on the calling
+     * thread if searches are not offloaded. Per-thread search state, such as workspace
+     * counters, must be read inside the task.
+     *
+     * @throws SearchCapacityExceededException if all search threads are busy and the queue is full
+     */
+    public <R> R route(Supplier<R> search) {
+        if (routeLane == null) {
+            return search.get();
+        }
+        Future<R> future;
+        try {
+            future = routeLane.submit(search::get);
+        } catch (RejectedExecutionException ex) {
+            throw new SearchCapacityExceededException(
+                    "Route search capacity exceeded, " + routeLane.getQueue().size() + " searches are waiting");
+        }
+        return await(future);
+    }
+
+    /**
+     * Whether route searches run on the route lane instead of the request thread.
+     */
+    public boolean offloadsRoutes() {
+        return routeLane != null;
+    }
+
+    /**
+     * Applies the task to every item in parallel and returns the results in item order.
+     * At most one window of items is searched at a time.
+     * Tasks should report expected failures in their result; any exception is rethrown here.
+     *
+     * @throws SearchCapacityExceededException if no fan-out slots are left
+     */
+    public <I, R> List<R> map(List<I> items, Function<I, R> task) {
+        try (Reservation reservation = reserve(Math.min(items.size(), window()))) {
+            return map(items, task, reservation);
+        }
+    }
+
+    /**
+     * Like {@link #map}, but waits for fan-out slots instead of being rejected. For background
+     * index builds, which must not fail because requests keep the pool busy.
+     */
+    public <I, R> List<R> mapInBackground(List<I> items, Function<I, R> task) {
+        int slots = Math.max(1, Math.min(Math.min(items.size(), window()), fanOutCapacity));
+        fanOutSlots.acquireUninterruptibly(slots);
+        try (Reservation reservation = new Reservation(slots)) {
+            return map(items, task, reservation);
+        }
+    }
+
+    private <I, R> List<R> map(List<I> items, Function<I, R> task, Reservation reservation) {
+        List<R> results = new ArrayList<>(items.size());
+        Deque<Future<R>> pending = new ArrayDeque<>();
+        int next = 0;
+        try {
+            while (next < items.size() || !pending.isEmpty()) {
+                while (next < items.size() && pending.size() < reservation.size()) {
+                    I item = items.get(next++);
+                    pending.add(reservation.submit(() -> task.apply(item)));
+                }
+                results.add(await(pending.poll()));
+            }
+            return results;
+        } finally {
+            pending.forEach(future -> future.cancel(false));
+        }
+    }
+
+    /**
+     * Reserves up to {@code tasks} fan-out slots, for callers that submit their own tasks and
+     * consume results as they complete. Closing the reservation gives the slots back.
+     *
+     * @throws SearchCapacityExceededException if fewer slots are left
+     */
+    public Reservation reserve(int tasks) {
+        int slots = Math.max(1, Math.min(tasks, fanOutCapacity));
+        if (!fanOutSlots.tryAcquire(slots)) {
+            throw new SearchCapacityExceededException("Search capacity exceeded, "
+                    + (fanOutCapacity - fanOutSlots.availablePermits()) + " of " + fanOutCapacity
+                    + " fan-out search slots are taken");
+        }
+        return new Reservation(slots);
+    }
+
+    /**
+     * Number of tasks a request should keep in flight to use every fan-out thread.
+     */
+    public int window() {
+        return Math.max(2, pool.getParallelism() * 2);
+    }
+
+    /**
+     * Waits for a task started with {@link Reservation#submit} and rethrows its exception, if any.
+     */
+    public <R> R await(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for searches", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+        if (routeLane != null) {
+            routeLane.shutdown();
+        }
+    }
+
+    /**
+     * Fan-out slots held by one request. A slot is taken while one of its tasks is queued or
+     * running; slots of tasks still running when the reservation is closed are given back
+     * when those tasks finish.
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private final int size;
+        private int idle;
+        private boolean closed;
+
+        private Reservation(int size) {
+            this.size = size;
+            this.idle = size;
+        }
+
+        /**
+         * Number of tasks that may be in flight at once.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Starts one search task in a free slot of this reservation.
+         *
+         * @throws IllegalStateException if all slots are in use or the reservation is closed
+         */
+        public <R> Future<R> submit(Callable<R> task) {
+            synchronized (this) {
+                if (closed || idle == 0) {
+                    throw new IllegalStateException("No free slot among the " + size + " reserved");
+                }
+                idle--;
+            }
+            SlotTask<R> slotTask = new SlotTask<>(task, this);
+            try {
+                pool.execute(slotTask);
+            } catch (RejectedExecutionException ex) {
+                slotTask.cancel(false);
+                throw ex;
+            }
+            return slotTask;
+        }
+
+        private synchronized void finished() {
+            if (closed) {
+                fanOutSlots.release();
+            } else {
+                idle++;
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                fanOutSlots.release(idle);
+                idle = 0;
+            }
+        }
+    }
+
+    /**
+     * A task that gives its slot back exactly once: just before its result is published, so a
+     * caller woken by the result can reuse the slot, or when it is cancelled before it started.
+     * A task cancelled while running keeps its slot until it returns.
+     */
+    private static final class SlotTask<R> extends FutureTask<R> {
+
+        private final Reservation reservation;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean started;
+
+        private SlotTask(Callable<R> task, Reservation reservation) {
+            super(task);
+            this.reservation = reservation;
+        }
+
+        @Override
+        public void run() {
+            started = true;
+            super.run();
+        }
+
+        @Override
+        protected void set(R result) {
+            release();
+            super.set(result);
+        }
+
+        @Override
+        protected void setException(Throwable failure) {
+            release();
+            super.setException(failure);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled() && !started) {
+                release();
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                reservation.finished();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.project.fastestdeliverypath.search;
+
+import java.util.Arrays;
+
+/**
+ * Reusable per-search state: tentative distances, parent edges and the frontier heap.
+ *
+ * Entries are only valid when their stamp equals the current generation, so starting a new
+ * search bumps the generation instead of clearing the arrays. A reset costs O(1) plus the
+ * size of whatever was left in the heap, no matter how large the graph is.
+ *
+ * A workspace is owned by one search at a time; see {@link SearchWorkspaces}.
+ */
+public final class SearchWorkspace {
+
+    public static final int UNREACHED = Integer.MAX_VALUE;
+
+    private int[] stamps = new int[0];
+    private int[] distances = new int[0];
+    private int[] parents = new int[0];
+    private int[] parentEdges = new int[0];
+    private IndexedMinHeap heap = new IndexedMinHeap(0);
+    private int generation;
+
+    // Lifetime counters, for search instrumentation; those of replaced heaps are carried over
+    private long updateCount;
+    private long reconstructionNanos;
+    private long retiredHeapOperations;
+    private long retiredHeapPolls;
+
+    /**
+     * Prepares the workspace for a search over a graph with the given number of cities.
+     * Arrays are only reallocated when the graph has grown past their capacity.
+     */
+    public void reset(int cityCount) {
+        if (cityCount > stamps.length) {
+            int capacity = Math.max(cityCount, stamps.length + (stamps.length >> 1));
+            stamps = new int[capacity];
+            distances = new int[capacity];
+            parents = new int[capacity];
+            parentEdges = new int[capacity];
+            retiredHeapOperations += heap.operationCount();
+            retiredHeapPolls += heap.pollCount();
+            heap = new IndexedMinHeap(capacity);
+            generation = 0;
+        } else {
+            heap.clear();
+        }
+
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            // Stamps from two billion searches ago could collide, start over
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    public int capacity() {
+        return stamps.length;
+    }
+
+    public boolean isReached(int city) {
+        return stamps[city] == generation;
+    }
+
+    public int distance(int city) {
+        return stamps[city] == generation ? distances[city] : UNREACHED;
+    }
+
+    /**
+     * Returns the city this one was reached from, or -1 for the search origin.
+     */
+    public int parent(int city) {
+        return parents[city];
+    }
+
+    /**
+     * Returns the slot of the road used to reach this city, in its parent's edge row.
+     */
+    public int parentEdge(int city) {
+        return parentEdges[city];
+    }
+
+    /**
+     * Records the origin of a search at distance zero and queues it.
+     */
+    public void start(int city) {
+        record(city, 0, -1, -1);
+        heap.insertOrDecrease(city, 0);
+    }
+
+    /**
+     * Records a shorter tentative distance for a city, without touching the heap.
+     */
+    public void update(int city, int distance, int parent, int parentEdge) {
+        updateCount++;
+        record(city, distance, parent, parentEdge);
+    }
+
+    private void record(int city, int distance, int parent, int parentEdge) {
+        stamps[city] = generation;
+        distances[city] = distance;
+        parents[city] = parent;
+        parentEdges[city] = parentEdge;
+    }
+
+    public IndexedMinHeap heap() {
+        return heap;
+    }
+
+    /**
+     * Adds the time spent turning a finished search into a path.
+     */
+    public void recordReconstruction(long nanos) {
+        reconstructionNanos += nanos;
+    }
+
+    /**
+     * Counters of all searches run in this workspace so far.
+     */
+    public SearchCounters counters() {
+        return new SearchCounters(retiredHeapPolls + heap.pollCount(), updateCount,
+                retiredHeapOperations + heap.operationCount(), reconstructionNanos);
+    }
+}
@@ -0,0 +1,101 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of search workspaces.
+ * A search checks out a lease, uses its workspaces and returns it when done, so a search
+ * allocates nothing proportional to the graph size once the pool has warmed up. Only a few
+ * leases are kept idle, about one per search thread: retained memory is bounded by the search
+ * concurrency, not by every request thread that ever searched. A search that finds the pool
+ * empty gets a fresh lease, which is dropped on return if the pool is already full.
+ */
+public final class SearchWorkspaces {
+
+    private static volatile BlockingQueue<Lease> idle =
+            new ArrayBlockingQueue<>(2 * Runtime.getRuntime().availableProcessors());
+
+    // Work of the searches that ran on each thread, since leases move between threads
+    private static final ThreadLocal<SearchCounters> WORK = ThreadLocal.withInitial(() -> SearchCounters.NONE);
+
+    private SearchWorkspaces() {
+    }
+
+    /**
+     * Checks out a lease for one search. It must be closed once the search, including path
+     * reconstruction, is finished, and its workspaces must not be used after that.
+     */
+    public static Lease acquire() {
+        Lease lease = idle.poll();
+        if (lease == null) {
+            lease = new Lease();
+        }
+        lease.opened = lease.counters();
+        return lease;
+    }
+
+    /**
+     * Sets how many idle leases the pool keeps. Leases idle in the previous pool are dropped.
+     */
+    public static void retain(int leases) {
+        idle = new ArrayBlockingQueue<>(Math.max(1, leases));
+    }
+
+    /**
+     * Counters of all searches run on this thread so far, over every lease they used.
+     * Taken before and after a query, their difference describes that query.
+     */
+    public static SearchCounters counters() {
+        return WORK.get();
+    }
+
+    /**
+     * Workspaces checked out for one search: a forward one, and a backward one for the other
+     * half of a bidirectional search, allocated the first time a search needs it.
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final SearchWorkspace forward = new SearchWorkspace();
+        private SearchWorkspace backward;
+        private SearchCounters opened;
+
+        private Lease() {
+        }
+
+        /**
+         * Returns the forward workspace, reset and sized for the given snapshot.
+         */
+        public SearchWorkspace forward(RoadGraph graph) {
+            forward.reset(graph.cityCount());
+            return forward;
+        }
+
+        /**
+         * Returns the backward workspace, reset and sized for the given snapshot.
+         * It is independent of {@link #forward(RoadGraph)}, so both can be used in the same search.
+         */
+        public SearchWorkspace backward(RoadGraph graph) {
+            if (backward == null) {
+                backward = new SearchWorkspace();
+            }
+            backward.reset(graph.cityCount());
+            return backward;
+        }
+
+        private SearchCounters counters() {
+            return backward == null ? forward.counters() : forward.counters().plus(backward.counters());
+        }
+
+        /**
+         * Adds the work of this search to the thread's counters and returns the lease to the pool.
+         */
+        @Override
+        public void close() {
+            WORK.set(WORK.get().plus(counters().since(opened)));
+            idle.offer(this);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+
+import static com.project.fastestdeliverypath.search.SearchWorkspace.UNREACHED;
+
+/**
+ * Fastest paths from one origin to every city of one graph version, as two int arrays:
+ * the travel time of every city and the slot of the road it is reached by in its incoming
+ * row. The incoming row names the parent city and the road's travel time, so one slot per
+ * city is enough to walk a path back to the origin without any search.
+ */
+public final class ShortestPathTree {
+
+    private final int origin;
+    private final int[] distances;
+    // Slot in the incoming row of each city, -1 for the origin and unreached cities
+    private final int[] parentSlots;
+
+    private ShortestPathTree(int origin, int[] distances, int[] parentSlots) {
+        this.origin = origin;
+        this.distances = distances;
+        this.parentSlots = parentSlots;
+    }
+
+    /**
+     * Runs a full search from the origin and keeps its distances and parent roads.
+     */
+    public static ShortestPathTree build(RoadGraph graph, int origin) {
+        try (SearchWorkspaces.Lease lease = SearchWorkspaces.acquire()) {
+            return build(graph, DijkstraSearch.settleAll(graph, lease.forward(graph), origin, false), origin);
+        }
+    }
+
+    private static ShortestPathTree build(RoadGraph graph, SearchWorkspace workspace, int origin) {
+        int cityCount = graph.cityCount();
+        int[] distances = new int[cityCount];
+        int[] parentSlots = new int[cityCount];
+        for (int city = 0; city < cityCount; city++) {
+            distances[city] = workspace.distance(city);
+            if (city == origin || distances[city] == UNREACHED) {
+                parentSlots[city] = -1;
+            } else {
+                int parent = workspace.parent(city);
+                parentSlots[city] = incomingSlot(graph, city, parent, distances[city] - workspace.distance(parent));
+            }
+        }
+        return new ShortestPathTree(origin, distances, parentSlots);
+    }
+
+    private static int incomingSlot(RoadGraph graph, int city, int parent, int travelTime) {
+        int degree = graph.inDegree(city);
+        for (int slot = 0; slot < degree; slot++) {
+            if (graph.inSource(city, slot) == parent && graph.inWeight(city, slot) == travelTime) {
+                return slot;
+            }
+        }
+        throw new IllegalStateException("No road from " + parent + " to " + city + " on the search tree");
+    }
+
+    public int origin() {
+        return origin;
+    }
+
+    /**
+     * Returns the travel time from the origin, or {@link SearchWorkspace#UNREACHED}.
+     */
+    public int travelTime(int target) {
+        return distances[target];
+    }
+
+    /**
+     * Walks the tree back from the target. The graph must be the version the tree was built from.
+     *
+     * @return the path, or null if the target cannot be reached
+     */
+    public RoutePath pathTo(RoadGraph graph, int target) {
+        if (distances[target] == UNREACHED) {
+            return null;
+        }
+        int hops = 0;
+        for (int city = target; city != origin; city = graph.inSource(city, parentSlots[city])) {
+            hops++;
+        }
+
+        int[] cities = new int[hops + 1];
+        int[] travelTimes = new int[hops];
+        int city = target;
+        for (int i = hops; i > 0; i--) {
+            cities[i] = city;
+            travelTimes[i - 1] = graph.inWeight(city, parentSlots[city]);
+            city = graph.inSource(city, parentSlots[city]);
+        }
+        cities[0] = origin;
+        return new RoutePath(cities, travelTimes, distances[target]);
+    }
+
+    public long memoryBytes() {
+        return 2 * (16 + 4L * distances.length);
+    }
+}
@@ -0,0 +1,135 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphUpdatedEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Preprocessed data derived from one road graph version, such as landmark tables or a
+ * contraction hierarchy, rebuilt in the background when the graph changes.
+ *
+ * Nothing is built until the index is first asked for, so indexes of engines that are not
+ * in use cost nothing. Readers only get an index that is valid for the snapshot they hold;
+ * while a rebuild is running they get null and fall back to a plain search.
+ */
+@Slf4j
+public final class VersionedIndex<T> {
+
+    private final String name;
+    private final Function<RoadGraph, T> builder;
+    private final Executor executor;
+
+    // Newest snapshot a build was requested for
+    private final AtomicReference<RoadGraph> latest = new AtomicReference<>();
+    private final AtomicReference<Built<T>> built = new AtomicReference<>();
+    private volatile boolean active;
+
+    /**
+     * @param name     used in log messages
+     * @param builder  builds the index for a snapshot; runs on the executor
+     * @param executor runs builds in the background
+     */
+    public VersionedIndex(String name, Function<RoadGraph, T> builder, Executor executor) {
+        this.name = name;
+        this.builder = builder;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the index for the given snapshot, or null if it is not built yet.
+     * Schedules a build on first use or when the snapshot is newer than the index.
+     */
+    public T get(RoadGraph graph) {
+        Built<T> current = built.get();
+        if (current != null && current.version == graph.version()) {
+            return current.index;
+        }
+        active = true;
+        requestBuild(graph);
+
+        current = built.get();
+        return current != null && current.version == graph.version() ? current.index : null;
+    }
+
+    /**
+     * Rebuilds the index for the new snapshot, if the index is in use.
+     *
+     * @param carryForward whether the index of the previous version is still valid for the new one;
+     *                     it is then served for the new version until the rebuild finishes
+     */
+    public void onGraphUpdated(RoadGraphUpdatedEvent event, boolean carryForward) {
+        if (!active) {
+            return;
+        }
+        if (carryForward && event.getPrevious() != null) {
+            long previousVersion = event.getPrevious().version();
+            built.updateAndGet(current -> current != null && current.version == previousVersion
+                    ? new Built<>(event.getCurrent().version(), current.index, false)
+                    : current);
+        }
+        requestBuild(event.getCurrent());
+    }
+
+    /**
+     * Creates a single daemon thread for background builds of one index.
+     * Builds are coalesced, so the thread never has more than a couple of queued tasks.
+     */
+    public static ExecutorService backgroundExecutor(String threadName) {
+        return Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void requestBuild(RoadGraph graph) {
+        RoadGraph previous = latest.getAndAccumulate(graph,
+                (requested, candidate) -> requested == null || candidate.version() > requested.version()
+                        ? candidate : requested);
+        if (previous == null || graph.version() > previous.version()) {
+            executor.execute(this::buildLatest);
+        }
+    }
+
+    /**
+     * Builds the newest requested snapshot. Builds queued for versions that were superseded
+     * in the meantime find a newer snapshot here and only one of them does the work.
+     */
+    private synchronized void buildLatest() {
+        RoadGraph graph = latest.get();
+        Built<T> current = built.get();
+        if (graph == null || (current != null && current.version >= graph.version() && current.fresh)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            Built<T> fresh = new Built<>(graph.version(), builder.apply(graph), true);
+            // Never replace an index that was carried forward to a newer version meanwhile
+            built.updateAndGet(existing -> existing == null || existing.version <= fresh.version ? fresh : existing);
+            log.info("Built {} for road graph version {} in {} ms",
+                    name, graph.version(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.error("Failed to build {} for road graph version {}", name, graph.version(), ex);
+        }
+    }
+
+    private static final class Built<T> {
+        final long version;
+        final T index;
+        // False when the index was carried forward from an older version
+        final boolean fresh;
+
+        Built(long version, T index, boolean fresh) {
+            this.version = version;
+            this.index = index;
+            this.fresh = fresh;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.fastestdeliverypath.service;
+
+import com.project.fastestdeliverypath.dto.IsochroneResponse;
+import com.project.fastestdeliverypath.exception.NoRouteFoundException;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphHolder;
+import com.project.fastestdeliverypath.search.DijkstraSearch;
+import com.project.fastestdeliverypath.search.ReachableCities;
+import com.project.fastestdeliverypath.search.SearchPool;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the cities that can be served from a depot within one or more time budgets.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IsochroneService {
+
+    private final RoadGraphHolder roadGraphHolder;
+    private final SearchPool searchPool;
+
+    /**
+     * Runs one search bounded by the largest budget and answers every budget from it:
+     * cities are settled in travel time order, so each smaller budget is a prefix of the result.
+     *
+     * @param sourceCity     the depot city name
+     * @param budgetsMinutes the time budgets, in any order; duplicates are answered once
+     * @return IsochroneResponse with the reachable cities and the count within each budget
+     * @throws NoRouteFoundException if the source city does not exist
+     */
+    public IsochroneResponse findReachableCities(String sourceCity, List<Integer> budgetsMinutes) {
+        String normalizedSource = sourceCity.trim().toUpperCase();
+        int[] budgets = budgetsMinutes.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+        int maxBudget = budgets[budgets.length - 1];
+
+        RoadGraph graph = roadGraphHolder.current();
+        int source = graph.cityId(normalizedSource);
+        if (source < 0) {
+            throw new NoRouteFoundException("Source city not found: " + sourceCity);
+        }
+
+        long start = System.nanoTime();
+        ReachableCities reachable = searchPool.route(() -> DijkstraSearch.reachableWithin(graph, source, maxBudget));
+        log.info("Found {} cities within {} minutes of {} in {} ms", reachable.getCities().length, maxBudget,
+                normalizedSource, (System.nanoTime() - start) / 1_000_000);
+
+        List<IsochroneResponse.BudgetReach> budgetReaches = new ArrayList<>(budgets.length);
+        for (int budget : budgets) {
+            budgetReaches.add(new IsochroneResponse.BudgetReach(budget, reachable.countWithin(budget)));
+        }
+        int[] cities = reachable.getCities();
+        List<IsochroneResponse.ReachableCity> reachableCities = new ArrayList<>(cities.length);
+        for (int i = 0; i < cities.length; i++) {
+            reachableCities.add(new IsochroneResponse.ReachableCity(
+                    graph.cityName(cities[i]), reachable.getTravelTimes()[i]));
+        }
+        return new IsochroneResponse(normalizedSource, budgetReaches, reachableCities);
+    }
+}
@@ -1,223 +1,415 @@
 package com.project.fastestdeliverypath.service;
 
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.dto.BatchRouteResult;
+import com.project.fastestdeliverypath.dto.NearestDepotResponse;
 import com.project.fastestdeliverypath.dto.RoadDTO;
+import com.project.fastestdeliverypath.dto.RouteRequest;
 import com.project.fastestdeliverypath.dto.RouteResponse;
-import com.project.fastestdeliverypath.entity.City;
-import com.project.fastestdeliverypath.entity.Road;
+import com.project.fastestdeliverypath.dto.TravelTimeResponse;
 import com.project.fastestdeliverypath.exception.NoRouteFoundException;
-import com.project.fastestdeliverypath.repository.CityRepository;
-import com.project.fastestdeliverypath.repository.RoadRepository;
-import lombok.RequiredArgsConstructor;
+import com.project.fastestdeliverypath.exception.RequestTooLargeException;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphHolder;
+import com.project.fastestdeliverypath.jfr.RouteSearchEvent;
+import com.project.fastestdeliverypath.search.DepotTreeLookup;
+import com.project.fastestdeliverypath.search.DijkstraSearch;
+import com.project.fastestdeliverypath.search.HubLabelLookup;
+import com.project.fastestdeliverypath.search.RouteEngine;
+import com.project.fastestdeliverypath.search.RoutePath;
+import com.project.fastestdeliverypath.search.SearchCounters;
+import com.project.fastestdeliverypath.search.SearchPool;
+import com.project.fastestdeliverypath.search.SearchWorkspace;
+import com.project.fastestdeliverypath.search.SearchWorkspaces;
+import com.project.fastestdeliverypath.search.ShortestPathTree;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PathfindingService {
 
-    private final CityRepository cityRepository;
-    private final RoadRepository roadRepository;
+    private final RoadGraphHolder roadGraphHolder;
+    private final RouteEngine routeEngine;
+    private final HubLabelLookup hubLabelLookup;
+    private final DepotTreeLookup depotTreeLookup;
+    private final RouteCache routeCache;
+    private final SearchPool searchPool;
+    private final RouteMetrics routeMetrics;
+    private final int maxBatchPairs;
+    // Route queries being searched right now; a null response means no route exists
+    private final Map<RouteKey, CompletableFuture<RouteResponse>> routesInFlight = new ConcurrentHashMap<>();
+
+    public PathfindingService(RoadGraphHolder roadGraphHolder, List<RouteEngine> routeEngines,
+                              HubLabelLookup hubLabelLookup, DepotTreeLookup depotTreeLookup, RouteCache routeCache,
+                              SearchPool searchPool, RouteMetrics routeMetrics, RoutingProperties routingProperties) {
+        this.roadGraphHolder = roadGraphHolder;
+        this.hubLabelLookup = hubLabelLookup;
+        this.depotTreeLookup = depotTreeLookup;
+        this.routeCache = routeCache;
+        this.searchPool = searchPool;
+        this.routeMetrics = routeMetrics;
+        this.maxBatchPairs = routingProperties.getLimits().getMaxBatchPairs();
+        this.routeEngine = routeEngines.stream()
+                .filter(engine -> engine.name().equals(routingProperties.getEngine()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown route engine: " + routingProperties.getEngine()));
+        log.info("Using {} route engine", routeEngine.name());
+    }
 
     /**
-     * Finds the fastest delivery path between two cities using Dijkstra's algorithm.
+     * Finds the fastest delivery path between two cities using the configured route engine
+     * (Dijkstra's algorithm or one of its variants).
+     * The search runs on the resident road graph snapshot, so no database access is needed,
+     * and responses are cached per graph version. Identical queries that arrive while one is
+     * being searched on the same graph version wait for it and share its response instead of
+     * searching again. Routes from a hub depot are read from its shortest path tree without
+     * any search. Every phase of the query is timed.
      *
      * @param sourceCity      the starting city name
      * @param destinationCity the destination city name
      * @return RouteResponse containing the path, roads used, and total time
      * @throws NoRouteFoundException if no path exists between the cities
      */
-    @Transactional(readOnly = true)
     public RouteResponse findFastestPath(String sourceCity, String destinationCity) {
+        RouteMetrics.QueryTimer timer = routeMetrics.startQuery();
+
         // Normalize city names to uppercase
         String normalizedSource = sourceCity.trim().toUpperCase();
         String normalizedDestination = destinationCity.trim().toUpperCase();
 
         log.info("Finding fastest path from {} to {}", normalizedSource, normalizedDestination);
 
-        // Check if both cities exist
-        City source = cityRepository.findByName(normalizedSource)
-                .orElseThrow(() -> new NoRouteFoundException("Source city not found: " + sourceCity));
-        City destination = cityRepository.findByName(normalizedDestination)
-                .orElseThrow(() -> new NoRouteFoundException("Destination city not found: " + destinationCity));
+        // Shared snapshot of the road network, built once and reused by every query
+        RoadGraph graph = roadGraphHolder.current();
+        timer.phase(RouteMetrics.Phase.GRAPH);
+
+        // Popular pairs are answered from the cache while the graph version is unchanged
+        RouteResponse cached = routeCache.get(normalizedSource, normalizedDestination, graph.version());
+        timer.phase(RouteMetrics.Phase.CACHE);
+        if (cached != null) {
+            log.info("Found cached path with total time {} minutes", cached.getTotalTravelTimeMinutes());
+            timer.finish(RouteMetrics.Outcome.CACHED);
+            return cached;
+        }
 
-        // Load all roads from the database to build the graph
-        List<Road> allRoads = roadRepository.findAll();
-        
-        // Build an adjacency, Map: City Name -> List of (Neighbor City Name, Travel Time, Road)
-        Map<String, List<Edge>> graph = buildGraph(allRoads);
+        // Check if both cities exist
+        int source = graph.cityId(normalizedSource);
+        int destination = graph.cityId(normalizedDestination);
+        timer.phase(RouteMetrics.Phase.CITY_LOOKUP);
+        if (source < 0 || destination < 0) {
+            timer.finish(RouteMetrics.Outcome.NOT_FOUND);
+            throw new NoRouteFoundException(source < 0
+                    ? "Source city not found: " + sourceCity
+                    : "Destination city not found: " + destinationCity);
+        }
 
-        DijkstraResult result = runDijkstra(graph, normalizedSource, normalizedDestination);
+        // Identical concurrent queries share one search
+        RouteKey key = new RouteKey(normalizedSource, normalizedDestination, graph.version());
+        CompletableFuture<RouteResponse> flight = new CompletableFuture<>();
+        CompletableFuture<RouteResponse> inFlight = routesInFlight.putIfAbsent(key, flight);
+        RouteResponse response;
+        if (inFlight != null) {
+            response = join(inFlight);
+            timer.finish(RouteMetrics.Outcome.COALESCED);
+            log.info("Joined a search in flight from {} to {}", normalizedSource, normalizedDestination);
+        } else {
+            try {
+                response = route(graph, source, destination, timer);
+                flight.complete(response);
+            } catch (RuntimeException ex) {
+                flight.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                // Removed only after the response is cached, so later queries find one or the other
+                routesInFlight.remove(key, flight);
+            }
+            timer.finish(response == null ? RouteMetrics.Outcome.NOT_FOUND : RouteMetrics.Outcome.FOUND);
+        }
 
         // Check if destination is reachable
-        Integer destinationDistance = result.distances.get(normalizedDestination);
-        if (destinationDistance == null || destinationDistance == Integer.MAX_VALUE) {
+        if (response == null) {
             throw new NoRouteFoundException("No route found between " + sourceCity + " and " + destinationCity + ".");
         }
 
-        // Reconstruct the path
-        List<String> pathCities = reconstructPath(result.parent, normalizedSource, normalizedDestination);
-        
-        // Create the list of roads used
-        List<RoadDTO> pathRoads = buildPathRoads(pathCities, graph);
-        
-        // Get total travel time
-        int totalTime = result.distances.get(normalizedDestination);
-
-        log.info("Found path with {} cities and total time {} minutes", pathCities.size(), totalTime);
+        log.info("Found path with {} cities and total time {} minutes",
+                response.getPathCities().size(), response.getTotalTravelTimeMinutes());
 
-        return new RouteResponse(pathCities, pathRoads, totalTime);
+        return response;
     }
 
     /**
-     * Builds an adjacency list representation of the road network.
-     * Each city maps to a list of edges (outgoing roads).
+     * Finds a route, from the source's depot tree if it has one or else by a search, and caches its response.
+     *
+     * @return the response, or null if the destination cannot be reached
      */
-    private Map<String, List<Edge>> buildGraph(List<Road> roads) {
-        Map<String, List<Edge>> graph = new HashMap<>();
+    private RouteResponse route(RoadGraph graph, int source, int destination, RouteMetrics.QueryTimer timer) {
+        ShortestPathTree tree = depotTreeLookup.tree(graph, source);
+        RoutePath path;
+        if (tree != null) {
+            path = tree.pathTo(graph, destination);
+            timer.phase(RouteMetrics.Phase.RECONSTRUCTION);
+        } else {
+            // Runs on a search thread when searches are offloaded, so the per-thread counters are read there
+            path = searchPool.route(() -> {
+                timer.phase(RouteMetrics.Phase.SEARCH_QUEUE);
+                return search(graph, source, destination, timer);
+            });
+        }
+        if (path == null) {
+            return null;
+        }
 
-        for (Road road : roads) {
-            String fromCity = road.getFromCity().getName();
-            String toCity = road.getToCity().getName();
-            int travelTime = road.getTravelTimeMinutes();
+        RouteResponse response = toRouteResponse(graph, path);
+        timer.phase(RouteMetrics.Phase.RESPONSE_MAPPING);
+        routeCache.put(graph.cityName(source), graph.cityName(destination), graph.version(), response);
+        return response;
+    }
 
-            // Add edge from fromCity to toCity
-            graph.computeIfAbsent(fromCity, k -> new ArrayList<>())
-                    .add(new Edge(toCity, travelTime, road));
+    /**
+     * Waits for the search of an identical query and rethrows its exception, if any.
+     */
+    private static RouteResponse join(CompletableFuture<RouteResponse> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw ex;
         }
+    }
 
-        return graph;
+    /**
+     * Runs the configured engine with search timers and the flight recorder event around it.
+     */
+    private RoutePath search(RoadGraph graph, int source, int destination, RouteMetrics.QueryTimer timer) {
+        timer.beginSearch();
+        RouteSearchEvent event = new RouteSearchEvent();
+        // Taken even when the event is disabled, since a recording may start during the search
+        SearchCounters before = SearchWorkspaces.counters();
+        event.begin();
+        // The engine that actually searches, which is the fallback while an index is being built
+        RouteEngine engine = routeEngine.resolve(graph);
+        RoutePath path = engine.findPath(graph, source, destination);
+        event.end();
+        timer.endSearch();
+        if (event.shouldCommit()) {
+            SearchCounters work = SearchWorkspaces.counters().since(before);
+            event.source = graph.cityName(source);
+            event.destination = graph.cityName(destination);
+            event.engine = engine.name();
+            event.graphVersion = graph.version();
+            event.settledCities = work.getSettledCities();
+            event.relaxedEdges = work.getRelaxedEdges();
+            event.found = path != null;
+            event.commit();
+        }
+        return path;
     }
 
     /**
-     * Runs Dijkstra's algorithm to find shortest paths from source to all reachable cities.
+     * Finds the fastest paths for many source/destination pairs against one graph snapshot.
+     * Pairs are grouped by source so each source needs a single search, and the groups run
+     * in parallel; groups from a hub depot read its tree instead. A pair that cannot be
+     * answered gets its error in place; the rest of the batch is unaffected.
      *
-     * @param graph       the adjacency list
-     * @param source      the starting city
-     * @param destination the target city
-     * @return DijkstraResult containing distances and parent map
+     * @param pairs the source and destination cities of each query
+     * @return one result per pair, in request order
+     * @throws RequestTooLargeException if there are more pairs than a batch may have
      */
-    private DijkstraResult runDijkstra(Map<String, List<Edge>> graph, String source, String destination) {
-        Map<String, Integer> distances = new HashMap<>();
-        
-        // Needed for reconstructing the path
-        Map<String, String> parent = new HashMap<>();
-        
-        // Priority queue orders cities by their current shortest distance
-        PriorityQueue<CityDistance> pq = new PriorityQueue<>(Comparator.comparingInt(cd -> cd.distance));
-
-        distances.put(source, 0);
-        pq.offer(new CityDistance(source, 0));
-
-        while (!pq.isEmpty()) {
-            CityDistance current = pq.poll();
-            String currentCity = current.cityName;
-            int currentDistance = current.distance;
-
-            // If we reach destination, we can stop
-            if (currentCity.equals(destination)) {
-                break;
+    public List<BatchRouteResult> findFastestPaths(List<RouteRequest> pairs) {
+        if (pairs.size() > maxBatchPairs) {
+            throw new RequestTooLargeException(
+                    "At most " + maxBatchPairs + " pairs are allowed in one batch, got " + pairs.size());
+        }
+        RoadGraph graph = roadGraphHolder.current();
+        BatchRouteResult[] results = new BatchRouteResult[pairs.size()];
+        Map<Integer, List<Integer>> pairsBySource = new LinkedHashMap<>();
+        int[] destinations = new int[pairs.size()];
+
+        for (int i = 0; i < pairs.size(); i++) {
+            RouteRequest pair = pairs.get(i);
+            if (pair == null) {
+                results[i] = new BatchRouteResult(null, null, null, "Source city is required");
+                continue;
+            }
+            String sourceCity = pair.getSourceCity();
+            String destinationCity = pair.getDestinationCity();
+            if (sourceCity == null || sourceCity.isBlank()) {
+                results[i] = new BatchRouteResult(sourceCity, destinationCity, null, "Source city is required");
+                continue;
+            }
+            if (destinationCity == null || destinationCity.isBlank()) {
+                results[i] = new BatchRouteResult(sourceCity, destinationCity, null, "Destination city is required");
+                continue;
             }
 
-            // Skip if we already found a better path
-            if (currentDistance > distances.getOrDefault(currentCity, Integer.MAX_VALUE)) {
+            String normalizedSource = sourceCity.trim().toUpperCase();
+            String normalizedDestination = destinationCity.trim().toUpperCase();
+            RouteResponse cached = routeCache.get(normalizedSource, normalizedDestination, graph.version());
+            if (cached != null) {
+                results[i] = new BatchRouteResult(normalizedSource, normalizedDestination, cached, null);
                 continue;
             }
 
-            // Check all neighbors
-            List<Edge> edges = graph.getOrDefault(currentCity, Collections.emptyList());
-            for (Edge edge : edges) {
-                String neighbor = edge.toCity;
-                int newDistance = currentDistance + edge.travelTime;
-
-                // If we found a shorter path to neighbor, update it
-                int oldDistance = distances.getOrDefault(neighbor, Integer.MAX_VALUE);
-                if (newDistance < oldDistance) {
-                    distances.put(neighbor, newDistance);
-                    parent.put(neighbor, currentCity);
-                    pq.offer(new CityDistance(neighbor, newDistance));
-                }
+            int source = graph.cityId(normalizedSource);
+            int destination = graph.cityId(normalizedDestination);
+            if (source < 0) {
+                results[i] = new BatchRouteResult(normalizedSource, normalizedDestination, null,
+                        "Source city not found: " + sourceCity);
+            } else if (destination < 0) {
+                results[i] = new BatchRouteResult(normalizedSource, normalizedDestination, null,
+                        "Destination city not found: " + destinationCity);
+            } else {
+                destinations[i] = destination;
+                pairsBySource.computeIfAbsent(source, key -> new ArrayList<>()).add(i);
             }
         }
 
-        return new DijkstraResult(distances, parent);
-    }
-
-
-    private List<String> reconstructPath(Map<String, String> parent, String source, String destination) {
-        List<String> path = new ArrayList<>();
-        String current = destination;
+        log.info("Finding fastest paths for {} pairs from {} sources", pairs.size(), pairsBySource.size());
 
-        // Backtrack from destination to source using parent map
-        while (current != null) {
-            path.add(current);
-            current = parent.get(current);
+        List<Map.Entry<Integer, List<Integer>>> groups = new ArrayList<>(pairsBySource.entrySet());
+        List<RoutePath[]> groupPaths = searchPool.map(groups, group -> {
+            int[] targets = group.getValue().stream().mapToInt(i -> destinations[i]).toArray();
+            ShortestPathTree tree = depotTreeLookup.tree(graph, group.getKey());
+            if (tree == null) {
+                return DijkstraSearch.shortestPaths(graph, group.getKey(), targets);
+            }
+            RoutePath[] paths = new RoutePath[targets.length];
+            for (int j = 0; j < targets.length; j++) {
+                paths[j] = tree.pathTo(graph, targets[j]);
+            }
+            return paths;
+        });
+
+        for (int g = 0; g < groups.size(); g++) {
+            List<Integer> indices = groups.get(g).getValue();
+            RoutePath[] paths = groupPaths.get(g);
+            for (int j = 0; j < indices.size(); j++) {
+                int i = indices.get(j);
+                RouteRequest pair = pairs.get(i);
+                String normalizedSource = pair.getSourceCity().trim().toUpperCase();
+                String normalizedDestination = pair.getDestinationCity().trim().toUpperCase();
+                if (paths[j] == null) {
+                    results[i] = new BatchRouteResult(normalizedSource, normalizedDestination, null,
+                            "No route found between " + pair.getSourceCity() + " and " + pair.getDestinationCity() + ".");
+                } else {
+                    RouteResponse response = toRouteResponse(graph, paths[j]);
+                    routeCache.put(normalizedSource, normalizedDestination, graph.version(), response);
+                    results[i] = new BatchRouteResult(normalizedSource, normalizedDestination, response, null);
+                }
+            }
         }
-
-        // Reverse the path because it waas built backwards)
-        Collections.reverse(path);
-        
-        return path;
+        return List.of(results);
     }
 
+    /**
+     * Finds only the travel time of the fastest path between two cities, without the path.
+     * Lookups are answered from the source's depot tree or from hub labels, which makes them
+     * much cheaper than a route search when many pairs are needed. Until the labels are built,
+     * lookups search on the route search lane like {@link #findFastestPath}.
+     *
+     * @param sourceCity      the starting city name
+     * @param destinationCity the destination city name
+     * @return TravelTimeResponse with the normalized city names and the total time
+     * @throws NoRouteFoundException if no path exists between the cities
+     */
+    public TravelTimeResponse findTravelTime(String sourceCity, String destinationCity) {
+        String normalizedSource = sourceCity.trim().toUpperCase();
+        String normalizedDestination = destinationCity.trim().toUpperCase();
 
-    private List<RoadDTO> buildPathRoads(List<String> pathCities, Map<String, List<Edge>> graph) {
-        List<RoadDTO> pathRoads = new ArrayList<>();
-
-        for (int i = 0; i < pathCities.size() - 1; i++) {
-            String fromCity = pathCities.get(i);
-            String toCity = pathCities.get(i + 1);
+        RoadGraph graph = roadGraphHolder.current();
+        int source = requireCity(graph, normalizedSource, "Source city not found: " + sourceCity);
+        int destination = requireCity(graph, normalizedDestination, "Destination city not found: " + destinationCity);
 
-            List<Edge> edges = graph.get(fromCity);
-            for (Edge edge : edges) {
-                if (edge.toCity.equals(toCity)) {
-                    pathRoads.add(new RoadDTO(fromCity, toCity, edge.travelTime));
-                    break;
-                }
-            }
+        ShortestPathTree tree = depotTreeLookup.tree(graph, source);
+        int travelTime = tree != null
+                ? tree.travelTime(destination)
+                : hubLabelLookup.travelTime(graph, source, destination);
+        if (travelTime == SearchWorkspace.UNREACHED) {
+            throw new NoRouteFoundException("No route found between " + sourceCity + " and " + destinationCity + ".");
         }
-
-        return pathRoads;
+        return new TravelTimeResponse(normalizedSource, normalizedDestination, travelTime);
     }
 
-    // Helper classes for Dijkstra's algorithm
+    /**
+     * Finds the depots that reach a destination fastest, with one search backward from the
+     * destination that stops once the requested number of depots is settled.
+     *
+     * @param destinationCity the customer city
+     * @param depotCities     the candidate depot cities
+     * @param limit           number of nearest depots to return
+     * @return NearestDepotResponse with the nearest depots and their routes, nearest first
+     * @throws NoRouteFoundException if a city does not exist or no depot can reach the destination
+     */
+    public NearestDepotResponse findNearestDepots(String destinationCity, List<String> depotCities, int limit) {
+        String normalizedDestination = destinationCity.trim().toUpperCase();
 
+        RoadGraph graph = roadGraphHolder.current();
+        int destination = requireCity(graph, normalizedDestination, "Destination city not found: " + destinationCity);
+        int[] depots = new int[depotCities.size()];
+        for (int i = 0; i < depots.length; i++) {
+            String depotCity = depotCities.get(i);
+            depots[i] = requireCity(graph, depotCity.trim().toUpperCase(), "Depot city not found: " + depotCity);
+        }
 
-    private static class Edge {
-        String toCity;
-        int travelTime;
-        Road road;
+        RoutePath[] paths = searchPool.route(() -> DijkstraSearch.nearestSources(graph, destination, depots, limit));
+        if (paths.length == 0) {
+            throw new NoRouteFoundException("No depot can reach " + destinationCity + ".");
+        }
 
-        Edge(String toCity, int travelTime, Road road) {
-            this.toCity = toCity;
-            this.travelTime = travelTime;
-            this.road = road;
+        List<NearestDepotResponse.DepotRoute> depotRoutes = new ArrayList<>(paths.length);
+        for (RoutePath path : paths) {
+            depotRoutes.add(new NearestDepotResponse.DepotRoute(
+                    graph.cityName(path.getCities()[0]), toRouteResponse(graph, path)));
         }
+        log.info("Nearest depot to {} is {} at {} minutes", normalizedDestination,
+                depotRoutes.get(0).getDepotCity(), paths[0].getTotalTravelTime());
+        return new NearestDepotResponse(normalizedDestination, depotRoutes);
     }
 
-
-    private static class CityDistance {
-        String cityName;
-        int distance;
-
-        CityDistance(String cityName, int distance) {
-            this.cityName = cityName;
-            this.distance = distance;
+    private int requireCity(RoadGraph graph, String normalizedName, String notFoundMessage) {
+        int city = graph.cityId(normalizedName);
+        if (city < 0) {
+            throw new NoRouteFoundException(notFoundMessage);
         }
+        return city;
     }
 
+    /**
+     * Maps a path in graph city ids to the city names and roads of the response.
+     */
+    static RouteResponse toRouteResponse(RoadGraph graph, RoutePath path) {
+        int[] cities = path.getCities();
+        List<String> pathCities = new ArrayList<>(cities.length);
+        List<RoadDTO> pathRoads = new ArrayList<>(cities.length - 1);
+
+        for (int i = 0; i < cities.length; i++) {
+            pathCities.add(graph.cityName(cities[i]));
+            if (i > 0) {
+                pathRoads.add(new RoadDTO(pathCities.get(i - 1), pathCities.get(i), path.getTravelTimes()[i - 1]));
+            }
+        }
 
-    private static class DijkstraResult {
-        Map<String, Integer> distances;
-        Map<String, String> parent;
+        return new RouteResponse(pathCities, pathRoads, path.getTotalTravelTime());
+    }
 
-        DijkstraResult(Map<String, Integer> distances, Map<String, String> parent) {
-            this.distances = distances;
-            this.parent = parent;
-        }
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class RouteKey {
+        private final String source;
+        private final String destination;
+        private final long graphVersion;
     }
 }
-
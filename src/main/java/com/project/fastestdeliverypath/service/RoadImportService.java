@@ -0,0 +1,253 @@
+package com.project.fastestdeliverypath.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.fastestdeliverypath.config.RoadImportProperties;
+import com.project.fastestdeliverypath.dto.RejectedLine;
+import com.project.fastestdeliverypath.dto.RoadImportResult;
+import com.project.fastestdeliverypath.dto.RoadRequest;
+import com.project.fastestdeliverypath.exception.InvalidRoadException;
+import com.project.fastestdeliverypath.graph.RoadChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports roads from an upload one line at a time.
+ *
+ * Lines are validated with the same rules as {@code POST /roads}; invalid lines are rejected
+ * individually while the rest of the file is still imported. Valid roads are written through
+ * the bulk path in fixed-size chunks, each committed on its own, so neither the heap nor
+ * the transaction grows with the size of the file. Lines longer than the configured limit are
+ * skipped without being held in full and rejected like invalid ones. Committed roads are announced to the
+ * resident graph every few chunks and at the end, rather than once per chunk, so an import
+ * publishes a bounded number of graph versions and index rebuilds.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoadImportService {
+
+    public enum Format {
+        /**
+         * One JSON road object per line, with the fields of a road request.
+         */
+        NDJSON,
+        /**
+         * fromCity,toCity,travelTimeMinutes per line, with an optional header line.
+         */
+        CSV
+    }
+
+    private final RoadService roadService;
+    private final RoadImportProperties roadImportProperties;
+    private final ObjectMapper objectMapper;
+
+    public RoadImportResult importRoads(InputStream body, Format format) throws IOException {
+        int chunkSize = Math.max(1, roadImportProperties.getChunkSize());
+        int announceEveryChunks = Math.max(1, roadImportProperties.getAnnounceEveryChunks());
+        List<RoadRequest> chunk = new ArrayList<>(chunkSize);
+        // Roads of the committed chunks not announced yet, by city pair
+        Map<String, RoadChange> unannounced = new LinkedHashMap<>();
+        List<RoadChange> chunkChanges = new ArrayList<>(chunkSize);
+        List<RejectedLine> rejectedLines = new ArrayList<>();
+        long linesRead = 0;
+        long roadsImported = 0;
+        long rejectedCount = 0;
+        int chunksCommitted = 0;
+
+        int maxLineLength = Math.max(1, roadImportProperties.getMaxLineLength());
+        LineReader reader = new LineReader(new InputStreamReader(body, StandardCharsets.UTF_8), maxLineLength);
+        try {
+            while (reader.next()) {
+                linesRead++;
+                String line = reader.line();
+                if (line.isBlank() || (format == Format.CSV && linesRead == 1 && isCsvHeader(line))) {
+                    continue;
+                }
+
+                try {
+                    if (reader.isTooLong()) {
+                        throw new InvalidRoadException("Line is longer than " + maxLineLength + " characters");
+                    }
+                    RoadRequest request = parse(line, format);
+                    chunkChanges.add(roadService.toRoadChange(request));
+                    chunk.add(request);
+                } catch (InvalidRoadException ex) {
+                    rejectedCount++;
+                    if (rejectedLines.size() < roadImportProperties.getMaxReportedRejections()) {
+                        rejectedLines.add(new RejectedLine(linesRead, ex.getMessage()));
+                    }
+                    continue;
+                }
+
+                if (chunk.size() == chunkSize) {
+                    roadsImported += commitChunk(chunk, chunkChanges, unannounced);
+                    chunksCommitted++;
+                    if (chunksCommitted % announceEveryChunks == 0) {
+                        announce(unannounced);
+                    }
+                    log.info("Road import progress: {} lines read, {} roads imported, {} rejected",
+                            linesRead, roadsImported, rejectedCount);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                roadsImported += commitChunk(chunk, chunkChanges, unannounced);
+                chunksCommitted++;
+            }
+        } finally {
+            // Chunks committed before a failure are in the database and must reach the graph too
+            announce(unannounced);
+        }
+
+        log.info("Road import finished: {} lines read, {} roads imported in {} chunks, {} rejected",
+                linesRead, roadsImported, chunksCommitted, rejectedCount);
+        return new RoadImportResult(linesRead, roadsImported, rejectedCount, chunksCommitted, rejectedLines);
+    }
+
+    /**
+     * Writes and commits one chunk through the bulk path, then empties it for reuse.
+     * Its roads are kept to be announced later.
+     */
+    private int commitChunk(List<RoadRequest> chunk, List<RoadChange> chunkChanges,
+                            Map<String, RoadChange> unannounced) {
+        int written = roadService.bulkUpsertRoads(chunk, false).getRoadsUpserted();
+        for (RoadChange change : chunkChanges) {
+            unannounced.put(change.getFromCity() + "->" + change.getToCity(), change);
+        }
+        chunk.clear();
+        chunkChanges.clear();
+        return written;
+    }
+
+    private void announce(Map<String, RoadChange> unannounced) {
+        if (!unannounced.isEmpty()) {
+            roadService.announceRoadChanges(unannounced.values());
+            unannounced.clear();
+        }
+    }
+
+    private RoadRequest parse(String line, Format format) {
+        if (format == Format.NDJSON) {
+            RoadRequest request;
+            try {
+                request = objectMapper.readValue(line, RoadRequest.class);
+            } catch (JsonProcessingException ex) {
+                throw new InvalidRoadException("Malformed JSON: " + ex.getOriginalMessage());
+            }
+            // A literal null line parses without error but carries no road
+            if (request == null) {
+                throw new InvalidRoadException("Expected a road object but found null");
+            }
+            return request;
+        }
+
+        String[] fields = line.split(",", -1);
+        if (fields.length != 3) {
+            throw new InvalidRoadException("Expected 3 fields but found " + fields.length);
+        }
+        Integer travelTime;
+        try {
+            travelTime = Integer.valueOf(unquote(fields[2]));
+        } catch (NumberFormatException ex) {
+            throw new InvalidRoadException("Travel time is not a number: " + fields[2].trim());
+        }
+        return new RoadRequest(unquote(fields[0]), unquote(fields[1]), travelTime);
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.trim().toLowerCase().startsWith("fromcity");
+    }
+
+    private static String unquote(String field) {
+        String value = field.trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    /**
+     * Reads lines like {@link java.io.BufferedReader#readLine()}, ending at \n, \r or \r\n, but
+     * keeps at most {@code maxLength} characters of a line and skips the rest of a longer one.
+     */
+    private static final class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean tooLong;
+        // A \r ended the previous line, so a \n right after it belongs to that line
+        private boolean skipLineFeed;
+
+        private LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Advances to the next line.
+         *
+         * @return false at the end of the input
+         */
+        boolean next() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean started = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer);
+                    position = 0;
+                    if (limit < 0) {
+                        limit = 0;
+                        return started;
+                    }
+                }
+                char c = buffer[position++];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (c == '\n') {
+                        continue;
+                    }
+                }
+                started = true;
+                if (c == '\n') {
+                    return true;
+                }
+                if (c == '\r') {
+                    skipLineFeed = true;
+                    return true;
+                }
+                if (line.length() < maxLength) {
+                    line.append(c);
+                } else {
+                    tooLong = true;
+                }
+            }
+        }
+
+        /**
+         * The current line, cut off at the maximum length if it is too long.
+         */
+        String line() {
+            return line.toString();
+        }
+
+        boolean isTooLong() {
+            return tooLong;
+        }
+    }
+}
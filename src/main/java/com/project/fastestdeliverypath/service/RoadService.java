@@ -1,18 +1,29 @@
 package com.project.fastestdeliverypath.service;
 
+import com.project.fastestdeliverypath.dto.BulkRoadResult;
 import com.project.fastestdeliverypath.dto.RoadRequest;
 import com.project.fastestdeliverypath.entity.City;
 import com.project.fastestdeliverypath.entity.Road;
 import com.project.fastestdeliverypath.exception.InvalidRoadException;
+import com.project.fastestdeliverypath.graph.RoadChange;
+import com.project.fastestdeliverypath.graph.RoadsChangedEvent;
+import com.project.fastestdeliverypath.jfr.RoadWriteEvent;
 import com.project.fastestdeliverypath.repository.CityRepository;
+import com.project.fastestdeliverypath.repository.RoadBulkRepository;
 import com.project.fastestdeliverypath.repository.RoadRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -21,28 +32,28 @@ public class RoadService {
 
     private final RoadRepository roadRepository;
     private final CityRepository cityRepository;
+    private final RoadBulkRepository roadBulkRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Creates or updates roads based on the provided requests.
      * If cities don't exist, they are created automatically.
+     * The resident road graph picks up the changes once the transaction commits.
      *
      * @param roadRequests list of road requests
      * @return list of created/updated roads
      */
     @Transactional
     public List<Road> createOrUpdateRoads(List<RoadRequest> roadRequests) {
+        RoadWriteEvent event = new RoadWriteEvent();
+        event.begin();
         List<Road> roads = new ArrayList<>();
+        List<RoadChange> changes = new ArrayList<>();
 
         for (RoadRequest request : roadRequests) {
-            validateRoadRequest(request);
-
-            String fromCityName = request.getFromCity().trim().toUpperCase();
-            String toCityName = request.getToCity().trim().toUpperCase();
-
-            // Prevent self-loop
-            if (fromCityName.equals(toCityName)) {
-                throw new InvalidRoadException("A road cannot connect a city to itself: " + fromCityName);
-            }
+            RoadChange change = toRoadChange(request);
+            String fromCityName = change.getFromCity();
+            String toCityName = change.getToCity();
 
             City fromCity = getOrCreateCity(fromCityName);
             City toCity = getOrCreateCity(toCityName);
@@ -57,14 +68,106 @@ public class RoadService {
 
             road = roadRepository.save(road);
             roads.add(road);
+            changes.add(change);
 
             log.info("Created/Updated road from {} to {} with travel time {} minutes",
                     fromCityName, toCityName, request.getTravelTimeMinutes());
         }
 
+        eventPublisher.publishEvent(new RoadsChangedEvent(changes));
+        commit(event, false, roadRequests.size(), roads.size(), -1);
+
         return roads;
     }
 
+    /**
+     * Creates or updates many roads with set-based statements instead of one lookup and save
+     * per road. All cities are resolved in one pass, missing ones are inserted in batches, and
+     * roads are upserted in batches keyed by their city pair. If the same road appears more
+     * than once, the last travel time wins.
+     * The resident road graph picks up the changes once the transaction commits.
+     *
+     * @param roadRequests list of road requests
+     * @return counts of what was written, without re-reading the rows
+     */
+    @Transactional
+    public BulkRoadResult bulkUpsertRoads(List<RoadRequest> roadRequests) {
+        return bulkUpsertRoads(roadRequests, true);
+    }
+
+    /**
+     * Like {@link #bulkUpsertRoads(List)}, but optionally leaves announcing the changes to the
+     * caller, for imports that commit many batches and announce them together through
+     * {@link #announceRoadChanges(Collection)}.
+     */
+    @Transactional
+    public BulkRoadResult bulkUpsertRoads(List<RoadRequest> roadRequests, boolean announceChanges) {
+        RoadWriteEvent event = new RoadWriteEvent();
+        event.begin();
+        Map<String, RoadChange> roads = new LinkedHashMap<>();
+        Set<String> cityNames = new LinkedHashSet<>();
+        for (RoadRequest request : roadRequests) {
+            RoadChange change = toRoadChange(request);
+            roads.put(change.getFromCity() + "->" + change.getToCity(), change);
+            cityNames.add(change.getFromCity());
+            cityNames.add(change.getToCity());
+        }
+
+        Map<String, Long> cityIds = roadBulkRepository.findCityIds(cityNames);
+        List<String> missingCities = cityNames.stream().filter(name -> !cityIds.containsKey(name)).toList();
+        if (!missingCities.isEmpty()) {
+            roadBulkRepository.insertCities(missingCities);
+            cityIds.putAll(roadBulkRepository.findCityIds(missingCities));
+        }
+
+        roadBulkRepository.upsertRoads(roads.values(), cityIds);
+        if (announceChanges) {
+            eventPublisher.publishEvent(new RoadsChangedEvent(new ArrayList<>(roads.values())));
+        }
+        commit(event, true, roadRequests.size(), roads.size(), missingCities.size());
+
+        log.info("Bulk upserted {} road(s) from {} request(s), created {} city(ies)",
+                roads.size(), roadRequests.size(), missingCities.size());
+
+        return new BulkRoadResult(roadRequests.size(), roads.size(), missingCities.size());
+    }
+
+    /**
+     * Announces roads written by transactions that have already committed to the resident
+     * road graph, which applies them right away.
+     */
+    public void announceRoadChanges(Collection<RoadChange> changes) {
+        eventPublisher.publishEvent(new RoadsChangedEvent(new ArrayList<>(changes)));
+    }
+
+    /**
+     * Validates a request and normalizes its city names.
+     *
+     * @throws InvalidRoadException if the road is invalid
+     */
+    public RoadChange toRoadChange(RoadRequest request) {
+        validateRoadRequest(request);
+
+        String fromCityName = request.getFromCity().trim().toUpperCase();
+        String toCityName = request.getToCity().trim().toUpperCase();
+
+        // Prevent self-loop
+        if (fromCityName.equals(toCityName)) {
+            throw new InvalidRoadException("A road cannot connect a city to itself: " + fromCityName);
+        }
+        return new RoadChange(fromCityName, toCityName, request.getTravelTimeMinutes());
+    }
+
+    private static void commit(RoadWriteEvent event, boolean bulk, int received, int written, int citiesCreated) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.bulk = bulk;
+            event.roadsReceived = received;
+            event.roadsWritten = written;
+            event.citiesCreated = citiesCreated;
+            event.commit();
+        }
+    }
 
     private City getOrCreateCity(String cityName) {
         return cityRepository.findByName(cityName)
@@ -0,0 +1,172 @@
+package com.project.fastestdeliverypath.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.dto.RoadDTO;
+import com.project.fastestdeliverypath.dto.RouteResponse;
+import com.project.fastestdeliverypath.graph.RoadChange;
+import com.project.fastestdeliverypath.graph.RoadGraphUpdatedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of route responses, keyed by normalized source and destination city.
+ *
+ * Every entry remembers the graph version it was computed on and only answers queries on
+ * that version. When roads only got slower, routes that avoid the changed roads are still
+ * the fastest, so they move to the new version and only routes over a changed road are
+ * dropped; after any other change the whole cache is dropped.
+ *
+ * Cache effectiveness is published through {@code /actuator/metrics}:
+ * {@code route.cache.gets} tagged {@code result} hit or miss, {@code route.cache.evictions},
+ * {@code route.cache.invalidations} and the {@code route.cache.size} gauge.
+ */
+@Component
+public class RouteCache {
+
+    private final boolean enabled;
+    private final Cache<Key, Entry> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public RouteCache(RoutingProperties routingProperties, MeterRegistry registry) {
+        RoutingProperties.Cache properties = routingProperties.getCache();
+        this.enabled = properties.isEnabled() && properties.getMaxEntries() > 0;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(properties.getMaxEntries(), 0))
+                .evictionListener((Key key, Entry entry, RemovalCause cause) -> evictions.increment())
+                .build();
+
+        counter("route.cache.gets", "Route cache lookups that found a route for the graph version",
+                hits).tag("result", "hit").register(registry);
+        counter("route.cache.gets", "Route cache lookups that found no route for the graph version",
+                misses).tag("result", "miss").register(registry);
+        counter("route.cache.evictions", "Routes evicted to stay within the size bound",
+                evictions).register(registry);
+        counter("route.cache.invalidations", "Routes dropped because the graph changed under them",
+                invalidations).register(registry);
+        Gauge.builder("route.cache.size", cache, Cache::estimatedSize)
+                .description("Routes currently cached")
+                .register(registry);
+    }
+
+    private static FunctionCounter.Builder<LongAdder> counter(String name, String description, LongAdder count) {
+        return FunctionCounter.builder(name, count, LongAdder::sum).description(description);
+    }
+
+    /**
+     * Returns the cached route computed on the given graph version, or null.
+     */
+    public RouteResponse get(String source, String destination, long graphVersion) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = cache.getIfPresent(new Key(source, destination));
+        if (entry == null || entry.version != graphVersion) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.response;
+    }
+
+    public void put(String source, String destination, long graphVersion, RouteResponse response) {
+        if (enabled) {
+            cache.put(new Key(source, destination), new Entry(graphVersion, response));
+        }
+    }
+
+    @EventListener
+    public void onRoadGraphUpdated(RoadGraphUpdatedEvent event) {
+        if (!enabled || event.getPrevious() == null) {
+            return;
+        }
+        if (!event.isTravelTimeIncreaseOnly()) {
+            invalidations.add(cache.estimatedSize());
+            cache.invalidateAll();
+            return;
+        }
+
+        Set<String> changedRoads = new HashSet<>();
+        for (RoadChange change : event.getChanges()) {
+            changedRoads.add(roadKey(change.getFromCity(), change.getToCity()));
+        }
+        long previousVersion = event.getPrevious().version();
+        long currentVersion = event.getCurrent().version();
+
+        for (Map.Entry<Key, Entry> cached : cache.asMap().entrySet()) {
+            Entry entry = cached.getValue();
+            if (entry.version != previousVersion) {
+                continue;
+            }
+            if (usesAny(entry.response, changedRoads)) {
+                if (cache.asMap().remove(cached.getKey(), entry)) {
+                    invalidations.increment();
+                }
+            } else {
+                cache.asMap().replace(cached.getKey(), entry, new Entry(currentVersion, entry.response));
+            }
+        }
+    }
+
+    private static boolean usesAny(RouteResponse response, Set<String> roads) {
+        for (RoadDTO road : response.getPathRoads()) {
+            if (roads.contains(roadKey(road.getFromCity(), road.getToCity()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String roadKey(String fromCity, String toCity) {
+        return fromCity + "->" + toCity;
+    }
+
+    public Stats stats() {
+        // Run pending eviction work so the size and eviction count are current
+        cache.cleanUp();
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), cache.estimatedSize());
+    }
+
+    /**
+     * Cache counters since startup.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+        private final long size;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class Key {
+        private final String source;
+        private final String destination;
+    }
+
+    @AllArgsConstructor
+    private static final class Entry {
+        private final long version;
+        private final RouteResponse response;
+    }
+}
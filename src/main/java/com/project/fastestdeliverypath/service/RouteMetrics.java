@@ -0,0 +1,183 @@
+package com.project.fastestdeliverypath.service;
+
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.search.SearchCounters;
+import com.project.fastestdeliverypath.search.SearchWorkspaces;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation of route queries, published through {@code /actuator/metrics}
+ * and {@code /actuator/prometheus}.
+ *
+ * <ul>
+ *     <li>{@code route.query.phase}: time per phase, tagged {@code phase}</li>
+ *     <li>{@code route.query}: total time per query, tagged {@code outcome}; queries that shared
+ *     the search of an identical query in flight count as {@code coalesced}</li>
+ *     <li>{@code route.search.settled}, {@code route.search.relaxed},
+ *     {@code route.search.heap.operations}: search work per query</li>
+ * </ul>
+ *
+ * All of them publish p50, p95 and p99 and a percentile histogram. Meters are registered once
+ * up front, so recording is a clock read and an update of an existing meter. When disabled,
+ * queries get a no-op timer and nothing is measured at all.
+ */
+@Component
+public class RouteMetrics {
+
+    public enum Phase {
+        GRAPH("graph"),
+        CACHE("cache"),
+        CITY_LOOKUP("city_lookup"),
+        SEARCH_QUEUE("search_queue"),
+        SEARCH("search"),
+        RECONSTRUCTION("reconstruction"),
+        RESPONSE_MAPPING("response_mapping");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum Outcome {
+        FOUND, CACHED, COALESCED, NOT_FOUND
+    }
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final boolean enabled;
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+    private final Map<Outcome, Timer> queryTimers = new EnumMap<>(Outcome.class);
+    private final DistributionSummary settledCities;
+    private final DistributionSummary relaxedEdges;
+    private final DistributionSummary heapOperations;
+
+    public RouteMetrics(MeterRegistry registry, RoutingProperties routingProperties) {
+        this.enabled = routingProperties.getMetrics().isEnabled();
+        for (Phase phase : Phase.values()) {
+            phaseTimers.put(phase, Timer.builder("route.query.phase")
+                    .description("Time spent in one phase of a route query")
+                    .tag("phase", phase.tag)
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (Outcome outcome : Outcome.values()) {
+            queryTimers.put(outcome, Timer.builder("route.query")
+                    .description("Total time of a route query")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        settledCities = summary(registry, "route.search.settled", "Cities settled per route search");
+        relaxedEdges = summary(registry, "route.search.relaxed", "Edge relaxations that improved a distance per route search");
+        heapOperations = summary(registry, "route.search.heap.operations", "Heap inserts, decreases and polls per route search");
+    }
+
+    private static DistributionSummary summary(MeterRegistry registry, String name, String description) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Starts timing a query; the clock runs from here to the first phase.
+     */
+    public QueryTimer startQuery() {
+        return enabled ? new ActiveQueryTimer() : NO_OP;
+    }
+
+    /**
+     * Times the phases of one query in order. Each call records the time since the previous one.
+     * Not thread-safe; calls must not overlap, but may move to a search thread and back.
+     */
+    public interface QueryTimer {
+
+        /**
+         * Records the time since the previous phase as the given phase.
+         */
+        void phase(Phase phase);
+
+        /**
+         * Marks the start of the route search, on the thread that runs the search.
+         */
+        void beginSearch();
+
+        /**
+         * Records the time since the previous phase as search and path reconstruction, split
+         * by the reconstruction time the search reported, along with its work counters.
+         */
+        void endSearch();
+
+        /**
+         * Records the total time of the query.
+         */
+        void finish(Outcome outcome);
+    }
+
+    private static final QueryTimer NO_OP = new QueryTimer() {
+        @Override
+        public void phase(Phase phase) {
+        }
+
+        @Override
+        public void beginSearch() {
+        }
+
+        @Override
+        public void endSearch() {
+        }
+
+        @Override
+        public void finish(Outcome outcome) {
+        }
+    };
+
+    private final class ActiveQueryTimer implements QueryTimer {
+
+        private final long start = System.nanoTime();
+        private long last = start;
+        private SearchCounters before;
+
+        @Override
+        public void phase(Phase phase) {
+            long now = System.nanoTime();
+            phaseTimers.get(phase).record(now - last, TimeUnit.NANOSECONDS);
+            last = now;
+        }
+
+        @Override
+        public void beginSearch() {
+            before = SearchWorkspaces.counters();
+        }
+
+        @Override
+        public void endSearch() {
+            SearchCounters work = SearchWorkspaces.counters().since(before);
+            long now = System.nanoTime();
+            long reconstruction = Math.min(work.getReconstructionNanos(), now - last);
+            phaseTimers.get(Phase.SEARCH).record(now - last - reconstruction, TimeUnit.NANOSECONDS);
+            phaseTimers.get(Phase.RECONSTRUCTION).record(reconstruction, TimeUnit.NANOSECONDS);
+            settledCities.record(work.getSettledCities());
+            relaxedEdges.record(work.getRelaxedEdges());
+            heapOperations.record(work.getHeapOperations());
+            last = now;
+        }
+
+        @Override
+        public void finish(Outcome outcome) {
+            queryTimers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
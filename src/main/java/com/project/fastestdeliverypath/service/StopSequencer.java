@@ -0,0 +1,153 @@
+package com.project.fastestdeliverypath.service;
+
+/**
+ * Orders the stops of a delivery run over a travel time matrix: a nearest neighbour tour,
+ * then 2-opt segment reversals and or-opt moves of up to three consecutive stops, kept
+ * whenever they shorten the tour, until no move helps or the time limit is reached.
+ *
+ * Index 0 of the matrix is the start city and the stops are 1..n. Travel times may differ
+ * by direction, so every candidate order is costed in full rather than by edge deltas; with
+ * tens of stops that is still only microseconds per move.
+ */
+final class StopSequencer {
+
+    /**
+     * Cost of a leg with no route, high enough that any order avoiding it is cheaper.
+     */
+    static final long NO_ROUTE = 1L << 40;
+
+    private static final int MAX_MOVED_STOPS = 3;
+
+    private final int[][] travelTimes;
+    private final boolean returnToStart;
+    private final long deadline;
+
+    private StopSequencer(int[][] travelTimes, boolean returnToStart, long deadline) {
+        this.travelTimes = travelTimes;
+        this.returnToStart = returnToStart;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Returns the stops, as matrix indices from 1, in visiting order.
+     *
+     * @param travelTimes   square matrix over the start and the stops, negative where there is no route
+     * @param returnToStart whether the tour ends back at the start
+     * @param timeLimitNanos time allowed for improving the first tour
+     */
+    static int[] order(int[][] travelTimes, boolean returnToStart, long timeLimitNanos) {
+        StopSequencer sequencer = new StopSequencer(travelTimes, returnToStart, System.nanoTime() + timeLimitNanos);
+        int[] order = sequencer.nearestNeighbour();
+        sequencer.improve(order);
+        return order;
+    }
+
+    /**
+     * Total cost of visiting the stops in the given order, with {@link #NO_ROUTE} per missing leg.
+     */
+    private long cost(int[] order) {
+        long cost = 0;
+        int previous = 0;
+        for (int stop : order) {
+            cost += leg(previous, stop);
+            previous = stop;
+        }
+        return returnToStart ? cost + leg(previous, 0) : cost;
+    }
+
+    private long leg(int from, int to) {
+        int travelTime = travelTimes[from][to];
+        return travelTime < 0 ? NO_ROUTE : travelTime;
+    }
+
+    private int[] nearestNeighbour() {
+        int stopCount = travelTimes.length - 1;
+        int[] order = new int[stopCount];
+        boolean[] visited = new boolean[stopCount + 1];
+        int current = 0;
+        for (int i = 0; i < stopCount; i++) {
+            int next = -1;
+            for (int stop = 1; stop <= stopCount; stop++) {
+                if (!visited[stop] && (next < 0 || leg(current, stop) < leg(current, next))) {
+                    next = stop;
+                }
+            }
+            order[i] = next;
+            visited[next] = true;
+            current = next;
+        }
+        return order;
+    }
+
+    private void improve(int[] order) {
+        long best = cost(order);
+        int[] candidate = new int[order.length];
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            improved = false;
+
+            // 2-opt: reverse order[i..j]
+            for (int i = 0; i < order.length - 1 && System.nanoTime() < deadline; i++) {
+                for (int j = i + 1; j < order.length; j++) {
+                    reverse(order, i, j);
+                    long cost = cost(order);
+                    if (cost < best) {
+                        best = cost;
+                        improved = true;
+                    } else {
+                        reverse(order, i, j);
+                    }
+                }
+            }
+
+            // Or-opt: move order[i..i+length) to another position
+            for (int length = 1; length <= MAX_MOVED_STOPS; length++) {
+                for (int i = 0; i + length <= order.length && System.nanoTime() < deadline; i++) {
+                    for (int to = 0; to <= order.length - length; to++) {
+                        if (to == i) {
+                            continue;
+                        }
+                        move(order, i, length, to, candidate);
+                        long cost = cost(candidate);
+                        if (cost < best) {
+                            best = cost;
+                            System.arraycopy(candidate, 0, order, 0, order.length);
+                            improved = true;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reverse(int[] order, int from, int to) {
+        for (; from < to; from++, to--) {
+            int swap = order[from];
+            order[from] = order[to];
+            order[to] = swap;
+        }
+    }
+
+    /**
+     * Writes the order with {@code length} stops from {@code from} taken out and put back so
+     * that the first of them ends up at index {@code to}.
+     */
+    private static void move(int[] order, int from, int length, int to, int[] result) {
+        int at = 0;
+        int rest = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (i >= from && i < from + length) {
+                continue;
+            }
+            if (rest == to) {
+                System.arraycopy(order, from, result, at, length);
+                at += length;
+            }
+            result[at++] = order[i];
+            rest++;
+        }
+        if (rest == to) {
+            System.arraycopy(order, from, result, at, length);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.fastestdeliverypath.service;
+
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.dto.RouteResponse;
+import com.project.fastestdeliverypath.dto.TourResponse;
+import com.project.fastestdeliverypath.exception.NoRouteFoundException;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphHolder;
+import com.project.fastestdeliverypath.search.DijkstraSearch;
+import com.project.fastestdeliverypath.search.RoutePath;
+import com.project.fastestdeliverypath.search.SearchPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plans multi-stop delivery runs: orders the stops to keep the total travel time low and
+ * returns the full road-by-road tour.
+ */
+@Service
+@Slf4j
+public class TourService {
+
+    private final RoadGraphHolder roadGraphHolder;
+    private final TravelTimeMatrixService travelTimeMatrixService;
+    private final SearchPool searchPool;
+    private final long timeLimitNanos;
+
+    public TourService(RoadGraphHolder roadGraphHolder, TravelTimeMatrixService travelTimeMatrixService,
+                       SearchPool searchPool, RoutingProperties routingProperties) {
+        this.roadGraphHolder = roadGraphHolder;
+        this.travelTimeMatrixService = travelTimeMatrixService;
+        this.searchPool = searchPool;
+        this.timeLimitNanos = TimeUnit.MILLISECONDS.toNanos(routingProperties.getTour().getTimeLimitMillis());
+    }
+
+    /**
+     * Orders the stops with one travel time matrix over the start and all stops, then searches
+     * the route of every leg in parallel and joins them into one path.
+     * Everything runs against a single graph snapshot.
+     *
+     * @param startCity     the city the driver starts from
+     * @param stops         the cities to visit; repeated stops and the start city are visited once
+     * @param returnToStart whether the tour ends back at the start city
+     * @return TourResponse with the stop order and the full path, roads and total time
+     * @throws NoRouteFoundException if a city does not exist or a stop cannot be reached
+     */
+    public TourResponse planTour(String startCity, List<String> stops, boolean returnToStart) {
+        RoadGraph graph = roadGraphHolder.current();
+        Set<String> cities = new LinkedHashSet<>();
+        cities.add(resolve(graph, startCity, "Start"));
+        for (String stop : stops) {
+            cities.add(resolve(graph, stop, "Stop"));
+        }
+        List<String> names = List.copyOf(cities);
+        int[] ids = names.stream().mapToInt(graph::cityId).toArray();
+
+        long start = System.nanoTime();
+        int[][] travelTimes = travelTimeMatrixService.computeMatrix(travelTimeMatrixService.prepare(graph, names, names));
+        long matrixDone = System.nanoTime();
+        int[] order = StopSequencer.order(travelTimes, returnToStart, timeLimitNanos);
+        log.info("Ordered {} stops from {} in {} ms, matrix {} ms", order.length, names.get(0),
+                (System.nanoTime() - start) / 1_000_000, (matrixDone - start) / 1_000_000);
+
+        // Visits as matrix indices: the start, the ordered stops and the start again if returning
+        int[] visits = new int[order.length + (returnToStart ? 2 : 1)];
+        System.arraycopy(order, 0, visits, 1, order.length);
+        List<Integer> legs = new ArrayList<>(visits.length - 1);
+        for (int leg = 0; leg < visits.length - 1; leg++) {
+            if (travelTimes[visits[leg]][visits[leg + 1]] == TravelTimeMatrixService.UNREACHABLE) {
+                throw new NoRouteFoundException("No route found between " + names.get(visits[leg])
+                        + " and " + names.get(visits[leg + 1]) + ".");
+            }
+            legs.add(leg);
+        }
+        List<RoutePath> paths = searchPool.map(legs,
+                leg -> DijkstraSearch.shortestPath(graph, ids[visits[leg]], ids[visits[leg + 1]]));
+
+        RouteResponse route = PathfindingService.toRouteResponse(graph, stitch(ids[0], paths));
+        List<String> stopOrder = new ArrayList<>(order.length);
+        for (int stop : order) {
+            stopOrder.add(names.get(stop));
+        }
+        return new TourResponse(stopOrder, route.getPathCities(), route.getPathRoads(),
+                route.getTotalTravelTimeMinutes());
+    }
+
+    private static String resolve(RoadGraph graph, String city, String role) {
+        String normalized = city.trim().toUpperCase();
+        if (graph.cityId(normalized) < 0) {
+            throw new NoRouteFoundException(role + " city not found: " + city);
+        }
+        return normalized;
+    }
+
+    /**
+     * Joins consecutive legs into one path; each leg starts where the previous one ended.
+     */
+    private static RoutePath stitch(int start, List<RoutePath> legs) {
+        int hops = 0;
+        int totalTravelTime = 0;
+        for (RoutePath leg : legs) {
+            hops += leg.getTravelTimes().length;
+            totalTravelTime += leg.getTotalTravelTime();
+        }
+
+        int[] cities = new int[hops + 1];
+        int[] travelTimes = new int[hops];
+        cities[0] = start;
+        int at = 0;
+        for (RoutePath leg : legs) {
+            int legHops = leg.getTravelTimes().length;
+            System.arraycopy(leg.getCities(), 1, cities, at + 1, legHops);
+            System.arraycopy(leg.getTravelTimes(), 0, travelTimes, at, legHops);
+            at += legHops;
+        }
+        return new RoutePath(cities, travelTimes, totalTravelTime);
+    }
+}
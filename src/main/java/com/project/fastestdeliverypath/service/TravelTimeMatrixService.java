@@ -0,0 +1,180 @@
+package com.project.fastestdeliverypath.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.exception.NoRouteFoundException;
+import com.project.fastestdeliverypath.exception.RequestTooLargeException;
+import com.project.fastestdeliverypath.exception.SearchCapacityExceededException;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphHolder;
+import com.project.fastestdeliverypath.search.DijkstraSearch;
+import com.project.fastestdeliverypath.search.SearchPool;
+import com.project.fastestdeliverypath.search.SearchWorkspace;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Computes many-to-many travel time matrices, one row per source city.
+ */
+@Service
+@Slf4j
+public class TravelTimeMatrixService {
+
+    /**
+     * Written for pairs with no route between them.
+     */
+    public static final int UNREACHABLE = -1;
+
+    private final RoadGraphHolder roadGraphHolder;
+    private final SearchPool searchPool;
+    private final ObjectMapper objectMapper;
+    private final long maxMatrixCells;
+
+    public TravelTimeMatrixService(RoadGraphHolder roadGraphHolder, SearchPool searchPool, ObjectMapper objectMapper,
+                                   RoutingProperties routingProperties) {
+        this.roadGraphHolder = roadGraphHolder;
+        this.searchPool = searchPool;
+        this.objectMapper = objectMapper;
+        this.maxMatrixCells = routingProperties.getLimits().getMaxMatrixCells();
+    }
+
+    /**
+     * Resolves the cities of a matrix request against the current graph snapshot, so unknown
+     * cities are reported before any output is written.
+     *
+     * @throws NoRouteFoundException if a city does not exist
+     * @throws RequestTooLargeException if the matrix has more cells than allowed
+     */
+    public MatrixQuery prepare(List<String> sources, List<String> destinations) {
+        return prepare(roadGraphHolder.current(), sources, destinations);
+    }
+
+    /**
+     * Resolves the cities of a matrix against the given snapshot, for callers that go on to
+     * use the same snapshot for other queries.
+     *
+     * @throws NoRouteFoundException if a city does not exist
+     * @throws RequestTooLargeException if the matrix has more cells than allowed
+     */
+    public MatrixQuery prepare(RoadGraph graph, List<String> sources, List<String> destinations) {
+        long cells = (long) sources.size() * destinations.size();
+        if (cells > maxMatrixCells) {
+            throw new RequestTooLargeException("At most " + maxMatrixCells + " cells are allowed in one matrix, got "
+                    + sources.size() + "x" + destinations.size());
+        }
+        int[] sourceIds = resolve(graph, sources, "Source");
+        int[] destinationIds = resolve(graph, destinations, "Destination");
+        return new MatrixQuery(graph, normalize(sources), sourceIds, normalize(destinations), destinationIds);
+    }
+
+    /**
+     * Computes the full matrix in memory. Rows are searched in parallel.
+     */
+    public int[][] computeMatrix(MatrixQuery query) {
+        List<Integer> rows = new ArrayList<>(query.sourceIds.length);
+        for (int row = 0; row < query.sourceIds.length; row++) {
+            rows.add(row);
+        }
+        return searchPool.map(rows, row -> computeRow(query, row)).toArray(new int[0][]);
+    }
+
+    /**
+     * Writes the matrix as JSON, one row at a time as soon as it is ready. Only a bounded
+     * window of rows is searched ahead of the writer, so memory stays flat however many
+     * sources there are. The window is reserved on the search pool before anything is written,
+     * and rows still being searched are cancelled if the client goes away.
+     *
+     * @throws SearchCapacityExceededException if the search pool has no capacity left
+     */
+    public void writeMatrix(MatrixQuery query, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+
+        try (SearchPool.Reservation reservation = searchPool.reserve(searchPool.window());
+             JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("sources");
+            for (String source : query.sourceNames) {
+                json.writeString(source);
+            }
+            json.writeEndArray();
+            json.writeArrayFieldStart("destinations");
+            for (String destination : query.destinationNames) {
+                json.writeString(destination);
+            }
+            json.writeEndArray();
+            json.writeNumberField("unreachable", UNREACHABLE);
+            json.writeArrayFieldStart("travelTimes");
+
+            Deque<Future<int[]>> pending = new ArrayDeque<>();
+            try {
+                int nextRow = 0;
+                while (nextRow < query.sourceIds.length || !pending.isEmpty()) {
+                    while (nextRow < query.sourceIds.length && pending.size() < reservation.size()) {
+                        int row = nextRow++;
+                        pending.add(reservation.submit(() -> computeRow(query, row)));
+                    }
+                    int[] travelTimes = searchPool.await(pending.poll());
+                    json.writeArray(travelTimes, 0, travelTimes.length);
+                    json.flush();
+                }
+            } finally {
+                // Empty after a complete write; otherwise the rows nobody will read
+                pending.forEach(row -> row.cancel(false));
+            }
+
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+
+        log.info("Streamed {}x{} travel time matrix in {} ms", query.sourceIds.length,
+                query.destinationIds.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private int[] computeRow(MatrixQuery query, int row) {
+        int[] travelTimes = DijkstraSearch.travelTimes(query.graph, query.sourceIds[row], query.destinationIds);
+        for (int i = 0; i < travelTimes.length; i++) {
+            if (travelTimes[i] == SearchWorkspace.UNREACHED) {
+                travelTimes[i] = UNREACHABLE;
+            }
+        }
+        return travelTimes;
+    }
+
+    private static List<String> normalize(List<String> cities) {
+        return cities.stream().map(city -> city.trim().toUpperCase()).toList();
+    }
+
+    private static int[] resolve(RoadGraph graph, List<String> cities, String role) {
+        int[] ids = new int[cities.size()];
+        for (int i = 0; i < ids.length; i++) {
+            String city = cities.get(i);
+            ids[i] = city == null ? -1 : graph.cityId(city.trim().toUpperCase());
+            if (ids[i] < 0) {
+                throw new NoRouteFoundException(role + " city not found: " + city);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Matrix cities resolved against one graph snapshot.
+     */
+    @AllArgsConstructor
+    public static class MatrixQuery {
+        private final RoadGraph graph;
+        private final List<String> sourceNames;
+        private final int[] sourceIds;
+        private final List<String> destinationNames;
+        private final int[] destinationIds;
+    }
+}
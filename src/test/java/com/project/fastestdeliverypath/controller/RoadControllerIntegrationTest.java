@@ -4,22 +4,35 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.fastestdeliverypath.dto.RoadRequest;
 import com.project.fastestdeliverypath.entity.City;
 import com.project.fastestdeliverypath.entity.Road;
+import com.project.fastestdeliverypath.graph.GraphStorage;
+import com.project.fastestdeliverypath.graph.NetworkFingerprint;
+import com.project.fastestdeliverypath.graph.RoadChange;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphHolder;
 import com.project.fastestdeliverypath.repository.CityRepository;
+import com.project.fastestdeliverypath.repository.RoadNetworkRepository;
 import com.project.fastestdeliverypath.repository.RoadRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -44,6 +57,15 @@ class RoadControllerIntegrationTest {
     @Autowired
     private CityRepository cityRepository;
 
+    @Autowired
+    private RoadNetworkRepository roadNetworkRepository;
+
+    @Autowired
+    private RoadGraphHolder roadGraphHolder;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         // Clean database before each test
@@ -191,4 +213,160 @@ class RoadControllerIntegrationTest {
         List<Road> roads = roadRepository.findAll();
         assertEquals(2, roads.size());
     }
+
+    /**
+     * Test 8: Bulk upsert creates cities, inserts new roads and updates existing ones
+     */
+    @Test
+    void testBulkUpsertRoads_Success() throws Exception {
+        mockMvc.perform(post("/roads")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(new RoadRequest("Tbilisi", "Batumi", 360)))));
+
+        List<RoadRequest> requests = Arrays.asList(
+                new RoadRequest("Tbilisi", "Batumi", 300),
+                new RoadRequest("Batumi", "Gonio", 45),
+                new RoadRequest("Gonio", "Kutaisi", 200));
+
+        mockMvc.perform(post("/roads/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.roadsReceived", is(3)))
+                .andExpect(jsonPath("$.roadsUpserted", is(3)))
+                .andExpect(jsonPath("$.citiesCreated", is(2)));
+
+        assertEquals(4, cityRepository.findAll().size());
+        List<Road> roads = roadRepository.findAll();
+        assertEquals(3, roads.size());
+        City tbilisi = cityRepository.findByName("TBILISI").orElseThrow();
+        City batumi = cityRepository.findByName("BATUMI").orElseThrow();
+        assertEquals(300, roadRepository.findByFromCityAndToCity(tbilisi, batumi).orElseThrow().getTravelTimeMinutes());
+    }
+
+    /**
+     * Test 9: Streaming NDJSON import with a rejected line
+     */
+    @Test
+    void testImportRoads_Ndjson() throws Exception {
+        String body = """
+                {"fromCity":"Tbilisi","toCity":"Batumi","travelTimeMinutes":360}
+                {"fromCity":"Batumi","toCity":"","travelTimeMinutes":45}
+                {"fromCity":"Batumi","toCity":"Gonio","travelTimeMinutes":45}
+                """;
+
+        mockMvc.perform(post("/roads/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roadsImported", is(2)))
+                .andExpect(jsonPath("$.rejectedCount", is(1)))
+                .andExpect(jsonPath("$.rejectedLines[0].lineNumber", is(2)))
+                .andExpect(jsonPath("$.rejectedLines[0].error", is("To city cannot be empty")));
+
+        assertEquals(2, roadRepository.findAll().size());
+    }
+
+    /**
+     * Test 10: Streaming CSV import
+     */
+    @Test
+    void testImportRoads_Csv() throws Exception {
+        String body = "fromCity,toCity,travelTimeMinutes\nTbilisi,Batumi,360\nBatumi,Gonio,45\n";
+
+        mockMvc.perform(post("/roads/import")
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linesRead", is(3)))
+                .andExpect(jsonPath("$.roadsImported", is(2)))
+                .andExpect(jsonPath("$.chunksCommitted", is(1)));
+
+        assertEquals(3, cityRepository.findAll().size());
+    }
+
+    /**
+     * Test 11: Renaming a city to a name of the same length changes the network fingerprint
+     */
+    @Test
+    void testFingerprint_ChangesOnSameLengthRename() {
+        City batumi = cityRepository.save(new City("BATUMI"));
+        roadRepository.save(new Road(cityRepository.save(new City("TBILISI")), batumi, 360));
+        NetworkFingerprint before = roadNetworkRepository.fingerprint();
+        assertEquals(before, roadNetworkRepository.fingerprint());
+
+        batumi.setName("BATUMA");
+        cityRepository.save(batumi);
+
+        NetworkFingerprint after = roadNetworkRepository.fingerprint();
+        assertEquals(before.getCityCount(), after.getCityCount());
+        assertNotEquals(before, after);
+    }
+
+    /**
+     * Test 12: Changed roads are read back with their committed travel times, unknown roads are left out
+     */
+    @Test
+    void testCurrentRoads_ReadsCommittedTravelTimes() throws Exception {
+        mockMvc.perform(post("/roads")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(
+                                new RoadRequest("Tbilisi", "Batumi", 360),
+                                new RoadRequest("Tbilisi", "Batumi", 250)))))
+                .andExpect(status().isCreated());
+
+        List<RoadChange> current = roadNetworkRepository.currentRoads(List.of(
+                new RoadChange("TBILISI", "BATUMI", 360),
+                new RoadChange("BATUMI", "TBILISI", 100)));
+
+        assertEquals(List.of(new RoadChange("TBILISI", "BATUMI", 250)), current);
+    }
+
+    /**
+     * Test 13: A road and city committed between the city and road queries of a load are left out together
+     */
+    @Test
+    void testLoadGraph_CityCommittedBetweenQueries_ReadsOneSnapshot() {
+        City tbilisi = cityRepository.save(new City("TBILISI"));
+        roadRepository.save(new Road(tbilisi, cityRepository.save(new City("BATUMI")), 360));
+        boolean[] cityRowsRead = {false};
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            if (!cityRowsRead[0]) {
+                cityRowsRead[0] = true;
+                // Commits on another connection, after the cities were read and before the roads are
+                CompletableFuture.runAsync(() ->
+                        roadRepository.save(new Road(tbilisi, cityRepository.save(new City("GONIO")), 400))).join();
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        RoadGraph graph = roadNetworkRepository.loadGraph(1, GraphStorage.HEAP);
+
+        assertEquals(2, graph.cityCount());
+        assertEquals(1, graph.roadCount());
+        assertFalse(graph.containsCity("GONIO"));
+        assertEquals(2, roadRepository.count());
+    }
+
+    /**
+     * Test 14: Imported roads reach the resident graph once the import announces them
+     */
+    @Test
+    void testImportRoads_AnnouncedToResidentGraph() throws Exception {
+        roadGraphHolder.current();
+        String body = "{\"fromCity\":\"Zugdidi\",\"toCity\":\"Mestia\",\"travelTimeMinutes\":131}\n";
+
+        mockMvc.perform(post("/roads/import")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roadsImported", is(1)));
+
+        RoadGraph graph = roadGraphHolder.current();
+        int zugdidi = graph.cityId("ZUGDIDI");
+        int slot = graph.findOutEdge(zugdidi, graph.cityId("MESTIA"));
+        assertTrue(slot >= 0);
+        assertEquals(131, graph.outWeight(zugdidi, slot));
+    }
 }
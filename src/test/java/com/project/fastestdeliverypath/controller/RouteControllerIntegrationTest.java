@@ -1,9 +1,15 @@
 package com.project.fastestdeliverypath.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.fastestdeliverypath.dto.IsochroneRequest;
+import com.project.fastestdeliverypath.dto.MatrixRequest;
+import com.project.fastestdeliverypath.dto.NearestDepotRequest;
+import com.project.fastestdeliverypath.dto.RoadRequest;
 import com.project.fastestdeliverypath.dto.RouteRequest;
+import com.project.fastestdeliverypath.dto.TourRequest;
 import com.project.fastestdeliverypath.entity.City;
 import com.project.fastestdeliverypath.entity.Road;
+import com.project.fastestdeliverypath.graph.RoadGraphHolder;
 import com.project.fastestdeliverypath.repository.CityRepository;
 import com.project.fastestdeliverypath.repository.RoadRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,9 +19,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -25,6 +38,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@TestPropertySource(properties = {"routing.limits.max-batch-pairs=3", "routing.limits.max-matrix-cells=9"})
 class RouteControllerIntegrationTest {
 
     @Autowired
@@ -39,6 +53,9 @@ class RouteControllerIntegrationTest {
     @Autowired
     private CityRepository cityRepository;
 
+    @Autowired
+    private RoadGraphHolder roadGraphHolder;
+
     private City tbilisi;
     private City batumi;
     private City kutaisi;
@@ -62,6 +79,9 @@ class RouteControllerIntegrationTest {
     void testFindFastestRoute_DirectPath() throws Exception {
         roadRepository.save(new Road(tbilisi, batumi, 360));
 
+        // Roads are seeded through the repositories, so refresh the resident graph
+        roadGraphHolder.reload();
+
         RouteRequest request = new RouteRequest("Tbilisi", "Batumi");
 
         mockMvc.perform(post("/routes/fastest")
@@ -86,6 +106,7 @@ class RouteControllerIntegrationTest {
         roadRepository.save(new Road(tbilisi, batumi, 360));
         roadRepository.save(new Road(batumi, gonio, 45));
 
+        roadGraphHolder.reload();
         RouteRequest request = new RouteRequest("Tbilisi", "Gonio");
 
         mockMvc.perform(post("/routes/fastest")
@@ -113,6 +134,7 @@ class RouteControllerIntegrationTest {
         roadRepository.save(new Road(tbilisi, kutaisi, 240));
         roadRepository.save(new Road(kutaisi, gonio, 300));
 
+        roadGraphHolder.reload();
         RouteRequest request = new RouteRequest("Tbilisi", "Gonio");
 
         mockMvc.perform(post("/routes/fastest")
@@ -130,6 +152,7 @@ class RouteControllerIntegrationTest {
     void testFindFastestRoute_NoRouteExists() throws Exception {
         roadRepository.save(new Road(kutaisi, batumi, 100));
 
+        roadGraphHolder.reload();
         RouteRequest request = new RouteRequest("Tbilisi", "Gonio");
 
         mockMvc.perform(post("/routes/fastest")
@@ -144,6 +167,7 @@ class RouteControllerIntegrationTest {
      */
     @Test
     void testFindFastestRoute_SourceCityNotFound() throws Exception {
+        roadGraphHolder.reload();
         RouteRequest request = new RouteRequest("NonExistent", "Batumi");
 
         mockMvc.perform(post("/routes/fastest")
@@ -158,6 +182,7 @@ class RouteControllerIntegrationTest {
      */
     @Test
     void testFindFastestRoute_DestinationCityNotFound() throws Exception {
+        roadGraphHolder.reload();
         RouteRequest request = new RouteRequest("Tbilisi", "NonExistent");
 
         mockMvc.perform(post("/routes/fastest")
@@ -174,6 +199,7 @@ class RouteControllerIntegrationTest {
     void testFindFastestRoute_CaseInsensitive() throws Exception {
         roadRepository.save(new Road(tbilisi, batumi, 360));
 
+        roadGraphHolder.reload();
         RouteRequest request = new RouteRequest("tbilisi", "batumi");
 
         mockMvc.perform(post("/routes/fastest")
@@ -208,6 +234,7 @@ class RouteControllerIntegrationTest {
         roadRepository.save(new Road(batumi, tbilisi, 100)); // Cycle back to Tbilisi
         roadRepository.save(new Road(tbilisi, gonio, 500));   // Direct but longer path
 
+        roadGraphHolder.reload();
         RouteRequest request = new RouteRequest("Tbilisi", "Gonio");
 
         mockMvc.perform(post("/routes/fastest")
@@ -223,6 +250,7 @@ class RouteControllerIntegrationTest {
      */
     @Test
     void testFindFastestRoute_SameSourceAndDestination() throws Exception {
+        roadGraphHolder.reload();
         RouteRequest request = new RouteRequest("Tbilisi", "Tbilisi");
 
         mockMvc.perform(post("/routes/fastest")
@@ -233,4 +261,241 @@ class RouteControllerIntegrationTest {
                 .andExpect(jsonPath("$.pathCities[0]", is("TBILISI")))
                 .andExpect(jsonPath("$.totalTravelTimeMinutes", is(0)));
     }
+
+    /**
+     * Test 11: Roads written through the API are visible to route queries without a reload
+     */
+    @Test
+    void testFindFastestRoute_AfterRoadUpdate() throws Exception {
+        roadRepository.save(new Road(tbilisi, batumi, 360));
+        roadGraphHolder.reload();
+
+        mockMvc.perform(post("/roads")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(
+                                new RoadRequest("Tbilisi", "Batumi", 200),
+                                new RoadRequest("Batumi", "Gonio", 45)))))
+                .andExpect(status().isCreated());
+
+        RouteRequest request = new RouteRequest("Tbilisi", "Gonio");
+
+        mockMvc.perform(post("/routes/fastest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pathCities", hasSize(3)))
+                .andExpect(jsonPath("$.totalTravelTimeMinutes", is(245)));
+    }
+
+    /**
+     * Test 12: Travel time lookup without the path
+     */
+    @Test
+    void testFindTravelTime_MultipleHops() throws Exception {
+        roadRepository.save(new Road(tbilisi, batumi, 360));
+        roadRepository.save(new Road(batumi, gonio, 45));
+        roadRepository.save(new Road(tbilisi, kutaisi, 240));
+        roadRepository.save(new Road(kutaisi, gonio, 300));
+
+        roadGraphHolder.reload();
+        RouteRequest request = new RouteRequest("Tbilisi", "Gonio");
+
+        mockMvc.perform(post("/routes/travel-time")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sourceCity", is("TBILISI")))
+                .andExpect(jsonPath("$.destinationCity", is("GONIO")))
+                .andExpect(jsonPath("$.totalTravelTimeMinutes", is(405)));
+    }
+
+    /**
+     * Test 13: Batch of routes with one failing pair
+     */
+    @Test
+    void testFindFastestRoutes_Batch() throws Exception {
+        roadRepository.save(new Road(tbilisi, batumi, 360));
+        roadRepository.save(new Road(batumi, gonio, 45));
+        roadRepository.save(new Road(tbilisi, kutaisi, 240));
+
+        roadGraphHolder.reload();
+
+        mockMvc.perform(post("/routes/fastest/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(
+                                new RouteRequest("Tbilisi", "Gonio"),
+                                new RouteRequest("Kutaisi", "Gonio"),
+                                new RouteRequest("Tbilisi", "Kutaisi")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].route.totalTravelTimeMinutes", is(405)))
+                .andExpect(jsonPath("$[0].route.pathCities", hasSize(3)))
+                .andExpect(jsonPath("$[1].error", is("No route found between Kutaisi and Gonio.")))
+                .andExpect(jsonPath("$[2].route.totalTravelTimeMinutes", is(240)));
+    }
+
+    /**
+     * Test 14: Streamed travel time matrix
+     */
+    @Test
+    void testComputeMatrix_Streamed() throws Exception {
+        roadRepository.save(new Road(tbilisi, batumi, 360));
+        roadRepository.save(new Road(batumi, gonio, 45));
+        roadRepository.save(new Road(tbilisi, kutaisi, 240));
+
+        roadGraphHolder.reload();
+        MatrixRequest request = new MatrixRequest(List.of("Tbilisi", "Kutaisi"), List.of("Gonio", "Kutaisi"));
+
+        MvcResult result = mockMvc.perform(post("/routes/matrix")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sources", contains("TBILISI", "KUTAISI")))
+                .andExpect(jsonPath("$.travelTimes[0]", contains(405, 240)))
+                .andExpect(jsonPath("$.travelTimes[1]", contains(-1, 0)));
+    }
+
+    /**
+     * Test 15: Unknown matrix city is reported before streaming
+     */
+    @Test
+    void testComputeMatrix_UnknownCity() throws Exception {
+        roadGraphHolder.reload();
+        MatrixRequest request = new MatrixRequest(List.of("Tbilisi"), List.of("Atlantis"));
+
+        mockMvc.perform(post("/routes/matrix")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error", is("Destination city not found: Atlantis")));
+    }
+
+    /**
+     * Test 16: Cities within several time budgets of a depot
+     */
+    @Test
+    void testFindReachableCities_MultipleBudgets() throws Exception {
+        roadRepository.save(new Road(tbilisi, kutaisi, 240));
+        roadRepository.save(new Road(kutaisi, batumi, 150));
+        roadRepository.save(new Road(batumi, gonio, 45));
+
+        roadGraphHolder.reload();
+        IsochroneRequest request = new IsochroneRequest("Tbilisi", List.of(400, 240, 100));
+
+        mockMvc.perform(post("/routes/isochrone")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sourceCity", is("TBILISI")))
+                .andExpect(jsonPath("$.budgets[*].budgetMinutes", contains(100, 240, 400)))
+                .andExpect(jsonPath("$.budgets[*].cityCount", contains(0, 1, 2)))
+                .andExpect(jsonPath("$.cities[*].city", contains("KUTAISI", "BATUMI")))
+                .andExpect(jsonPath("$.cities[*].travelTimeMinutes", contains(240, 390)));
+    }
+
+    /**
+     * Test 17: Negative time budget is rejected
+     */
+    @Test
+    void testFindReachableCities_NegativeBudget() throws Exception {
+        IsochroneRequest request = new IsochroneRequest("Tbilisi", List.of(60, -30));
+
+        mockMvc.perform(post("/routes/isochrone")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test 18: Nearest depot to a customer city, with its route
+     */
+    @Test
+    void testFindNearestDepots_BestDepot() throws Exception {
+        roadRepository.save(new Road(tbilisi, kutaisi, 240));
+        roadRepository.save(new Road(kutaisi, batumi, 150));
+        roadRepository.save(new Road(gonio, batumi, 45));
+
+        roadGraphHolder.reload();
+        NearestDepotRequest request = new NearestDepotRequest("Batumi", List.of("Tbilisi", "Gonio"), null);
+
+        mockMvc.perform(post("/routes/nearest-depot")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.destinationCity", is("BATUMI")))
+                .andExpect(jsonPath("$.depots", hasSize(1)))
+                .andExpect(jsonPath("$.depots[0].depotCity", is("GONIO")))
+                .andExpect(jsonPath("$.depots[0].route.pathCities", contains("GONIO", "BATUMI")))
+                .andExpect(jsonPath("$.depots[0].route.totalTravelTimeMinutes", is(45)));
+    }
+
+    /**
+     * Test 19: Multi-stop tour with the stops ordered along the roads
+     */
+    @Test
+    void testPlanTour_OrderedStops() throws Exception {
+        roadRepository.save(new Road(tbilisi, kutaisi, 240));
+        roadRepository.save(new Road(kutaisi, batumi, 150));
+        roadRepository.save(new Road(batumi, gonio, 45));
+        roadRepository.save(new Road(gonio, tbilisi, 500));
+
+        roadGraphHolder.reload();
+        TourRequest request = new TourRequest("Tbilisi", List.of("Gonio", "Kutaisi"), false);
+
+        mockMvc.perform(post("/routes/tour")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stopOrder", contains("KUTAISI", "GONIO")))
+                .andExpect(jsonPath("$.pathCities", contains("TBILISI", "KUTAISI", "BATUMI", "GONIO")))
+                .andExpect(jsonPath("$.pathRoads", hasSize(3)))
+                .andExpect(jsonPath("$.totalTravelTimeMinutes", is(435)));
+    }
+
+    /**
+     * Test 20: Blank or missing matrix city is a validation error, not an unknown city
+     */
+    @Test
+    void testComputeMatrix_BlankCity() throws Exception {
+        MatrixRequest request = new MatrixRequest(Arrays.asList("Tbilisi", " "), Arrays.asList("Gonio", null));
+
+        mockMvc.perform(post("/routes/matrix")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Source city is required")))
+                .andExpect(content().string(containsString("Destination city is required")));
+    }
+
+    /**
+     * Test 21: A batch with more pairs than allowed is rejected before any search
+     */
+    @Test
+    void testFindFastestRoutes_BatchTooLarge() throws Exception {
+        mockMvc.perform(post("/routes/fastest/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Collections.nCopies(4,
+                                new RouteRequest("Tbilisi", "Gonio")))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("At most 3 pairs are allowed in one batch, got 4")));
+    }
+
+    /**
+     * Test 22: A matrix with more cells than allowed is rejected before anything is streamed
+     */
+    @Test
+    void testComputeMatrix_TooLarge() throws Exception {
+        MatrixRequest request = new MatrixRequest(List.of("Tbilisi", "Kutaisi"),
+                List.of("Tbilisi", "Kutaisi", "Batumi", "Gonio", "Tbilisi"));
+
+        mockMvc.perform(post("/routes/matrix")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("At most 9 cells are allowed in one matrix, got 2x5")));
+    }
 }
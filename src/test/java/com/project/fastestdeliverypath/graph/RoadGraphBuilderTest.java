@@ -0,0 +1,48 @@
+package com.project.fastestdeliverypath.graph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RoadGraphBuilder
+ */
+class RoadGraphBuilderTest {
+
+    /**
+     * Test 1: Streamed rows build the graph, with road endpoints resolved by database id
+     */
+    @Test
+    void testBuild_ResolvesDatabaseIds() {
+        RoadGraphBuilder builder = new RoadGraphBuilder();
+        builder.addCity(3L, "TBILISI");
+        builder.addCity(10L, "BATUMI");
+        builder.addCity(42L, "KUTAISI");
+        builder.addRoad(3L, 42L, 240);
+        builder.addRoad(42L, 10L, 150);
+
+        RoadGraph graph = builder.build(7, GraphStorage.OFF_HEAP);
+
+        assertEquals(7, graph.version());
+        assertEquals(3, graph.cityCount());
+        assertEquals(2, graph.roadCount());
+        assertEquals(0, graph.cityId("TBILISI"));
+        int kutaisi = graph.cityId("KUTAISI");
+        assertEquals(1, graph.outDegree(kutaisi));
+        assertEquals("BATUMI", graph.cityName(graph.outTarget(kutaisi, 0)));
+        assertEquals(150, graph.outWeight(kutaisi, 0));
+        assertEquals("TBILISI", graph.cityName(graph.inSource(kutaisi, 0)));
+    }
+
+    /**
+     * Test 2: Cities out of id order and roads to unknown cities are rejected
+     */
+    @Test
+    void testBuild_RejectsInvalidRows() {
+        RoadGraphBuilder builder = new RoadGraphBuilder();
+        builder.addCity(5L, "TBILISI");
+
+        assertThrows(IllegalArgumentException.class, () -> builder.addCity(2L, "BATUMI"));
+        assertThrows(IllegalStateException.class, () -> builder.addRoad(5L, 9L, 100));
+    }
+}
@@ -0,0 +1,165 @@
+package com.project.fastestdeliverypath.graph;
+
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.entity.City;
+import com.project.fastestdeliverypath.entity.Road;
+import com.project.fastestdeliverypath.repository.RoadNetworkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RoadGraphHolder
+ */
+@ExtendWith(MockitoExtension.class)
+class RoadGraphHolderTest {
+
+    @Mock
+    private RoadNetworkRepository roadNetworkRepository;
+
+    @Mock
+    private RoadGraphSnapshotStore snapshotStore;
+
+    @Spy
+    private RoutingProperties routingProperties = new RoutingProperties();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private RoadGraphHolder roadGraphHolder;
+
+    private City tbilisi;
+    private City batumi;
+    private City kutaisi;
+
+    @BeforeEach
+    void setUp() {
+        tbilisi = new City(1L, "TBILISI", new ArrayList<>(), new ArrayList<>());
+        batumi = new City(2L, "BATUMI", new ArrayList<>(), new ArrayList<>());
+        kutaisi = new City(3L, "KUTAISI", new ArrayList<>(), new ArrayList<>());
+
+        List<City> cities = Arrays.asList(tbilisi, batumi, kutaisi);
+        List<Road> roads = Arrays.asList(
+                new Road(1L, tbilisi, batumi, 360),
+                new Road(2L, kutaisi, batumi, 150));
+        when(roadNetworkRepository.loadGraph(anyLong(), any(GraphStorage.class))).thenAnswer(invocation ->
+                RoadGraph.of(cities, roads, invocation.getArgument(0), invocation.getArgument(1)));
+    }
+
+    /**
+     * Test 1: Snapshot is loaded once and shared
+     */
+    @Test
+    void testCurrent_LoadsOnce() {
+        RoadGraph first = roadGraphHolder.current();
+        RoadGraph second = roadGraphHolder.current();
+
+        assertSame(first, second);
+        assertEquals(1, first.version());
+        assertEquals(2, first.roadCount());
+        verify(roadNetworkRepository, times(1)).loadGraph(anyLong(), any(GraphStorage.class));
+    }
+
+    /**
+     * Test 2: Committed changes publish a new version built from the previous one
+     */
+    @Test
+    void testOnRoadsChanged_PublishesNewVersion() {
+        when(roadNetworkRepository.currentRoads(anyCollection()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<RoadChange>>getArgument(0)));
+        RoadGraph before = roadGraphHolder.current();
+
+        roadGraphHolder.onRoadsChanged(new RoadsChangedEvent(List.of(
+                new RoadChange("TBILISI", "BATUMI", 300),
+                new RoadChange("TBILISI", "GONIO", 400))));
+
+        RoadGraph after = roadGraphHolder.current();
+        assertEquals(2, after.version());
+        assertEquals(3, after.roadCount());
+        assertTrue(after.containsCity("GONIO"));
+        int tbilisiId = after.cityId("TBILISI");
+        assertEquals(tbilisiId, before.cityId("TBILISI"));
+        assertEquals(2, after.outDegree(tbilisiId));
+        assertEquals(300, after.outWeight(tbilisiId, 0));
+        assertEquals("GONIO", after.cityName(after.outTarget(tbilisiId, 1)));
+
+        // The previous snapshot is left untouched for readers still holding it
+        assertEquals(1, before.outDegree(tbilisiId));
+        assertEquals(360, before.outWeight(tbilisiId, 0));
+        assertFalse(before.containsCity("GONIO"));
+        verify(roadNetworkRepository, times(1)).loadGraph(anyLong(), any(GraphStorage.class));
+        verify(eventPublisher, times(2)).publishEvent(any(RoadGraphUpdatedEvent.class));
+    }
+
+    /**
+     * Test 3: A missing or stale snapshot file falls back to the database and is rewritten
+     */
+    @Test
+    void testCurrent_SnapshotFileStale_LoadsFromDatabaseAndRewritesFile() {
+        NetworkFingerprint fingerprint = new NetworkFingerprint(3, 42, 2, 7);
+        when(snapshotStore.isEnabled()).thenReturn(true);
+        when(roadNetworkRepository.fingerprint()).thenReturn(fingerprint);
+        when(snapshotStore.load(fingerprint, 1)).thenReturn(null);
+
+        RoadGraph graph = roadGraphHolder.current();
+
+        assertEquals(2, graph.roadCount());
+        verify(roadNetworkRepository, times(1)).loadGraph(anyLong(), any(GraphStorage.class));
+        verify(snapshotStore).save(graph, fingerprint);
+    }
+
+    /**
+     * Test 4: Off-heap rows answer the same queries and are reported outside the heap
+     */
+    @Test
+    void testCurrent_OffHeapStorage_ReportsFootprint() {
+        routingProperties.setGraphStorage(GraphStorage.OFF_HEAP);
+
+        RoadGraph graph = roadGraphHolder.current();
+        RoadGraph.Footprint footprint = graph.footprint();
+
+        int kutaisi = graph.cityId("KUTAISI");
+        assertEquals(150, graph.outWeight(kutaisi, 0));
+        assertEquals("BATUMI", graph.cityName(graph.outTarget(kutaisi, 0)));
+        assertEquals(1, graph.inDegree(kutaisi) + graph.outDegree(kutaisi));
+        // Offsets for 3 cities and target/weight entries for 2 roads, in both directions
+        assertEquals(2 * 4 * (4 + 2 + 2), footprint.getOffHeapBytes());
+        assertTrue(footprint.getHeapBytes() > 0);
+        assertTrue(footprint.getBytesPerRoad() > 0);
+    }
+
+    /**
+     * Test 5: A change whose listener runs after a newer commit does not bring back its older travel time
+     */
+    @Test
+    void testOnRoadsChanged_LateOlderChange_KeepsCommittedTravelTime() {
+        // Both writes have committed, the newer one with 250, before their listeners run in reverse order
+        when(roadNetworkRepository.currentRoads(anyCollection()))
+                .thenReturn(List.of(new RoadChange("TBILISI", "BATUMI", 250)));
+        roadGraphHolder.current();
+
+        roadGraphHolder.onRoadsChanged(new RoadsChangedEvent(List.of(new RoadChange("TBILISI", "BATUMI", 250))));
+        roadGraphHolder.onRoadsChanged(new RoadsChangedEvent(List.of(new RoadChange("TBILISI", "BATUMI", 300))));
+
+        RoadGraph after = roadGraphHolder.current();
+        assertEquals(3, after.version());
+        assertEquals(250, after.outWeight(after.cityId("TBILISI"), 0));
+    }
+}
@@ -0,0 +1,136 @@
+package com.project.fastestdeliverypath.graph;
+
+import com.project.fastestdeliverypath.entity.City;
+import com.project.fastestdeliverypath.entity.Road;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RoadGraphSnapshotStore
+ */
+class RoadGraphSnapshotStoreTest {
+
+    private static final NetworkFingerprint FINGERPRINT = new NetworkFingerprint(3, 42, 3, 7);
+
+    @TempDir
+    Path directory;
+
+    private RoadGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        City tbilisi = new City(1L, "TBILISI", new ArrayList<>(), new ArrayList<>());
+        City batumi = new City(2L, "BATUMI", new ArrayList<>(), new ArrayList<>());
+        City kutaisi = new City(3L, "KUTAISI", new ArrayList<>(), new ArrayList<>());
+        graph = RoadGraph.of(List.of(tbilisi, batumi, kutaisi), List.of(
+                new Road(1L, tbilisi, kutaisi, 240),
+                new Road(2L, kutaisi, batumi, 150),
+                new Road(3L, tbilisi, batumi, 420)));
+    }
+
+    /**
+     * Test 1: A mapped snapshot has the same cities and rows as the graph it was written from
+     */
+    @Test
+    void testReadWrite_RoundTrip() throws IOException {
+        Path file = directory.resolve("graph.snapshot");
+        RoadGraphSnapshotStore.write(graph, FINGERPRINT, file);
+
+        RoadGraph mapped = RoadGraphSnapshotStore.read(file, FINGERPRINT, 5);
+
+        assertNotNull(mapped);
+        assertEquals(5, mapped.version());
+        assertEquals(graph.cityCount(), mapped.cityCount());
+        assertEquals(graph.roadCount(), mapped.roadCount());
+        for (int city = 0; city < graph.cityCount(); city++) {
+            assertEquals(graph.cityName(city), mapped.cityName(city));
+            assertEquals(city, mapped.cityId(graph.cityName(city)));
+            assertEquals(graph.outDegree(city), mapped.outDegree(city));
+            for (int slot = 0; slot < graph.outDegree(city); slot++) {
+                assertEquals(graph.outTarget(city, slot), mapped.outTarget(city, slot));
+                assertEquals(graph.outWeight(city, slot), mapped.outWeight(city, slot));
+            }
+            assertEquals(graph.inDegree(city), mapped.inDegree(city));
+            for (int slot = 0; slot < graph.inDegree(city); slot++) {
+                assertEquals(graph.inSource(city, slot), mapped.inSource(city, slot));
+                assertEquals(graph.inWeight(city, slot), mapped.inWeight(city, slot));
+            }
+        }
+    }
+
+    /**
+     * Test 2: A file written from a database with another fingerprint is not used
+     */
+    @Test
+    void testRead_StaleFingerprint_ReturnsNull() throws IOException {
+        Path file = directory.resolve("graph.snapshot");
+        RoadGraphSnapshotStore.write(graph, FINGERPRINT, file);
+
+        assertNull(RoadGraphSnapshotStore.read(file, new NetworkFingerprint(3, 42, 4, 9), 1));
+    }
+
+    /**
+     * Test 3: A truncated file is rejected instead of mapped
+     */
+    @Test
+    void testRead_TruncatedFile_Throws() throws IOException {
+        Path file = directory.resolve("graph.snapshot");
+        RoadGraphSnapshotStore.write(graph, FINGERPRINT, file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IOException.class, () -> RoadGraphSnapshotStore.read(file, FINGERPRINT, 1));
+    }
+
+    /**
+     * Test 4: Changes on top of a mapped snapshot copy only the touched rows
+     */
+    @Test
+    void testWithChanges_OnMappedSnapshot() throws IOException {
+        Path file = directory.resolve("graph.snapshot");
+        RoadGraphSnapshotStore.write(graph, FINGERPRINT, file);
+        RoadGraph mapped = RoadGraphSnapshotStore.read(file, FINGERPRINT, 1);
+
+        RoadGraph changed = mapped.withChanges(List.of(
+                new RoadChange("TBILISI", "KUTAISI", 200),
+                new RoadChange("BATUMI", "GONIO", 30)), 2);
+
+        int tbilisi = changed.cityId("TBILISI");
+        int batumi = changed.cityId("BATUMI");
+        assertEquals(4, changed.roadCount());
+        assertEquals(200, changed.outWeight(tbilisi, changed.findOutEdge(tbilisi, changed.cityId("KUTAISI"))));
+        assertEquals(1, changed.outDegree(batumi));
+        assertEquals(1, changed.inDegree(changed.cityId("GONIO")));
+        assertEquals(240, mapped.outWeight(tbilisi, mapped.findOutEdge(tbilisi, mapped.cityId("KUTAISI"))));
+        assertEquals(0, mapped.outDegree(batumi));
+    }
+
+    /**
+     * Test 5: A file written in the native byte order is used, one marked with the other order is stale
+     */
+    @Test
+    void testRead_OtherByteOrder_ReturnsNull() throws IOException {
+        Path file = directory.resolve("graph.snapshot");
+        RoadGraphSnapshotStore.write(graph, FINGERPRINT, file);
+        byte[] bytes = Files.readAllBytes(file);
+        byte nativeOrder = (byte) (ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? 0 : 1);
+        assertEquals(nativeOrder, bytes[RoadGraphSnapshotStore.BYTE_ORDER_OFFSET]);
+        assertNotNull(RoadGraphSnapshotStore.read(file, FINGERPRINT, 1));
+
+        bytes[RoadGraphSnapshotStore.BYTE_ORDER_OFFSET] = (byte) (1 - nativeOrder);
+        Files.write(file, bytes);
+
+        assertNull(RoadGraphSnapshotStore.read(file, FINGERPRINT, 1));
+    }
+}
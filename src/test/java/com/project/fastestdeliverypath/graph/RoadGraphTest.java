@@ -0,0 +1,83 @@
+package com.project.fastestdeliverypath.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RoadGraph
+ */
+class RoadGraphTest {
+
+    /**
+     * Test 1: A long chain of small versions, adding cities and roads, keeps every row and older versions intact
+     */
+    @Test
+    void testWithChanges_ManyVersions_MatchExpectedRoads() {
+        RoadGraphBuilder builder = new RoadGraphBuilder();
+        for (int city = 0; city < 200; city++) {
+            builder.addCity(city + 1L, "CITY-" + city);
+        }
+        RoadGraph graph = builder.build(1, GraphStorage.OFF_HEAP);
+        Map<String, Map<String, Integer>> expected = new HashMap<>();
+
+        Random random = new Random(11);
+        RoadGraph first = null;
+        for (int version = 2; version <= 400; version++) {
+            String from = "CITY-" + random.nextInt(260);
+            String to = "CITY-" + random.nextInt(260);
+            int travelTime = 1 + random.nextInt(100);
+            graph = graph.withChanges(List.of(new RoadChange(from, to, travelTime)), version);
+            expected.computeIfAbsent(from, city -> new HashMap<>()).put(to, travelTime);
+            if (first == null) {
+                first = graph;
+            }
+        }
+
+        int roadCount = 0;
+        for (Map.Entry<String, Map<String, Integer>> row : expected.entrySet()) {
+            int city = graph.cityId(row.getKey());
+            assertEquals(row.getKey(), graph.cityName(city));
+            Map<String, Integer> actual = new HashMap<>();
+            for (int slot = 0; slot < graph.outDegree(city); slot++) {
+                actual.put(graph.cityName(graph.outTarget(city, slot)), graph.outWeight(city, slot));
+            }
+            assertEquals(row.getValue(), actual);
+            roadCount += actual.size();
+        }
+        assertEquals(roadCount, graph.roadCount());
+        assertEquals(1, first.roadCount());
+        assertTrue(graph.cityCount() > 200);
+        assertTrue(graph.footprint().getHeapBytes() > 0);
+    }
+
+    /**
+     * Test 2: Added cities whose names share a hash code get their own ids
+     */
+    @Test
+    void testWithChanges_AddedCitiesWithSameHash_ResolveByName() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        RoadGraphBuilder builder = new RoadGraphBuilder();
+        for (int city = 0; city < 40; city++) {
+            builder.addCity(city + 1L, "CITY-" + city);
+        }
+        RoadGraph graph = builder.build(1, GraphStorage.HEAP);
+
+        RoadGraph changed = graph.withChanges(List.of(
+                new RoadChange("Aa", "CITY-0", 10),
+                new RoadChange("BB", "CITY-0", 20)), 2);
+
+        assertEquals(42, changed.cityCount());
+        assertNotEquals(changed.cityId("Aa"), changed.cityId("BB"));
+        assertEquals("BB", changed.cityName(changed.cityId("BB")));
+        assertEquals(20, changed.outWeight(changed.cityId("BB"), 0));
+        assertEquals(2, changed.inDegree(changed.cityId("CITY-0")));
+        assertFalse(graph.containsCity("Aa"));
+        assertEquals(-1, changed.cityId("Ab"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadChange;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphUpdatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AltEngine
+ */
+class AltEngineTest {
+
+    /**
+     * Test 1: Same travel times as Dijkstra on random sparse networks
+     */
+    @Test
+    void testFindPath_MatchesDijkstra() {
+        for (long seed = 1; seed <= 5; seed++) {
+            // Every random graph has version 1, so each one needs its own engine
+            AltEngine engine = new AltEngine(4, new BidirectionalDijkstraEngine(), Runnable::run);
+            RoadGraph graph = TestGraphs.random(seed, 200, 3);
+            TestGraphs.assertMatchesDijkstra(engine, graph, seed, 200);
+        }
+    }
+
+    /**
+     * Test 2: Tables stay in use after roads only got slower, and are rebuilt otherwise
+     */
+    @Test
+    void testOnRoadGraphUpdated_CarriesTablesForwardOnlyForSlowerRoads() {
+        AtomicInteger fallbackCalls = new AtomicInteger();
+        RouteEngine countingFallback = new RouteEngine() {
+            @Override
+            public String name() {
+                return "counting";
+            }
+
+            @Override
+            public RoutePath findPath(RoadGraph graph, int source, int target) {
+                fallbackCalls.incrementAndGet();
+                return DijkstraSearch.shortestPath(graph, source, target);
+            }
+        };
+        // Builds only run when explicitly triggered, to observe the state in between
+        List<Runnable> pendingBuilds = new ArrayList<>();
+        AltEngine engine = new AltEngine(4, countingFallback, pendingBuilds::add);
+
+        RoadGraph graph = TestGraphs.random(3, 100, 3);
+        engine.findPath(graph, 0, 1);
+        pendingBuilds.remove(0).run();
+        assertEquals(1, fallbackCalls.get());
+
+        int from = firstCityWithRoad(graph);
+        String fromName = graph.cityName(from);
+        String toName = graph.cityName(graph.outTarget(from, 0));
+
+        RoadGraph slower = graph.withChanges(List.of(
+                new RoadChange(fromName, toName, graph.outWeight(from, 0) + 50)), 2);
+        engine.onRoadGraphUpdated(new RoadGraphUpdatedEvent(graph, slower, List.of(
+                new RoadChange(fromName, toName, graph.outWeight(from, 0) + 50))));
+        TestGraphs.assertMatchesDijkstra(engine, slower, 3, 100);
+        assertEquals(1, fallbackCalls.get());
+
+        RoadGraph faster = slower.withChanges(List.of(new RoadChange(fromName, toName, 0)), 3);
+        engine.onRoadGraphUpdated(new RoadGraphUpdatedEvent(slower, faster,
+                List.of(new RoadChange(fromName, toName, 0))));
+        TestGraphs.assertMatchesDijkstra(engine, faster, 3, 100);
+        assertEquals(101, fallbackCalls.get());
+
+        pendingBuilds.forEach(Runnable::run);
+        TestGraphs.assertMatchesDijkstra(engine, faster, 4, 100);
+        assertEquals(101, fallbackCalls.get());
+    }
+
+    private int firstCityWithRoad(RoadGraph graph) {
+        for (int city = 0; city < graph.cityCount(); city++) {
+            if (graph.outDegree(city) > 0) {
+                return city;
+            }
+        }
+        throw new AssertionError("Graph has no roads");
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadChange;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Unit tests for BidirectionalDijkstraEngine
+ */
+class BidirectionalDijkstraEngineTest {
+
+    private final BidirectionalDijkstraEngine engine = new BidirectionalDijkstraEngine();
+
+    /**
+     * Test 1: Same travel times as Dijkstra on random sparse networks
+     */
+    @Test
+    void testFindPath_MatchesDijkstra() {
+        for (long seed = 1; seed <= 5; seed++) {
+            RoadGraph graph = TestGraphs.random(seed, 200, 3);
+            TestGraphs.assertMatchesDijkstra(engine, graph, seed, 200);
+        }
+    }
+
+    /**
+     * Test 2: Reverse roads stay correct after incremental updates
+     */
+    @Test
+    void testFindPath_AfterIncrementalUpdate() {
+        RoadGraph graph = TestGraphs.random(7, 100, 2)
+                .withChanges(List.of(
+                        new RoadChange("CITY1", "CITY2", 0),
+                        new RoadChange("CITY2", "NEWCITY", 5),
+                        new RoadChange("NEWCITY", "CITY3", 1)), 2);
+
+        TestGraphs.assertMatchesDijkstra(engine, graph, 7, 300);
+    }
+}
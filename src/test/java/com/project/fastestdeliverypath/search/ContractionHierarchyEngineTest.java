@@ -0,0 +1,64 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadChange;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphUpdatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ContractionHierarchyEngine
+ */
+class ContractionHierarchyEngineTest {
+
+    /**
+     * Test 1: Same travel times as Dijkstra on random sparse networks, with shortcuts unpacked into real roads
+     */
+    @Test
+    void testFindPath_MatchesDijkstra() {
+        for (long seed = 1; seed <= 5; seed++) {
+            // Every random graph has version 1, so each one needs its own engine
+            ContractionHierarchyEngine engine = new ContractionHierarchyEngine(new BidirectionalDijkstraEngine(), Runnable::run);
+            RoadGraph graph = TestGraphs.random(seed, 300, 3);
+            TestGraphs.assertMatchesDijkstra(engine, graph, seed, 300);
+
+            ContractionHierarchy.Stats stats = engine.stats(graph);
+            assertNotNull(stats);
+            assertTrue(stats.getEdgeCount() >= graph.roadCount() - stats.getShortcutCount());
+            assertTrue(stats.getMemoryBytes() > 0);
+        }
+    }
+
+    /**
+     * Test 2: Any road change falls back to plain search, reported as such, until the hierarchy is rebuilt
+     */
+    @Test
+    void testOnRoadGraphUpdated_FallsBackUntilRebuilt() {
+        List<Runnable> pendingBuilds = new ArrayList<>();
+        ContractionHierarchyEngine engine = new ContractionHierarchyEngine(new BidirectionalDijkstraEngine(), pendingBuilds::add);
+
+        RoadGraph graph = TestGraphs.random(7, 100, 3);
+        assertEquals(BidirectionalDijkstraEngine.NAME, engine.resolve(graph).name());
+        pendingBuilds.remove(0).run();
+        assertNotNull(engine.stats(graph));
+        assertEquals(ContractionHierarchyEngine.NAME, engine.resolve(graph).name());
+
+        String fromName = graph.cityName(0);
+        String toName = graph.cityName(1);
+        List<RoadChange> changes = List.of(new RoadChange(fromName, toName, 1));
+        RoadGraph changed = graph.withChanges(changes, 2);
+        engine.onRoadGraphUpdated(new RoadGraphUpdatedEvent(graph, changed, changes));
+
+        assertNull(engine.stats(changed));
+        assertEquals(BidirectionalDijkstraEngine.NAME, engine.resolve(changed).name());
+        TestGraphs.assertMatchesDijkstra(engine, changed, 7, 100);
+
+        pendingBuilds.forEach(Runnable::run);
+        assertNotNull(engine.stats(changed));
+        TestGraphs.assertMatchesDijkstra(engine, changed, 8, 100);
+    }
+}
@@ -0,0 +1,82 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphUpdatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DepotTrees
+ */
+class DepotTreesTest {
+
+    /**
+     * Test 1: Tree paths and travel times match Dijkstra, including unreachable cities
+     */
+    @Test
+    void testTrees_MatchDijkstra() {
+        SearchPool searchPool = new SearchPool(new RoutingProperties());
+        try {
+            for (long seed = 1; seed <= 3; seed++) {
+                RoadGraph graph = TestGraphs.random(seed, 200, 3);
+                int[] allCities = IntStream.range(0, graph.cityCount()).toArray();
+                DepotTrees trees = DepotTrees.build(graph, allCities, searchPool);
+
+                TestGraphs.assertMatchesDijkstra(new RouteEngine() {
+                    @Override
+                    public String name() {
+                        return "depot trees";
+                    }
+
+                    @Override
+                    public RoutePath findPath(RoadGraph snapshot, int source, int target) {
+                        return trees.tree(source).pathTo(snapshot, target);
+                    }
+                }, graph, seed, 300);
+                int[] distances = DijkstraSearch.allDistances(graph, 7, false);
+                for (int target = 0; target < graph.cityCount(); target++) {
+                    assertEquals(distances[target], trees.tree(7).travelTime(target));
+                }
+                assertEquals(graph.cityCount(), trees.hubCount());
+                assertTrue(trees.memoryBytes() >= graph.cityCount() * 8L * graph.cityCount());
+            }
+        } finally {
+            searchPool.shutdown();
+        }
+    }
+
+    /**
+     * Test 2: Trees are built for every new graph version and their memory is reported
+     */
+    @Test
+    void testLookup_BuildsOnGraphUpdate() {
+        RoutingProperties properties = new RoutingProperties();
+        properties.getDepotTrees().setHubs(List.of("city3", "CITY8", "ATLANTIS"));
+        SearchPool searchPool = new SearchPool(properties);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        List<Runnable> pendingBuilds = new ArrayList<>();
+        DepotTreeLookup lookup = new DepotTreeLookup(properties, searchPool, registry, pendingBuilds::add);
+        RoadGraph graph = TestGraphs.random(4, 100, 3);
+        try {
+            lookup.onRoadGraphUpdated(new RoadGraphUpdatedEvent(null, graph, null));
+            assertNull(lookup.tree(graph, 3));
+
+            pendingBuilds.forEach(Runnable::run);
+
+            assertNotNull(lookup.tree(graph, 3));
+            assertNotNull(lookup.tree(graph, 8));
+            assertNull(lookup.tree(graph, 5));
+            assertEquals(2, lookup.trees(graph).hubCount());
+            assertEquals(lookup.trees(graph).memoryBytes(), registry.get("route.depot.trees.memory").gauge().value());
+        } finally {
+            searchPool.shutdown();
+        }
+    }
+}
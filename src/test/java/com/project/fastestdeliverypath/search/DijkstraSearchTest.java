@@ -0,0 +1,48 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.project.fastestdeliverypath.search.SearchWorkspace.UNREACHED;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DijkstraSearch
+ */
+class DijkstraSearchTest {
+
+    /**
+     * Test 1: One backward search finds the same nearest sources and travel times as a search per source
+     */
+    @Test
+    void testNearestSources_MatchesSearchPerSource() {
+        for (long seed = 1; seed <= 5; seed++) {
+            RoadGraph graph = TestGraphs.random(seed, 200, 3);
+            Random random = new Random(seed);
+            int target = random.nextInt(graph.cityCount());
+            int[] sources = random.ints(20, 0, graph.cityCount()).distinct().toArray();
+
+            int[] expected = Arrays.stream(sources)
+                    .map(source -> DijkstraSearch.travelTimes(graph, source, new int[]{target})[0])
+                    .filter(travelTime -> travelTime != UNREACHED)
+                    .sorted()
+                    .toArray();
+            RoutePath[] paths = DijkstraSearch.nearestSources(graph, target, sources, 5);
+
+            assertEquals(Math.min(5, expected.length), paths.length);
+            for (int i = 0; i < paths.length; i++) {
+                assertEquals(expected[i], paths[i].getTotalTravelTime());
+                int[] cities = paths[i].getCities();
+                assertEquals(target, cities[cities.length - 1]);
+                assertEquals(paths[i].getTotalTravelTime(), Arrays.stream(paths[i].getTravelTimes()).sum());
+                for (int hop = 0; hop < cities.length - 1; hop++) {
+                    int slot = graph.findOutEdge(cities[hop], cities[hop + 1]);
+                    assertEquals(graph.outWeight(cities[hop], slot), paths[i].getTravelTimes()[hop]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HubLabels
+ */
+class HubLabelsTest {
+
+    /**
+     * Test 1: Label lookups give the same travel times as Dijkstra, including unreachable pairs
+     */
+    @Test
+    void testTravelTime_MatchesDijkstra() {
+        for (long seed = 1; seed <= 5; seed++) {
+            RoadGraph graph = TestGraphs.random(seed, 200, 3);
+            HubLabels labels = HubLabels.build(graph);
+            Random random = new Random(seed);
+
+            for (int i = 0; i < 50; i++) {
+                int source = random.nextInt(graph.cityCount());
+                int[] distances = DijkstraSearch.allDistances(graph, source, false);
+                for (int target = 0; target < graph.cityCount(); target++) {
+                    assertEquals(distances[target], labels.travelTime(source, target), source + " -> " + target);
+                }
+            }
+            assertEquals(graph.cityCount(), labels.cityCount());
+            assertTrue(labels.memoryBytes() > 0);
+        }
+    }
+
+    /**
+     * Test 2: Lookup falls back to a search until the labels are built
+     */
+    @Test
+    void testLookup_FallsBackUntilBuilt() {
+        List<Runnable> pendingBuilds = new ArrayList<>();
+        HubLabelLookup lookup = new HubLabelLookup(new BidirectionalDijkstraEngine(),
+                new SearchPool(new RoutingProperties()), pendingBuilds::add);
+        RoadGraph graph = TestGraphs.random(9, 100, 3);
+        int[] distances = DijkstraSearch.allDistances(graph, 0, false);
+
+        assertEquals(distances[1], lookup.travelTime(graph, 0, 1));
+        assertNull(lookup.labels(graph));
+
+        pendingBuilds.forEach(Runnable::run);
+        assertNotNull(lookup.labels(graph));
+        for (int target = 0; target < graph.cityCount(); target++) {
+            assertEquals(distances[target], lookup.travelTime(graph, 0, target));
+        }
+    }
+
+    /**
+     * Test 3: Fallback searches run on the route search lane when searches are offloaded
+     */
+    @Test
+    void testLookup_FallbackRunsOnSearchLane() {
+        RoutingProperties properties = new RoutingProperties();
+        properties.getExecution().setOffloadSearches(true);
+        SearchPool searchPool = new SearchPool(properties);
+        List<String> searchThreads = new ArrayList<>();
+        RouteEngine fallback = new RouteEngine() {
+            @Override
+            public String name() {
+                return "recording";
+            }
+
+            @Override
+            public RoutePath findPath(RoadGraph graph, int source, int target) {
+                searchThreads.add(Thread.currentThread().getName());
+                return new BidirectionalDijkstraEngine().findPath(graph, source, target);
+            }
+        };
+        HubLabelLookup lookup = new HubLabelLookup(fallback, searchPool, task -> { });
+        RoadGraph graph = TestGraphs.random(9, 100, 3);
+
+        assertEquals(DijkstraSearch.allDistances(graph, 0, false)[1], lookup.travelTime(graph, 0, 1));
+        assertEquals(1, searchThreads.size());
+        assertTrue(searchThreads.get(0).startsWith("route-search-"));
+        searchPool.shutdown();
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.fastestdeliverypath.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IndexedMinHeap
+ */
+class IndexedMinHeapTest {
+
+    /**
+     * Test 1: Ids come out ordered by key
+     */
+    @Test
+    void testPoll_ReturnsIdsInKeyOrder() {
+        IndexedMinHeap heap = new IndexedMinHeap(5);
+        heap.insertOrDecrease(0, 40);
+        heap.insertOrDecrease(1, 10);
+        heap.insertOrDecrease(2, 30);
+        heap.insertOrDecrease(3, 20);
+
+        assertEquals(1, heap.poll());
+        assertEquals(3, heap.poll());
+        assertEquals(2, heap.poll());
+        assertEquals(0, heap.poll());
+        assertTrue(heap.isEmpty());
+    }
+
+    /**
+     * Test 2: Decrease-key moves a queued id instead of queueing it twice
+     */
+    @Test
+    void testInsertOrDecrease_DecreasesKeyInPlace() {
+        IndexedMinHeap heap = new IndexedMinHeap(3);
+        heap.insertOrDecrease(0, 10);
+        heap.insertOrDecrease(1, 50);
+
+        assertTrue(heap.insertOrDecrease(1, 5));
+        assertFalse(heap.insertOrDecrease(1, 7));
+        assertEquals(2, heap.size());
+        assertEquals(5, heap.peekKey());
+        assertEquals(1, heap.poll());
+        assertFalse(heap.contains(1));
+    }
+
+    /**
+     * Test 3: Clearing forgets all queued ids
+     */
+    @Test
+    void testClear_ForgetsQueuedIds() {
+        IndexedMinHeap heap = new IndexedMinHeap(3);
+        heap.insertOrDecrease(2, 1);
+        heap.insertOrDecrease(0, 2);
+
+        heap.clear();
+
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+        assertFalse(heap.contains(2));
+        assertTrue(heap.insertOrDecrease(2, 9));
+    }
+}
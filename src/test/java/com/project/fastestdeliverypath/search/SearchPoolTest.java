@@ -0,0 +1,163 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.exception.SearchCapacityExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SearchPool
+ */
+class SearchPoolTest {
+
+    /**
+     * Test 1: Without offloading, route searches run on the calling thread
+     */
+    @Test
+    void testRoute_NotOffloaded_RunsOnCallingThread() {
+        SearchPool pool = new SearchPool(new RoutingProperties());
+        try {
+            assertFalse(pool.offloadsRoutes());
+            assertSame(Thread.currentThread(), pool.route(Thread::currentThread));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test 2: Offloaded route searches beyond the threads and the queue are rejected
+     */
+    @Test
+    void testRoute_Offloaded_RejectsWhenQueueIsFull() throws InterruptedException {
+        RoutingProperties properties = new RoutingProperties();
+        properties.setSearchThreads(1);
+        properties.getExecution().setOffloadSearches(true);
+        properties.getExecution().setSearchQueueCapacity(1);
+        SearchPool pool = new SearchPool(properties);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Thread busy = Thread.ofPlatform().start(() -> pool.route(() -> {
+                running.countDown();
+                await(release);
+                return null;
+            }));
+            running.await();
+            Thread queued = Thread.ofPlatform().start(() -> pool.route(() -> null));
+            // Waiting on its result means the search was queued
+            while (queued.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+
+            assertThrows(SearchCapacityExceededException.class, () -> pool.route(() -> null));
+
+            release.countDown();
+            busy.join();
+            queued.join();
+            assertNotSame(Thread.currentThread(), pool.route(Thread::currentThread));
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test 3: Offloading splits the search threads between the route lane and the fan-out pool
+     */
+    @Test
+    void testWindow_Offloaded_SplitsThreadsBetweenLanes() {
+        RoutingProperties properties = new RoutingProperties();
+        properties.setSearchThreads(4);
+        SearchPool shared = new SearchPool(properties);
+        properties.getExecution().setOffloadSearches(true);
+        SearchPool split = new SearchPool(properties);
+        properties.getExecution().setRouteThreads(3);
+        SearchPool mostlyRoutes = new SearchPool(properties);
+        try {
+            assertEquals(8, shared.window());
+            assertEquals(4, split.window());
+            assertEquals(2, mostlyRoutes.window());
+        } finally {
+            shared.shutdown();
+            split.shutdown();
+            mostlyRoutes.shutdown();
+        }
+    }
+
+    /**
+     * Test 4: Fan-out requests beyond the free slots are rejected, and slots come back when a request ends
+     */
+    @Test
+    void testReserve_RejectsWhenSlotsAreTaken() {
+        RoutingProperties properties = new RoutingProperties();
+        properties.setSearchThreads(2);
+        properties.getExecution().setFanOutQueueCapacity(4);
+        SearchPool pool = new SearchPool(properties);
+        try {
+            SearchPool.Reservation reservation = pool.reserve(3);
+            assertEquals(3, reservation.size());
+            assertThrows(SearchCapacityExceededException.class, () -> pool.map(List.of(1, 2), item -> item));
+            assertThrows(SearchCapacityExceededException.class, () -> pool.reserve(2));
+            assertEquals(List.of(2), pool.map(List.of(1), item -> item * 2));
+
+            reservation.close();
+            List<Integer> items = IntStream.range(0, 100).boxed().toList();
+            assertEquals(items.stream().map(item -> item + 1).toList(), pool.map(items, item -> item + 1));
+            pool.reserve(4).close();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test 5: Tasks cancelled before they start give their slot back
+     */
+    @Test
+    void testReservation_CancelledTasksReleaseSlots() throws InterruptedException {
+        RoutingProperties properties = new RoutingProperties();
+        properties.setSearchThreads(1);
+        properties.getExecution().setFanOutQueueCapacity(2);
+        SearchPool pool = new SearchPool(properties);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<Object> busy;
+            try (SearchPool.Reservation reservation = pool.reserve(2)) {
+                busy = reservation.submit(() -> {
+                    running.countDown();
+                    await(release);
+                    return null;
+                });
+                running.await();
+                Future<Object> queued = reservation.submit(() -> null);
+                assertThrows(IllegalStateException.class, () -> reservation.submit(() -> null));
+
+                assertTrue(queued.cancel(false));
+                reservation.submit(() -> null).cancel(false);
+            }
+            // The running task still holds its slot
+            assertThrows(SearchCapacityExceededException.class, () -> pool.reserve(2));
+
+            release.countDown();
+            pool.await(busy);
+            pool.reserve(2).close();
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import org.junit.jupiter.api.Test;
+
+import static com.project.fastestdeliverypath.search.SearchWorkspace.UNREACHED;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SearchWorkspace
+ */
+class SearchWorkspaceTest {
+
+    /**
+     * Test 1: Resetting forgets the previous search without reallocating
+     */
+    @Test
+    void testReset_ForgetsPreviousSearch() {
+        SearchWorkspace workspace = new SearchWorkspace();
+        workspace.reset(4);
+        workspace.start(0);
+        workspace.update(2, 15, 0, 1);
+        workspace.heap().insertOrDecrease(2, 15);
+        int capacity = workspace.capacity();
+
+        workspace.reset(4);
+
+        assertEquals(capacity, workspace.capacity());
+        assertFalse(workspace.isReached(0));
+        assertEquals(UNREACHED, workspace.distance(2));
+        assertTrue(workspace.heap().isEmpty());
+    }
+
+    /**
+     * Test 2: Workspace grows with the graph
+     */
+    @Test
+    void testReset_GrowsForLargerGraph() {
+        SearchWorkspace workspace = new SearchWorkspace();
+        workspace.reset(2);
+
+        workspace.reset(10);
+        workspace.update(9, 7, 3, 0);
+
+        assertTrue(workspace.capacity() >= 10);
+        assertEquals(7, workspace.distance(9));
+        assertEquals(3, workspace.parent(9));
+    }
+
+    /**
+     * Test 3: Returned leases are reused, and no more than the retained number are kept idle
+     */
+    @Test
+    void testAcquire_ReusesBoundedIdleLeases() {
+        SearchWorkspaces.retain(1);
+        SearchWorkspaces.Lease first = SearchWorkspaces.acquire();
+        SearchWorkspaces.Lease second = SearchWorkspaces.acquire();
+        assertNotSame(first, second);
+        first.close();
+        second.close();
+
+        SearchWorkspaces.Lease reused = SearchWorkspaces.acquire();
+        SearchWorkspaces.Lease fresh = SearchWorkspaces.acquire();
+        assertSame(first, reused);
+        assertNotSame(second, fresh);
+        reused.close();
+        fresh.close();
+    }
+
+    /**
+     * Test 4: Searches add their work to the counters of the thread they ran on
+     */
+    @Test
+    void testCounters_FollowThreadAcrossLeases() {
+        RoadGraph graph = TestGraphs.random(3, 50, 3);
+        SearchCounters before = SearchWorkspaces.counters();
+
+        new BidirectionalDijkstraEngine().findPath(graph, 0, 1);
+        DijkstraSearch.shortestPath(graph, 0, 1);
+
+        SearchCounters work = SearchWorkspaces.counters().since(before);
+        assertTrue(work.getSettledCities() > 0);
+        assertTrue(work.getHeapOperations() >= work.getSettledCities());
+    }
+}
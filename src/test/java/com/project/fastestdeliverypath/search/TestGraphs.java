@@ -0,0 +1,87 @@
+package com.project.fastestdeliverypath.search;
+
+import com.project.fastestdeliverypath.entity.City;
+import com.project.fastestdeliverypath.entity.Road;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Random road networks for comparing engines against plain Dijkstra.
+ */
+final class TestGraphs {
+
+    private TestGraphs() {
+    }
+
+    /**
+     * Builds a random directed graph with the given number of cities and roughly
+     * {@code cities * averageDegree} roads. Some cities end up unreachable.
+     */
+    static RoadGraph random(long seed, int cityCount, int averageDegree) {
+        Random random = new Random(seed);
+        List<City> cities = new ArrayList<>();
+        for (int i = 0; i < cityCount; i++) {
+            cities.add(new City((long) i + 1, "CITY" + i, new ArrayList<>(), new ArrayList<>()));
+        }
+
+        List<Road> roads = new ArrayList<>();
+        Set<Long> pairs = new HashSet<>();
+        for (int i = 0; i < cityCount * averageDegree; i++) {
+            int from = random.nextInt(cityCount);
+            int to = random.nextInt(cityCount);
+            if (from != to && pairs.add((long) from * cityCount + to)) {
+                roads.add(new Road((long) roads.size() + 1, cities.get(from), cities.get(to), random.nextInt(100)));
+            }
+        }
+        return RoadGraph.of(cities, roads);
+    }
+
+    /**
+     * Asserts that the engine finds paths of optimal length whose roads add up to the reported total.
+     */
+    static void assertMatchesDijkstra(RouteEngine engine, RoadGraph graph, long seed, int queries) {
+        Random random = new Random(seed);
+        for (int i = 0; i < queries; i++) {
+            int source = random.nextInt(graph.cityCount());
+            int target = random.nextInt(graph.cityCount());
+
+            RoutePath expected = DijkstraSearch.shortestPath(graph, source, target);
+            RoutePath actual = engine.findPath(graph, source, target);
+
+            String query = source + " -> " + target;
+            if (expected == null) {
+                assertNull(actual, query);
+                continue;
+            }
+            assertNotNull(actual, query);
+            assertEquals(expected.getTotalTravelTime(), actual.getTotalTravelTime(), query);
+
+            int[] cities = actual.getCities();
+            assertEquals(source, cities[0], query);
+            assertEquals(target, cities[cities.length - 1], query);
+            int sum = 0;
+            for (int hop = 0; hop < cities.length - 1; hop++) {
+                sum += roadTime(graph, cities[hop], cities[hop + 1]);
+                assertEquals(roadTime(graph, cities[hop], cities[hop + 1]),
+                        actual.getTravelTimes()[hop], query);
+            }
+            assertEquals(actual.getTotalTravelTime(), sum, query);
+        }
+    }
+
+    private static int roadTime(RoadGraph graph, int from, int to) {
+        for (int slot = 0; slot < graph.outDegree(from); slot++) {
+            if (graph.outTarget(from, slot) == to) {
+                return graph.outWeight(from, slot);
+            }
+        }
+        throw new AssertionError("No road from " + from + " to " + to);
+    }
+}
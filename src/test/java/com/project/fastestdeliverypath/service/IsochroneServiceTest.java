@@ -0,0 +1,77 @@
+package com.project.fastestdeliverypath.service;
+
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.dto.IsochroneResponse;
+import com.project.fastestdeliverypath.entity.City;
+import com.project.fastestdeliverypath.entity.Road;
+import com.project.fastestdeliverypath.exception.NoRouteFoundException;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphHolder;
+import com.project.fastestdeliverypath.search.SearchPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for IsochroneService
+ */
+@ExtendWith(MockitoExtension.class)
+class IsochroneServiceTest {
+
+    @Mock
+    private RoadGraphHolder roadGraphHolder;
+
+    private IsochroneService isochroneService;
+
+    @BeforeEach
+    void setUp() {
+        City tbilisi = new City(1L, "TBILISI", new ArrayList<>(), new ArrayList<>());
+        City batumi = new City(2L, "BATUMI", new ArrayList<>(), new ArrayList<>());
+        City kutaisi = new City(3L, "KUTAISI", new ArrayList<>(), new ArrayList<>());
+        City gonio = new City(4L, "GONIO", new ArrayList<>(), new ArrayList<>());
+        when(roadGraphHolder.current()).thenReturn(RoadGraph.of(List.of(tbilisi, batumi, kutaisi, gonio), List.of(
+                new Road(1L, tbilisi, kutaisi, 240),
+                new Road(2L, kutaisi, batumi, 150),
+                new Road(3L, tbilisi, batumi, 420),
+                new Road(4L, batumi, gonio, 45),
+                new Road(5L, gonio, tbilisi, 10))));
+
+        isochroneService = new IsochroneService(roadGraphHolder, new SearchPool(new RoutingProperties()));
+    }
+
+    /**
+     * Test 1: Every budget is answered from one search, with cities by ascending travel time
+     */
+    @Test
+    void testFindReachableCities_MultipleBudgets() {
+        IsochroneResponse response = isochroneService.findReachableCities(" tbilisi ", List.of(400, 240, 30, 240));
+
+        assertEquals("TBILISI", response.getSourceCity());
+        assertEquals(List.of(30, 240, 400), response.getBudgets().stream()
+                .map(IsochroneResponse.BudgetReach::getBudgetMinutes).toList());
+        assertEquals(List.of(0, 1, 2), response.getBudgets().stream()
+                .map(IsochroneResponse.BudgetReach::getCityCount).toList());
+        // Batumi is reached over Kutaisi, and Gonio is beyond the largest budget
+        assertEquals(List.of(new IsochroneResponse.ReachableCity("KUTAISI", 240),
+                new IsochroneResponse.ReachableCity("BATUMI", 390)), response.getCities());
+    }
+
+    /**
+     * Test 2: Unknown source city
+     */
+    @Test
+    void testFindReachableCities_UnknownSource() {
+        NoRouteFoundException exception = assertThrows(NoRouteFoundException.class,
+                () -> isochroneService.findReachableCities("Atlantis", List.of(60)));
+
+        assertEquals("Source city not found: Atlantis", exception.getMessage());
+    }
+}
@@ -1,23 +1,49 @@
 package com.project.fastestdeliverypath.service;
 
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.dto.BatchRouteResult;
+import com.project.fastestdeliverypath.dto.NearestDepotResponse;
+import com.project.fastestdeliverypath.dto.RoadDTO;
+import com.project.fastestdeliverypath.dto.RouteRequest;
 import com.project.fastestdeliverypath.dto.RouteResponse;
+import com.project.fastestdeliverypath.dto.TravelTimeResponse;
 import com.project.fastestdeliverypath.entity.City;
 import com.project.fastestdeliverypath.entity.Road;
 import com.project.fastestdeliverypath.exception.NoRouteFoundException;
-import com.project.fastestdeliverypath.repository.CityRepository;
-import com.project.fastestdeliverypath.repository.RoadRepository;
+import com.project.fastestdeliverypath.exception.RequestTooLargeException;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphHolder;
+import com.project.fastestdeliverypath.jfr.RouteSearchEvent;
+import com.project.fastestdeliverypath.search.BidirectionalDijkstraEngine;
+import com.project.fastestdeliverypath.search.DepotTreeLookup;
+import com.project.fastestdeliverypath.search.DijkstraEngine;
+import com.project.fastestdeliverypath.search.HubLabelLookup;
+import com.project.fastestdeliverypath.search.RouteEngine;
+import com.project.fastestdeliverypath.search.RoutePath;
+import com.project.fastestdeliverypath.search.SearchPool;
+import com.project.fastestdeliverypath.search.ShortestPathTree;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -27,14 +53,15 @@ import static org.mockito.Mockito.when;
 class PathfindingServiceTest {
 
     @Mock
-    private CityRepository cityRepository;
+    private RoadGraphHolder roadGraphHolder;
 
     @Mock
-    private RoadRepository roadRepository;
+    private DepotTreeLookup depotTreeLookup;
 
-    @InjectMocks
     private PathfindingService pathfindingService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private City tbilisi;
     private City batumi;
     private City kutaisi;
@@ -46,6 +73,9 @@ class PathfindingServiceTest {
         batumi = new City(2L, "BATUMI", new java.util.ArrayList<>(), new java.util.ArrayList<>());
         kutaisi = new City(3L, "KUTAISI", new java.util.ArrayList<>(), new java.util.ArrayList<>());
         gonio = new City(4L, "GONIO", new java.util.ArrayList<>(), new java.util.ArrayList<>());
+
+        meterRegistry = new SimpleMeterRegistry();
+        pathfindingService = serviceWithEngine(DijkstraEngine.NAME);
     }
 
     /**
@@ -58,9 +88,7 @@ class PathfindingServiceTest {
 
         Road road1 = new Road(1L, source, destination, 360);
 
-        when(cityRepository.findByName("TBILISI")).thenReturn(Optional.of(source));
-        when(cityRepository.findByName("BATUMI")).thenReturn(Optional.of(destination));
-        when(roadRepository.findAll()).thenReturn(Arrays.asList(road1));
+        givenRoads(Arrays.asList(road1));
 
         RouteResponse result = pathfindingService.findFastestPath("Tbilisi", "Batumi");
 
@@ -88,9 +116,7 @@ class PathfindingServiceTest {
         Road road3 = new Road(3L, source, mid, 240);
         Road road4 = new Road(4L, mid, destination, 300);
 
-        when(cityRepository.findByName("TBILISI")).thenReturn(Optional.of(source));
-        when(cityRepository.findByName("GONIO")).thenReturn(Optional.of(destination));
-        when(roadRepository.findAll()).thenReturn(Arrays.asList(road1, road2, road3, road4));
+        givenRoads(Arrays.asList(road1, road2, road3, road4));
 
         RouteResponse result = pathfindingService.findFastestPath("Tbilisi", "Gonio");
 
@@ -111,9 +137,7 @@ class PathfindingServiceTest {
         City destination = batumi;
         Road road1 = new Road(1L, source, destination, 360);
 
-        when(cityRepository.findByName("TBILISI")).thenReturn(Optional.of(source));
-        when(cityRepository.findByName("BATUMI")).thenReturn(Optional.of(destination));
-        when(roadRepository.findAll()).thenReturn(Arrays.asList(road1));
+        givenRoads(Arrays.asList(road1));
 
         RouteResponse result = pathfindingService.findFastestPath("tbilisi", "batumi");
 
@@ -126,7 +150,7 @@ class PathfindingServiceTest {
      */
     @Test
     void testFindFastestPath_SourceCityNotFound() {
-        when(cityRepository.findByName("NONEXISTENT")).thenReturn(Optional.empty());
+        givenRoads(Arrays.asList());
 
         assertThrows(NoRouteFoundException.class, () -> {
             pathfindingService.findFastestPath("NonExistent", "Batumi");
@@ -138,8 +162,7 @@ class PathfindingServiceTest {
      */
     @Test
     void testFindFastestPath_DestinationCityNotFound() {
-        when(cityRepository.findByName("TBILISI")).thenReturn(Optional.of(tbilisi));
-        when(cityRepository.findByName("NONEXISTENT")).thenReturn(Optional.empty());
+        givenRoads(Arrays.asList());
 
         assertThrows(NoRouteFoundException.class, () -> {
             pathfindingService.findFastestPath("Tbilisi", "NonExistent");
@@ -158,9 +181,7 @@ class PathfindingServiceTest {
 
         Road road1 = new Road(1L, source2, dest2, 100);
 
-        when(cityRepository.findByName("TBILISI")).thenReturn(Optional.of(source));
-        when(cityRepository.findByName("BATUMI")).thenReturn(Optional.of(destination));
-        when(roadRepository.findAll()).thenReturn(Arrays.asList(road1));
+        givenRoads(Arrays.asList(road1));
 
         assertThrows(NoRouteFoundException.class, () -> {
             pathfindingService.findFastestPath("Tbilisi", "Batumi");
@@ -181,9 +202,7 @@ class PathfindingServiceTest {
         Road road3 = new Road(3L, batumi, source, 100);
         Road road4 = new Road(4L, source, gonio, 500);
 
-        when(cityRepository.findByName("TBILISI")).thenReturn(Optional.of(source));
-        when(cityRepository.findByName("GONIO")).thenReturn(Optional.of(destination));
-        when(roadRepository.findAll()).thenReturn(Arrays.asList(road1, road2, road3, road4));
+        givenRoads(Arrays.asList(road1, road2, road3, road4));
 
         RouteResponse result = pathfindingService.findFastestPath("Tbilisi", "Gonio");
 
@@ -198,8 +217,7 @@ class PathfindingServiceTest {
     void testFindFastestPath_SameSourceAndDestination() {
         City source = tbilisi;
 
-        when(cityRepository.findByName("TBILISI")).thenReturn(Optional.of(source));
-        when(roadRepository.findAll()).thenReturn(Arrays.asList());
+        givenRoads(Arrays.asList());
 
         RouteResponse result = pathfindingService.findFastestPath("Tbilisi", "Tbilisi");
 
@@ -207,5 +225,322 @@ class PathfindingServiceTest {
         assertEquals("TBILISI", result.getPathCities().get(0));
         assertEquals(0, result.getTotalTravelTimeMinutes());
     }
-}
 
+    private void givenRoads(List<Road> roads) {
+        List<City> cities = Arrays.asList(tbilisi, batumi, kutaisi, gonio);
+        when(roadGraphHolder.current()).thenReturn(RoadGraph.of(cities, roads));
+    }
+
+    /**
+     * Test 9: Bidirectional engine finds the same route
+     */
+    @Test
+    void testFindFastestPath_BidirectionalEngine() {
+        pathfindingService = serviceWithEngine(BidirectionalDijkstraEngine.NAME);
+
+        givenRoads(Arrays.asList(
+                new Road(1L, tbilisi, batumi, 360),
+                new Road(2L, batumi, gonio, 45),
+                new Road(3L, tbilisi, kutaisi, 240),
+                new Road(4L, kutaisi, gonio, 300)));
+
+        RouteResponse result = pathfindingService.findFastestPath("Tbilisi", "Gonio");
+
+        assertEquals(List.of("TBILISI", "BATUMI", "GONIO"), result.getPathCities());
+        assertEquals(405, result.getTotalTravelTimeMinutes());
+        assertEquals(45, result.getPathRoads().get(1).getTravelTimeMinutes());
+    }
+
+    /**
+     * Test 10: Travel time only, without the path
+     */
+    @Test
+    void testFindTravelTime_MultipleCities() {
+        givenRoads(Arrays.asList(
+                new Road(1L, tbilisi, batumi, 360),
+                new Road(2L, batumi, gonio, 45),
+                new Road(3L, tbilisi, kutaisi, 240),
+                new Road(4L, kutaisi, gonio, 300)));
+
+        TravelTimeResponse result = pathfindingService.findTravelTime(" tbilisi ", "Gonio");
+
+        assertEquals("TBILISI", result.getSourceCity());
+        assertEquals("GONIO", result.getDestinationCity());
+        assertEquals(405, result.getTotalTravelTimeMinutes());
+    }
+
+    /**
+     * Test 11: Travel time when no route exists
+     */
+    @Test
+    void testFindTravelTime_NoRoute() {
+        givenRoads(Arrays.asList(new Road(1L, tbilisi, batumi, 360)));
+
+        assertThrows(NoRouteFoundException.class, () -> pathfindingService.findTravelTime("Batumi", "Tbilisi"));
+    }
+
+    /**
+     * Test 12: Repeated query on the same graph version is served from the cache
+     */
+    @Test
+    void testFindFastestPath_RepeatedQueryIsCached() {
+        givenRoads(Arrays.asList(new Road(1L, tbilisi, batumi, 360)));
+
+        RouteResponse first = pathfindingService.findFastestPath("Tbilisi", "Batumi");
+        RouteResponse second = pathfindingService.findFastestPath(" tbilisi", "BATUMI ");
+
+        assertSame(first, second);
+    }
+
+    /**
+     * Test 13: Batch answers every pair, with per-pair errors in place
+     */
+    @Test
+    void testFindFastestPaths_MixedPairs() {
+        givenRoads(Arrays.asList(
+                new Road(1L, tbilisi, batumi, 360),
+                new Road(2L, batumi, gonio, 45),
+                new Road(3L, tbilisi, kutaisi, 240)));
+
+        List<BatchRouteResult> results = pathfindingService.findFastestPaths(Arrays.asList(
+                new RouteRequest("Tbilisi", "Gonio"),
+                new RouteRequest("Tbilisi", "Atlantis"),
+                new RouteRequest("Gonio", "Tbilisi"),
+                new RouteRequest("Tbilisi", "Kutaisi"),
+                new RouteRequest("", "Kutaisi"),
+                null));
+
+        assertEquals(6, results.size());
+        assertEquals(405, results.get(0).getRoute().getTotalTravelTimeMinutes());
+        assertEquals("Destination city not found: Atlantis", results.get(1).getError());
+        assertEquals("No route found between Gonio and Tbilisi.", results.get(2).getError());
+        assertEquals(List.of("TBILISI", "KUTAISI"), results.get(3).getRoute().getPathCities());
+        assertNull(results.get(3).getError());
+        assertEquals("Source city is required", results.get(4).getError());
+        assertEquals("Source city is required", results.get(5).getError());
+    }
+
+    /**
+     * Test 14: Route queries record phase timers and search counters
+     */
+    @Test
+    void testFindFastestPath_RecordsMetrics() {
+        givenRoads(Arrays.asList(
+                new Road(1L, tbilisi, kutaisi, 240),
+                new Road(2L, kutaisi, batumi, 150)));
+
+        pathfindingService.findFastestPath("Tbilisi", "Batumi");
+        pathfindingService.findFastestPath("Tbilisi", "Batumi");
+
+        assertEquals(1, meterRegistry.get("route.query").tag("outcome", "found").timer().count());
+        assertEquals(1, meterRegistry.get("route.query").tag("outcome", "cached").timer().count());
+        for (String phase : List.of("graph", "cache")) {
+            assertEquals(2, meterRegistry.get("route.query.phase").tag("phase", phase).timer().count());
+        }
+        for (String phase : List.of("city_lookup", "search_queue", "search", "reconstruction", "response_mapping")) {
+            Timer timer = meterRegistry.get("route.query.phase").tag("phase", phase).timer();
+            assertEquals(1, timer.count(), phase);
+        }
+        // Tbilisi, Kutaisi and Batumi are settled, and Kutaisi and Batumi reached by a relaxation
+        assertEquals(3, meterRegistry.get("route.search.settled").summary().totalAmount());
+        assertEquals(2, meterRegistry.get("route.search.relaxed").summary().totalAmount());
+        assertEquals(6, meterRegistry.get("route.search.heap.operations").summary().totalAmount());
+    }
+
+    /**
+     * Test 15: Route searches are visible in flight recordings
+     */
+    @Test
+    void testFindFastestPath_EmitsFlightRecorderEvent(@TempDir Path directory) throws Exception {
+        givenRoads(Arrays.asList(new Road(1L, tbilisi, batumi, 360)));
+        Path file = directory.resolve("route-search.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(RouteSearchEvent.class);
+            recording.start();
+            pathfindingService.findFastestPath("Tbilisi", "Batumi");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.project.fastestdeliverypath.RouteSearch"))
+                .toList();
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("TBILISI", event.getString("source"));
+        assertEquals("BATUMI", event.getString("destination"));
+        assertEquals(DijkstraEngine.NAME, event.getString("engine"));
+        assertEquals(2, event.getLong("settledCities"));
+        assertTrue(event.getBoolean("found"));
+    }
+
+    /**
+     * Test 16: Offloaded searches run on a search thread and still report their work
+     */
+    @Test
+    void testFindFastestPath_OffloadedSearch() {
+        givenRoads(Arrays.asList(
+                new Road(1L, tbilisi, kutaisi, 240),
+                new Road(2L, kutaisi, batumi, 150)));
+        RoutingProperties properties = new RoutingProperties();
+        properties.getExecution().setOffloadSearches(true);
+        pathfindingService = serviceWith(properties);
+
+        RouteResponse response = pathfindingService.findFastestPath("Tbilisi", "Batumi");
+
+        assertEquals(List.of("TBILISI", "KUTAISI", "BATUMI"), response.getPathCities());
+        assertEquals(390, response.getTotalTravelTimeMinutes());
+        assertEquals(3, meterRegistry.get("route.search.settled").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("route.query.phase").tag("phase", "search_queue").timer().count());
+    }
+
+    /**
+     * Test 17: Identical queries that arrive during a search share its response
+     */
+    @Test
+    void testFindFastestPath_CoalescesIdenticalQueries() throws Exception {
+        givenRoads(Arrays.asList(new Road(1L, tbilisi, batumi, 360)));
+        CountDownLatch searching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger searches = new AtomicInteger();
+        RouteEngine blockingEngine = new RouteEngine() {
+            @Override
+            public String name() {
+                return "blocking";
+            }
+
+            @Override
+            public RoutePath findPath(RoadGraph graph, int source, int target) {
+                searches.incrementAndGet();
+                searching.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return new DijkstraEngine().findPath(graph, source, target);
+            }
+        };
+        RoutingProperties properties = new RoutingProperties();
+        properties.setEngine("blocking");
+        SearchPool searchPool = new SearchPool(properties);
+        pathfindingService = new PathfindingService(roadGraphHolder, List.of(blockingEngine),
+                new HubLabelLookup(new BidirectionalDijkstraEngine(), searchPool), depotTreeLookup,
+                new RouteCache(properties, meterRegistry), searchPool, new RouteMetrics(meterRegistry, properties), properties);
+
+        CompletableFuture<RouteResponse> first = CompletableFuture.supplyAsync(
+                () -> pathfindingService.findFastestPath("Tbilisi", "Batumi"));
+        searching.await();
+        AtomicReference<RouteResponse> second = new AtomicReference<>();
+        Thread joining = Thread.ofPlatform().start(
+                () -> second.set(pathfindingService.findFastestPath("tbilisi", "BATUMI")));
+        // Waiting on the first query's response means the second one joined it
+        while (joining.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        joining.join();
+
+        assertSame(first.get(), second.get());
+        assertEquals(1, searches.get());
+        assertEquals(1, meterRegistry.get("route.query").tag("outcome", "coalesced").timer().count());
+        assertEquals(1, meterRegistry.get("route.query").tag("outcome", "found").timer().count());
+    }
+
+    /**
+     * Test 18: Routes and travel times from a hub depot are read from its tree without a search
+     */
+    @Test
+    void testFindFastestPath_FromHubDepotTree() {
+        RoadGraph graph = RoadGraph.of(Arrays.asList(tbilisi, batumi, kutaisi, gonio), Arrays.asList(
+                new Road(1L, tbilisi, kutaisi, 240),
+                new Road(2L, kutaisi, batumi, 150),
+                new Road(3L, tbilisi, batumi, 420)));
+        when(roadGraphHolder.current()).thenReturn(graph);
+        int hub = graph.cityId("TBILISI");
+        ShortestPathTree tree = ShortestPathTree.build(graph, hub);
+        when(depotTreeLookup.tree(graph, hub)).thenReturn(tree);
+
+        RouteResponse route = pathfindingService.findFastestPath("Tbilisi", "Batumi");
+        TravelTimeResponse travelTime = pathfindingService.findTravelTime("Tbilisi", "Batumi");
+
+        assertEquals(List.of("TBILISI", "KUTAISI", "BATUMI"), route.getPathCities());
+        assertEquals(List.of(240, 150), route.getPathRoads().stream().map(RoadDTO::getTravelTimeMinutes).toList());
+        assertEquals(390, route.getTotalTravelTimeMinutes());
+        assertEquals(390, travelTime.getTotalTravelTimeMinutes());
+        assertEquals(0, meterRegistry.get("route.query.phase").tag("phase", "search").timer().count());
+        assertEquals(0, meterRegistry.get("route.search.settled").summary().count());
+    }
+
+    /**
+     * Test 19: Nearest depots to a destination, nearest first, without the depot that cannot reach it
+     */
+    @Test
+    void testFindNearestDepots_TopK() {
+        givenRoads(Arrays.asList(
+                new Road(1L, tbilisi, kutaisi, 240),
+                new Road(2L, kutaisi, batumi, 150),
+                new Road(3L, gonio, batumi, 45)));
+
+        NearestDepotResponse response = pathfindingService.findNearestDepots(
+                "Batumi", List.of("Tbilisi", "gonio", "Kutaisi"), 5);
+
+        assertEquals("BATUMI", response.getDestinationCity());
+        assertEquals(List.of("GONIO", "KUTAISI", "TBILISI"), response.getDepots().stream()
+                .map(NearestDepotResponse.DepotRoute::getDepotCity).toList());
+        RouteResponse farthest = response.getDepots().get(2).getRoute();
+        assertEquals(List.of("TBILISI", "KUTAISI", "BATUMI"), farthest.getPathCities());
+        assertEquals(List.of(240, 150), farthest.getPathRoads().stream().map(RoadDTO::getTravelTimeMinutes).toList());
+        assertEquals(390, farthest.getTotalTravelTimeMinutes());
+
+        NearestDepotResponse nearest = pathfindingService.findNearestDepots(
+                "Kutaisi", List.of("Gonio", "Tbilisi"), 1);
+        assertEquals(1, nearest.getDepots().size());
+        assertEquals("TBILISI", nearest.getDepots().get(0).getDepotCity());
+    }
+
+    /**
+     * Test 20: No depot can reach the destination
+     */
+    @Test
+    void testFindNearestDepots_NoneReaches() {
+        givenRoads(Arrays.asList(new Road(1L, tbilisi, kutaisi, 240)));
+
+        NoRouteFoundException exception = assertThrows(NoRouteFoundException.class,
+                () -> pathfindingService.findNearestDepots("Tbilisi", List.of("Kutaisi", "Gonio"), 1));
+
+        assertEquals("No depot can reach Tbilisi.", exception.getMessage());
+    }
+
+    /**
+     * Test 21: A batch larger than the configured limit is rejected as a whole
+     */
+    @Test
+    void testFindFastestPaths_TooManyPairs() {
+        RoutingProperties properties = new RoutingProperties();
+        properties.getLimits().setMaxBatchPairs(2);
+        PathfindingService limited = serviceWith(properties);
+        RouteRequest pair = new RouteRequest("Tbilisi", "Batumi");
+
+        RequestTooLargeException exception = assertThrows(RequestTooLargeException.class,
+                () -> limited.findFastestPaths(List.of(pair, pair, pair)));
+
+        assertEquals("At most 2 pairs are allowed in one batch, got 3", exception.getMessage());
+        verifyNoInteractions(roadGraphHolder);
+    }
+
+    private PathfindingService serviceWithEngine(String engine) {
+        RoutingProperties properties = new RoutingProperties();
+        properties.setEngine(engine);
+        return serviceWith(properties);
+    }
+
+    private PathfindingService serviceWith(RoutingProperties properties) {
+        SearchPool searchPool = new SearchPool(properties);
+        return new PathfindingService(roadGraphHolder,
+                List.of(new DijkstraEngine(), new BidirectionalDijkstraEngine()),
+                new HubLabelLookup(new BidirectionalDijkstraEngine(), searchPool), depotTreeLookup,
+                new RouteCache(properties, meterRegistry), searchPool, new RouteMetrics(meterRegistry, properties), properties);
+    }
+}
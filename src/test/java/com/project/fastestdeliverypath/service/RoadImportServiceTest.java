@@ -0,0 +1,193 @@
+package com.project.fastestdeliverypath.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.fastestdeliverypath.config.RoadImportProperties;
+import com.project.fastestdeliverypath.dto.BulkRoadResult;
+import com.project.fastestdeliverypath.dto.RoadImportResult;
+import com.project.fastestdeliverypath.dto.RoadRequest;
+import com.project.fastestdeliverypath.graph.RoadChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RoadImportService
+ */
+@ExtendWith(MockitoExtension.class)
+class RoadImportServiceTest {
+
+    @Mock
+    private RoadService roadService;
+
+    private RoadImportProperties properties;
+
+    private RoadImportService roadImportService;
+
+    // Sizes of the chunks handed to the bulk path, recorded before the service reuses the list
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new RoadImportProperties();
+        properties.setChunkSize(2);
+        properties.setMaxReportedRejections(1);
+        roadImportService = new RoadImportService(roadService, properties, new ObjectMapper());
+    }
+
+    private void givenBulkWrites() {
+        when(roadService.toRoadChange(any(RoadRequest.class))).thenCallRealMethod();
+        when(roadService.bulkUpsertRoads(anyList(), eq(false))).thenAnswer(invocation -> {
+            List<RoadRequest> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            return new BulkRoadResult(chunk.size(), chunk.size(), 0);
+        });
+    }
+
+    /**
+     * Test 1: NDJSON lines are written in fixed-size chunks
+     */
+    @Test
+    void testImportRoads_NdjsonInChunks() throws Exception {
+        givenBulkWrites();
+        String body = """
+                {"fromCity":"Tbilisi","toCity":"Batumi","travelTimeMinutes":360}
+                {"fromCity":"Batumi","toCity":"Gonio","travelTimeMinutes":45}
+
+                {"fromCity":"Tbilisi","toCity":"Kutaisi","travelTimeMinutes":240}
+                """;
+
+        RoadImportResult result = roadImportService.importRoads(stream(body), RoadImportService.Format.NDJSON);
+
+        assertEquals(4, result.getLinesRead());
+        assertEquals(3, result.getRoadsImported());
+        assertEquals(2, result.getChunksCommitted());
+        assertEquals(List.of(2, 1), chunkSizes);
+        assertEquals(0, result.getRejectedCount());
+    }
+
+    /**
+     * Test 2: Invalid CSV lines are rejected individually, and only the first ones are listed
+     */
+    @Test
+    void testImportRoads_CsvRejectsInvalidLines() throws Exception {
+        givenBulkWrites();
+        String body = """
+                fromCity,toCity,travelTimeMinutes
+                Tbilisi,Batumi,360
+                Gonio,Gonio,10
+                Batumi,Gonio,-5
+                "Batumi","Gonio",45
+                """;
+
+        RoadImportResult result = roadImportService.importRoads(stream(body), RoadImportService.Format.CSV);
+
+        assertEquals(2, result.getRoadsImported());
+        assertEquals(2, result.getRejectedCount());
+        assertEquals(1, result.getRejectedLines().size());
+        assertEquals(3, result.getRejectedLines().get(0).getLineNumber());
+        assertEquals("A road cannot connect a city to itself: GONIO", result.getRejectedLines().get(0).getError());
+    }
+
+    /**
+     * Test 3: Malformed lines are rejected without stopping the import
+     */
+    @Test
+    void testImportRoads_MalformedLines() throws Exception {
+        String body = """
+                {"fromCity":"Tbilisi",
+                Tbilisi,Batumi
+                """;
+
+        RoadImportResult ndjson = roadImportService.importRoads(stream(body), RoadImportService.Format.NDJSON);
+        RoadImportResult csv = roadImportService.importRoads(stream(body), RoadImportService.Format.CSV);
+
+        assertEquals(2, ndjson.getRejectedCount());
+        assertEquals(2, csv.getRejectedCount());
+        assertEquals(0, csv.getChunksCommitted());
+    }
+
+    /**
+     * Test 4: A null NDJSON line is rejected like any other invalid line
+     */
+    @Test
+    void testImportRoads_NullNdjsonLine() throws Exception {
+        givenBulkWrites();
+        String body = """
+                {"fromCity":"Tbilisi","toCity":"Batumi","travelTimeMinutes":360}
+                null
+                {"fromCity":"Batumi","toCity":"Gonio","travelTimeMinutes":45}
+                """;
+
+        RoadImportResult result = roadImportService.importRoads(stream(body), RoadImportService.Format.NDJSON);
+
+        assertEquals(2, result.getRoadsImported());
+        assertEquals(1, result.getRejectedCount());
+        assertEquals(2, result.getRejectedLines().get(0).getLineNumber());
+        assertEquals("Expected a road object but found null", result.getRejectedLines().get(0).getError());
+    }
+
+    /**
+     * Test 5: Committed chunks are announced to the graph together, every few chunks and at the end
+     */
+    @Test
+    void testImportRoads_AnnouncesEveryFewChunks() throws Exception {
+        givenBulkWrites();
+        properties.setAnnounceEveryChunks(2);
+        List<List<RoadChange>> announcements = new ArrayList<>();
+        doAnswer(invocation -> announcements.add(new ArrayList<>(invocation.<Collection<RoadChange>>getArgument(0))))
+                .when(roadService).announceRoadChanges(anyCollection());
+        String body = """
+                Tbilisi,Batumi,360
+                Batumi,Gonio,45
+                Tbilisi,Kutaisi,240
+                tbilisi,batumi,300
+                Kutaisi,Batumi,150
+                """;
+
+        RoadImportResult result = roadImportService.importRoads(stream(body), RoadImportService.Format.CSV);
+
+        assertEquals(3, result.getChunksCommitted());
+        assertEquals(List.of(
+                List.of(new RoadChange("TBILISI", "BATUMI", 300), new RoadChange("BATUMI", "GONIO", 45),
+                        new RoadChange("TBILISI", "KUTAISI", 240)),
+                List.of(new RoadChange("KUTAISI", "BATUMI", 150))), announcements);
+        verify(roadService, never()).bulkUpsertRoads(anyList());
+    }
+
+    /**
+     * Test 6: An overlong line is rejected and the lines after it, with any line ending, are still imported
+     */
+    @Test
+    void testImportRoads_RejectsOverlongLine() throws Exception {
+        givenBulkWrites();
+        properties.setMaxLineLength(20);
+        String body = "Tbilisi,Batumi,360\r\n" + "Tbilisi," + "X".repeat(100_000) + ",5\r" + "Batumi,Gonio,45";
+
+        RoadImportResult result = roadImportService.importRoads(stream(body), RoadImportService.Format.CSV);
+
+        assertEquals(3, result.getLinesRead());
+        assertEquals(2, result.getRoadsImported());
+        assertEquals(1, result.getRejectedCount());
+        assertEquals(2, result.getRejectedLines().get(0).getLineNumber());
+        assertEquals("Line is longer than 20 characters", result.getRejectedLines().get(0).getError());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,24 +1,35 @@
 package com.project.fastestdeliverypath.service;
 
+import com.project.fastestdeliverypath.dto.BulkRoadResult;
 import com.project.fastestdeliverypath.dto.RoadRequest;
 import com.project.fastestdeliverypath.entity.City;
 import com.project.fastestdeliverypath.entity.Road;
 import com.project.fastestdeliverypath.exception.InvalidRoadException;
+import com.project.fastestdeliverypath.graph.RoadChange;
+import com.project.fastestdeliverypath.graph.RoadsChangedEvent;
 import com.project.fastestdeliverypath.repository.CityRepository;
+import com.project.fastestdeliverypath.repository.RoadBulkRepository;
 import com.project.fastestdeliverypath.repository.RoadRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -33,6 +44,12 @@ class RoadServiceTest {
     @Mock
     private CityRepository cityRepository;
 
+    @Mock
+    private RoadBulkRepository roadBulkRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RoadService roadService;
 
@@ -201,5 +218,62 @@ class RoadServiceTest {
         assertEquals(2, result.size());
         verify(roadRepository, times(2)).save(any(Road.class));
     }
-}
 
+    /**
+     * Test 9: Written roads are published for the resident graph
+     */
+    @Test
+    void testCreateOrUpdateRoads_PublishesRoadChanges() {
+        RoadRequest request = new RoadRequest("tbilisi", "batumi", 360);
+
+        when(cityRepository.findByName("TBILISI")).thenReturn(Optional.of(tbilisi));
+        when(cityRepository.findByName("BATUMI")).thenReturn(Optional.of(batumi));
+        when(roadRepository.findByFromCityAndToCity(tbilisi, batumi)).thenReturn(Optional.empty());
+        when(roadRepository.save(any(Road.class))).thenReturn(new Road(1L, tbilisi, batumi, 360));
+
+        roadService.createOrUpdateRoads(Arrays.asList(request));
+
+        ArgumentCaptor<RoadsChangedEvent> event = ArgumentCaptor.forClass(RoadsChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(new RoadChange("TBILISI", "BATUMI", 360)), event.getValue().getChanges());
+    }
+
+    /**
+     * Test 10: Bulk upsert resolves cities once, creates missing ones and keeps the last duplicate
+     */
+    @Test
+    void testBulkUpsertRoads_CreatesMissingCitiesAndDeduplicates() {
+        when(roadBulkRepository.findCityIds(Set.of("TBILISI", "BATUMI", "GONIO")))
+                .thenReturn(new HashMap<>(Map.of("TBILISI", 1L, "BATUMI", 2L)));
+        when(roadBulkRepository.findCityIds(List.of("GONIO"))).thenReturn(Map.of("GONIO", 3L));
+
+        BulkRoadResult result = roadService.bulkUpsertRoads(Arrays.asList(
+                new RoadRequest("Tbilisi", "Batumi", 360),
+                new RoadRequest("Batumi", "Gonio", 45),
+                new RoadRequest("tbilisi", "batumi", 300)));
+
+        assertEquals(3, result.getRoadsReceived());
+        assertEquals(2, result.getRoadsUpserted());
+        assertEquals(1, result.getCitiesCreated());
+        verify(roadBulkRepository).insertCities(List.of("GONIO"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<RoadChange>> roads = ArgumentCaptor.forClass(Collection.class);
+        verify(roadBulkRepository).upsertRoads(roads.capture(), eq(Map.of("TBILISI", 1L, "BATUMI", 2L, "GONIO", 3L)));
+        assertEquals(List.of(new RoadChange("TBILISI", "BATUMI", 300), new RoadChange("BATUMI", "GONIO", 45)),
+                List.copyOf(roads.getValue()));
+        verify(roadRepository, never()).save(any(Road.class));
+    }
+
+    /**
+     * Test 11: Bulk upsert rejects the whole request on an invalid road
+     */
+    @Test
+    void testBulkUpsertRoads_SelfLoop_ThrowsException() {
+        List<RoadRequest> requests = Arrays.asList(
+                new RoadRequest("Tbilisi", "Batumi", 360),
+                new RoadRequest("Gonio", "gonio", 10));
+
+        assertThrows(InvalidRoadException.class, () -> roadService.bulkUpsertRoads(requests));
+        verifyNoInteractions(roadBulkRepository);
+    }
+}
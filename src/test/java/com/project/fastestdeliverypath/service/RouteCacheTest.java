@@ -0,0 +1,120 @@
+package com.project.fastestdeliverypath.service;
+
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.dto.RoadDTO;
+import com.project.fastestdeliverypath.dto.RouteResponse;
+import com.project.fastestdeliverypath.entity.City;
+import com.project.fastestdeliverypath.entity.Road;
+import com.project.fastestdeliverypath.graph.RoadChange;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphUpdatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RouteCache
+ */
+class RouteCacheTest {
+
+    private RouteCache routeCache;
+    private SimpleMeterRegistry meterRegistry;
+    private RoadGraph graph;
+
+    private final RouteResponse tbilisiToGonio = new RouteResponse(
+            List.of("TBILISI", "BATUMI", "GONIO"),
+            List.of(new RoadDTO("TBILISI", "BATUMI", 360), new RoadDTO("BATUMI", "GONIO", 45)),
+            405);
+    private final RouteResponse tbilisiToKutaisi = new RouteResponse(
+            List.of("TBILISI", "KUTAISI"),
+            List.of(new RoadDTO("TBILISI", "KUTAISI", 240)),
+            240);
+
+    @BeforeEach
+    void setUp() {
+        RoutingProperties properties = new RoutingProperties();
+        properties.getCache().setMaxEntries(100);
+        meterRegistry = new SimpleMeterRegistry();
+        routeCache = new RouteCache(properties, meterRegistry);
+
+        City tbilisi = new City(1L, "TBILISI", new ArrayList<>(), new ArrayList<>());
+        City batumi = new City(2L, "BATUMI", new ArrayList<>(), new ArrayList<>());
+        City kutaisi = new City(3L, "KUTAISI", new ArrayList<>(), new ArrayList<>());
+        City gonio = new City(4L, "GONIO", new ArrayList<>(), new ArrayList<>());
+        graph = RoadGraph.of(List.of(tbilisi, batumi, kutaisi, gonio), List.of(
+                new Road(1L, tbilisi, batumi, 360),
+                new Road(2L, batumi, gonio, 45),
+                new Road(3L, tbilisi, kutaisi, 240)));
+
+        routeCache.put("TBILISI", "GONIO", graph.version(), tbilisiToGonio);
+        routeCache.put("TBILISI", "KUTAISI", graph.version(), tbilisiToKutaisi);
+    }
+
+    /**
+     * Test 1: Hits only on the version the route was computed on
+     */
+    @Test
+    void testGet_MatchesGraphVersion() {
+        assertSame(tbilisiToGonio, routeCache.get("TBILISI", "GONIO", graph.version()));
+        assertNull(routeCache.get("TBILISI", "GONIO", graph.version() + 1));
+        assertNull(routeCache.get("GONIO", "TBILISI", graph.version()));
+
+        RouteCache.Stats stats = routeCache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(1, meterRegistry.get("route.cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(2, meterRegistry.get("route.cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    /**
+     * Test 2: A slower road only drops the routes that use it
+     */
+    @Test
+    void testOnRoadGraphUpdated_SlowerRoadInvalidatesRoutesUsingIt() {
+        List<RoadChange> changes = List.of(new RoadChange("BATUMI", "GONIO", 90));
+        RoadGraph slower = graph.withChanges(changes, graph.version() + 1);
+
+        routeCache.onRoadGraphUpdated(new RoadGraphUpdatedEvent(graph, slower, changes));
+
+        assertNull(routeCache.get("TBILISI", "GONIO", slower.version()));
+        assertSame(tbilisiToKutaisi, routeCache.get("TBILISI", "KUTAISI", slower.version()));
+        assertEquals(1, routeCache.stats().getInvalidations());
+    }
+
+    /**
+     * Test 3: A faster or new road drops every route
+     */
+    @Test
+    void testOnRoadGraphUpdated_FasterRoadInvalidatesAll() {
+        List<RoadChange> changes = List.of(new RoadChange("KUTAISI", "GONIO", 10));
+        RoadGraph faster = graph.withChanges(changes, graph.version() + 1);
+
+        routeCache.onRoadGraphUpdated(new RoadGraphUpdatedEvent(graph, faster, changes));
+
+        assertNull(routeCache.get("TBILISI", "KUTAISI", faster.version()));
+        assertEquals(2, routeCache.stats().getInvalidations());
+        assertEquals(0, routeCache.stats().getSize());
+        assertEquals(2, meterRegistry.get("route.cache.invalidations").functionCounter().count());
+        assertEquals(0, meterRegistry.get("route.cache.size").gauge().value());
+    }
+
+    /**
+     * Test 4: The cache stays within its size bound and counts evictions
+     */
+    @Test
+    void testPut_EvictsBeyondMaxEntries() {
+        for (int i = 0; i < 1_000; i++) {
+            routeCache.put("CITY" + i, "GONIO", graph.version(), tbilisiToGonio);
+        }
+
+        RouteCache.Stats stats = routeCache.stats();
+        assertTrue(stats.getSize() <= 100);
+        assertTrue(stats.getEvictions() >= 900);
+        assertEquals(stats.getEvictions(), meterRegistry.get("route.cache.evictions").functionCounter().count());
+    }
+}
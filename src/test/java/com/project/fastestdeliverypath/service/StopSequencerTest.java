@@ -0,0 +1,45 @@
+package com.project.fastestdeliverypath.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StopSequencer
+ */
+class StopSequencerTest {
+
+    private static final long TIME_LIMIT = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Test 1: Improvement moves fix the zigzag of a nearest neighbour tour
+     */
+    @Test
+    void testOrder_ImprovesNearestNeighbour() {
+        // Start at 0 on a line, stops at -1, 2, -3 and 4: nearest neighbour zigzags for 16 minutes
+        int[] positions = {0, -1, 2, -3, 4};
+        int[][] travelTimes = new int[positions.length][positions.length];
+        for (int from = 0; from < positions.length; from++) {
+            for (int to = 0; to < positions.length; to++) {
+                travelTimes[from][to] = Math.abs(positions[from] - positions[to]);
+            }
+        }
+
+        assertArrayEquals(new int[]{1, 3, 2, 4}, StopSequencer.order(travelTimes, false, TIME_LIMIT));
+    }
+
+    /**
+     * Test 2: Legs with no route are avoided when another order has them all
+     */
+    @Test
+    void testOrder_AvoidsMissingLegs() {
+        int[][] travelTimes = {
+                {0, 5, 50},
+                {-1, 0, -1},
+                {-1, 10, 0}};
+
+        assertArrayEquals(new int[]{2, 1}, StopSequencer.order(travelTimes, false, TIME_LIMIT));
+    }
+}
@@ -0,0 +1,95 @@
+package com.project.fastestdeliverypath.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.dto.RoadDTO;
+import com.project.fastestdeliverypath.dto.TourResponse;
+import com.project.fastestdeliverypath.entity.City;
+import com.project.fastestdeliverypath.entity.Road;
+import com.project.fastestdeliverypath.exception.NoRouteFoundException;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphHolder;
+import com.project.fastestdeliverypath.search.SearchPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TourService
+ */
+@ExtendWith(MockitoExtension.class)
+class TourServiceTest {
+
+    @Mock
+    private RoadGraphHolder roadGraphHolder;
+
+    private TourService tourService;
+
+    @BeforeEach
+    void setUp() {
+        City tbilisi = new City(1L, "TBILISI", new ArrayList<>(), new ArrayList<>());
+        City batumi = new City(2L, "BATUMI", new ArrayList<>(), new ArrayList<>());
+        City kutaisi = new City(3L, "KUTAISI", new ArrayList<>(), new ArrayList<>());
+        City gonio = new City(4L, "GONIO", new ArrayList<>(), new ArrayList<>());
+        City zugdidi = new City(5L, "ZUGDIDI", new ArrayList<>(), new ArrayList<>());
+        when(roadGraphHolder.current()).thenReturn(RoadGraph.of(List.of(tbilisi, batumi, kutaisi, gonio, zugdidi),
+                List.of(
+                        new Road(1L, tbilisi, kutaisi, 240),
+                        new Road(2L, kutaisi, tbilisi, 240),
+                        new Road(3L, kutaisi, batumi, 150),
+                        new Road(4L, batumi, kutaisi, 150),
+                        new Road(5L, batumi, gonio, 45),
+                        new Road(6L, gonio, batumi, 45))));
+
+        RoutingProperties properties = new RoutingProperties();
+        SearchPool searchPool = new SearchPool(properties);
+        tourService = new TourService(roadGraphHolder,
+                new TravelTimeMatrixService(roadGraphHolder, searchPool, new ObjectMapper(), properties), searchPool, properties);
+    }
+
+    /**
+     * Test 1: Stops are ordered along the road and the legs are joined into one path back to the start
+     */
+    @Test
+    void testPlanTour_ReturnToStart() {
+        TourResponse tour = tourService.planTour("Tbilisi", List.of("Gonio", "kutaisi", "Batumi", "Gonio"), true);
+
+        assertEquals(List.of("KUTAISI", "BATUMI", "GONIO"), tour.getStopOrder());
+        assertEquals(List.of("TBILISI", "KUTAISI", "BATUMI", "GONIO", "BATUMI", "KUTAISI", "TBILISI"),
+                tour.getPathCities());
+        assertEquals(List.of(240, 150, 45, 45, 150, 240),
+                tour.getPathRoads().stream().map(RoadDTO::getTravelTimeMinutes).toList());
+        assertEquals(870, tour.getTotalTravelTimeMinutes());
+    }
+
+    /**
+     * Test 2: A stop that cannot be reached is reported with the leg that is missing
+     */
+    @Test
+    void testPlanTour_UnreachableStop() {
+        NoRouteFoundException exception = assertThrows(NoRouteFoundException.class,
+                () -> tourService.planTour("Tbilisi", List.of("Batumi", "Zugdidi"), false));
+
+        assertTrue(exception.getMessage().startsWith("No route found between "), exception.getMessage());
+        assertTrue(exception.getMessage().contains("ZUGDIDI"), exception.getMessage());
+    }
+
+    /**
+     * Test 3: Unknown stop city
+     */
+    @Test
+    void testPlanTour_UnknownStop() {
+        NoRouteFoundException exception = assertThrows(NoRouteFoundException.class,
+                () -> tourService.planTour("Tbilisi", List.of("Atlantis"), false));
+
+        assertEquals("Stop city not found: Atlantis", exception.getMessage());
+    }
+}
@@ -0,0 +1,156 @@
+package com.project.fastestdeliverypath.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.fastestdeliverypath.config.RoutingProperties;
+import com.project.fastestdeliverypath.entity.City;
+import com.project.fastestdeliverypath.entity.Road;
+import com.project.fastestdeliverypath.exception.NoRouteFoundException;
+import com.project.fastestdeliverypath.exception.RequestTooLargeException;
+import com.project.fastestdeliverypath.exception.SearchCapacityExceededException;
+import com.project.fastestdeliverypath.graph.RoadGraph;
+import com.project.fastestdeliverypath.graph.RoadGraphHolder;
+import com.project.fastestdeliverypath.search.SearchPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TravelTimeMatrixService
+ */
+@ExtendWith(MockitoExtension.class)
+class TravelTimeMatrixServiceTest {
+
+    @Mock
+    private RoadGraphHolder roadGraphHolder;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final RoutingProperties properties = new RoutingProperties();
+
+    private TravelTimeMatrixService travelTimeMatrixService;
+
+    @BeforeEach
+    void setUp() {
+        City tbilisi = new City(1L, "TBILISI", new ArrayList<>(), new ArrayList<>());
+        City batumi = new City(2L, "BATUMI", new ArrayList<>(), new ArrayList<>());
+        City kutaisi = new City(3L, "KUTAISI", new ArrayList<>(), new ArrayList<>());
+        City gonio = new City(4L, "GONIO", new ArrayList<>(), new ArrayList<>());
+        when(roadGraphHolder.current()).thenReturn(RoadGraph.of(List.of(tbilisi, batumi, kutaisi, gonio), List.of(
+                new Road(1L, tbilisi, batumi, 360),
+                new Road(2L, batumi, gonio, 45),
+                new Road(3L, tbilisi, kutaisi, 240))));
+
+        travelTimeMatrixService = new TravelTimeMatrixService(roadGraphHolder,
+                new SearchPool(properties), objectMapper, properties);
+    }
+
+    /**
+     * Test 1: Matrix values, with -1 for unreachable pairs
+     */
+    @Test
+    void testComputeMatrix_WithUnreachablePairs() {
+        TravelTimeMatrixService.MatrixQuery query = travelTimeMatrixService.prepare(
+                List.of("Tbilisi", "Gonio"), List.of("Gonio", "Kutaisi", "Tbilisi"));
+
+        int[][] matrix = travelTimeMatrixService.computeMatrix(query);
+
+        assertArrayEquals(new int[]{405, 240, 0}, matrix[0]);
+        assertArrayEquals(new int[]{0, -1, -1}, matrix[1]);
+    }
+
+    /**
+     * Test 2: Streamed JSON has the normalized cities and one row per source
+     */
+    @Test
+    void testWriteMatrix_StreamsRows() throws Exception {
+        TravelTimeMatrixService.MatrixQuery query = travelTimeMatrixService.prepare(
+                List.of("Tbilisi", "Batumi", "Kutaisi"), List.of("gonio"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        travelTimeMatrixService.writeMatrix(query, out);
+
+        JsonNode json = objectMapper.readTree(out.toByteArray());
+        assertEquals("GONIO", json.get("destinations").get(0).asText());
+        assertEquals(-1, json.get("unreachable").asInt());
+        assertEquals(3, json.get("travelTimes").size());
+        assertEquals(405, json.get("travelTimes").get(0).get(0).asInt());
+        assertEquals(45, json.get("travelTimes").get(1).get(0).asInt());
+        assertEquals(-1, json.get("travelTimes").get(2).get(0).asInt());
+    }
+
+    /**
+     * Test 3: Unknown city is rejected before anything is computed
+     */
+    @Test
+    void testPrepare_UnknownCity() {
+        NoRouteFoundException exception = assertThrows(NoRouteFoundException.class,
+                () -> travelTimeMatrixService.prepare(List.of("Tbilisi"), List.of("Atlantis")));
+
+        assertEquals("Destination city not found: Atlantis", exception.getMessage());
+    }
+
+    /**
+     * Test 4: Matrix with more cells than allowed is rejected before anything is computed
+     */
+    @Test
+    void testPrepare_TooManyCells() {
+        properties.getLimits().setMaxMatrixCells(4);
+        travelTimeMatrixService = new TravelTimeMatrixService(roadGraphHolder,
+                new SearchPool(properties), objectMapper, properties);
+
+        RequestTooLargeException exception = assertThrows(RequestTooLargeException.class,
+                () -> travelTimeMatrixService.prepare(List.of("Tbilisi", "Batumi"), List.of("Gonio", "Kutaisi", "Batumi")));
+
+        assertEquals("At most 4 cells are allowed in one matrix, got 2x3", exception.getMessage());
+    }
+
+    /**
+     * Test 5: A failed write cancels the rows searched ahead and gives their slots back
+     */
+    @Test
+    void testWriteMatrix_ClientGone_ReleasesSlots() throws Exception {
+        properties.setSearchThreads(1);
+        properties.getExecution().setFanOutQueueCapacity(2);
+        SearchPool searchPool = new SearchPool(properties);
+        travelTimeMatrixService = new TravelTimeMatrixService(roadGraphHolder, searchPool, objectMapper, properties);
+        try {
+            TravelTimeMatrixService.MatrixQuery query = travelTimeMatrixService.prepare(
+                    Collections.nCopies(50, "Tbilisi"), List.of("Gonio"));
+            OutputStream closed = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("Connection reset");
+                }
+            };
+
+            assertThrows(IOException.class, () -> travelTimeMatrixService.writeMatrix(query, closed));
+
+            // A row that was already running gives its slot back once it finishes
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (true) {
+                try {
+                    searchPool.reserve(2).close();
+                    break;
+                } catch (SearchCapacityExceededException e) {
+                    assertTrue(System.nanoTime() < deadline, "Slots were not released");
+                    Thread.sleep(10);
+                }
+            }
+        } finally {
+            searchPool.shutdown();
+        }
+    }
+}